@@ -0,0 +1,70 @@
+package com.manage.benchmark;
+
+import java.awt.image.BufferedImage;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.manage.model.IELTS;
+import com.manage.util.BarCodeGenerator;
+import com.manage.util.SlipText;
+
+/**
+ * The BarcodeBenchmark. It generates the slips of the IELTS records, either
+ * reprinting a few slips held in the cache or drawing every slip.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class BarcodeBenchmark {
+
+	/**
+	 * The number of slips, a power of two
+	 */
+	private static final int SLIPS = 1024;
+
+	/**
+	 * The number of reprinted slips, fewer than the cached slips
+	 */
+	private static final int REPRINTED_SLIPS = 16;
+
+	private String[] barcodeData;
+	private String[] slipTexts;
+	private int slip;
+
+	@Setup
+	public void setUp() {
+		List<IELTS> ieltsRecords = BenchmarkSheets.ielts(SLIPS);
+		barcodeData = new String[SLIPS];
+		slipTexts = new String[SLIPS];
+		for (int i = 0; i < SLIPS; i++) {
+			barcodeData[i] = SlipText.barcodeData(ieltsRecords.get(i).getReference());
+			slipTexts[i] = SlipText.of(ieltsRecords.get(i));
+		}
+	}
+
+	@Benchmark
+	public BufferedImage reprint() {
+		int i = slip++ & (REPRINTED_SLIPS - 1);
+		return BarCodeGenerator.generateBarCode(barcodeData[i], slipTexts[i]);
+	}
+
+	@Benchmark
+	public BufferedImage draw() {
+		int i = slip++ & (SLIPS - 1);
+		return BarCodeGenerator.generateBarCode(barcodeData[i], slipTexts[i], false);
+	}
+}
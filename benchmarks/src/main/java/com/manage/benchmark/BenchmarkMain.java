@@ -0,0 +1,29 @@
+package com.manage.benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.openjdk.jmh.Main;
+
+/**
+ * The utility BenchmarkMain. It runs the benchmarks with the JMH options of
+ * the command line. The allocation rate is reported too, as bytes per
+ * operation, unless another profiler is requested.
+ */
+public class BenchmarkMain {
+
+	private BenchmarkMain() {
+		// Its a utility class. Thus the instantiation is not allowed.
+	}
+
+	public static void main(String[] args) throws Exception {
+
+		List<String> options = new ArrayList<>(Arrays.asList(args));
+		if (!options.contains("-prof")) {
+			options.add("-prof");
+			options.add("gc");
+		}
+		Main.main(options.toArray(new String[0]));
+	}
+}
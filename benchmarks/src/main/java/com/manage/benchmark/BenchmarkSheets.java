@@ -0,0 +1,128 @@
+package com.manage.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.manage.generator.WorkbookGenerator;
+import com.manage.mapper.IELTSMapper;
+import com.manage.mapper.SchoolMapper;
+import com.manage.model.IELTS;
+import com.manage.model.School;
+
+/**
+ * The utility BenchmarkSheets. It holds the generated rows of the benchmarks.
+ * The rows are generated with the default settings of the
+ * {@link WorkbookGenerator}, thus they are the same for a row count on every
+ * run and the results of two runs are comparable.
+ */
+public class BenchmarkSheets {
+
+	private BenchmarkSheets() {
+		// Its a utility class. Thus the instantiation is not allowed.
+	}
+
+	/**
+	 * Gets the generator of the rows
+	 */
+	private static WorkbookGenerator generator(int rows) {
+		WorkbookGenerator generator = new WorkbookGenerator();
+		generator.setRows(rows);
+		return generator;
+	}
+
+	/**
+	 * Gets the columns of the mapped headings
+	 */
+	private static int[] columns(String[] headings, String[] mappedHeadings) {
+		int[] columns = new int[mappedHeadings.length];
+		for (int h = 0; h < mappedHeadings.length; h++) {
+			columns[h] = Arrays.asList(headings).indexOf(mappedHeadings[h]);
+		}
+		return columns;
+	}
+
+	/**
+	 * Gets the values of the columns, as read by the sheet parsers
+	 */
+	private static String[] select(String[] values, int[] columns) {
+		String[] selected = new String[columns.length];
+		for (int h = 0; h < columns.length; h++) {
+			selected[h] = values[columns[h]] == null ? "" : values[columns[h]];
+		}
+		return selected;
+	}
+
+	/**
+	 * Generates the IELTS records
+	 *
+	 * @param rows The number of rows
+	 * @return The records, in the sheet order
+	 */
+	public static List<IELTS> ielts(int rows) {
+		int[] columns = columns(WorkbookGenerator.IELTS_HEADINGS, IELTSMapper.HEADINGS);
+		List<IELTS> ieltsRecords = new ArrayList<>(rows);
+		generator(rows).generateIELTS(values -> ieltsRecords.add(IELTSMapper.map(select(values, columns))));
+		return ieltsRecords;
+	}
+
+	/**
+	 * Generates the School records
+	 *
+	 * @param rows The number of rows
+	 * @return The records, in the sheet order
+	 */
+	public static List<School> schools(int rows) {
+		int[] columns = columns(WorkbookGenerator.SCHOOL_HEADINGS, SchoolMapper.HEADINGS);
+		List<School> schoolRecords = new ArrayList<>(rows);
+		generator(rows).generateSchools(values -> schoolRecords.add(SchoolMapper.map(select(values, columns))));
+		return schoolRecords;
+	}
+
+	/**
+	 * Gets the IELTS workbook of the rows, writing it on the first call. The
+	 * workbook is kept in the temporary directory for the next runs.
+	 *
+	 * @param rows The number of rows
+	 * @return The workbook path
+	 * @throws IOException If the workbook cannot be written
+	 */
+	public static String ieltsWorkbook(int rows) throws IOException {
+		File file = new File(System.getProperty("java.io.tmpdir"), "generated-ielts-" + rows + ".xlsx");
+		if (!file.isFile()) {
+			File temporary = new File(file.getPath() + ".tmp");
+			generator(rows).writeIELTS(temporary);
+			rename(temporary, file);
+		}
+		return file.getPath();
+	}
+
+	/**
+	 * Gets the Schools workbook of the rows, writing it on the first call. The
+	 * workbook is kept in the temporary directory for the next runs.
+	 *
+	 * @param rows The number of rows
+	 * @return The workbook path
+	 * @throws IOException If the workbook cannot be written
+	 */
+	public static String schoolsWorkbook(int rows) throws IOException {
+		File file = new File(System.getProperty("java.io.tmpdir"), "generated-schools-" + rows + ".xlsx");
+		if (!file.isFile()) {
+			File temporary = new File(file.getPath() + ".tmp");
+			generator(rows).writeSchools(temporary);
+			rename(temporary, file);
+		}
+		return file.getPath();
+	}
+
+	/**
+	 * Renames the written workbook, thus a workbook is never half written
+	 */
+	private static void rename(File temporary, File file) throws IOException {
+		if (!temporary.renameTo(file)) {
+			throw new IOException("The workbook " + file + " cannot be written.");
+		}
+	}
+}
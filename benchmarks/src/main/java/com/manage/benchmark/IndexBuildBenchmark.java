@@ -0,0 +1,85 @@
+package com.manage.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.manage.index.RecordIndex;
+import com.manage.index.RecordType;
+import com.manage.model.IELTS;
+import com.manage.model.School;
+
+/**
+ * The IndexBuildBenchmark. It builds the indexes of the loaded records, as done
+ * once a sheet is loaded, and updates them on a reload of changed rows. The
+ * lookup structures of every country are built too, as they are on the first
+ * searches.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class IndexBuildBenchmark {
+
+	@Param({ "10000", "100000", "1000000" })
+	private int rows;
+
+	private List<IELTS> ieltsRecords;
+	private List<School> schoolRecords;
+	private RecordIndex<IELTS> ieltsIndex;
+	private List<IELTS> reloadedIeltsRecords;
+
+	@Setup
+	public void setUp() {
+		ieltsRecords = BenchmarkSheets.ielts(rows);
+		schoolRecords = BenchmarkSheets.schools(rows);
+		ieltsIndex = RecordIndex.build(RecordType.IELTS_RECORD, ieltsRecords);
+
+		// A reload of the sheet of which every hundredth row is removed
+		reloadedIeltsRecords = new ArrayList<>(ieltsRecords.size());
+		for (int row = 0; row < ieltsRecords.size(); row++) {
+			if (row % 100 != 0) {
+				reloadedIeltsRecords.add(ieltsRecords.get(row));
+			}
+		}
+	}
+
+	/**
+	 * Builds the lookup structures of every country of the index
+	 */
+	private static <T> RecordIndex<T> touch(RecordIndex<T> index) {
+		for (String country : index.getCountries()) {
+			index.findByReference(country, "0000000");
+		}
+		return index;
+	}
+
+	@Benchmark
+	public RecordIndex<IELTS> buildIELTS() {
+		return touch(RecordIndex.empty(RecordType.IELTS_RECORD).update(ieltsRecords));
+	}
+
+	@Benchmark
+	public RecordIndex<School> buildSchools() {
+		return touch(RecordIndex.empty(RecordType.SCHOOL_RECORD).update(schoolRecords));
+	}
+
+	@Benchmark
+	public RecordIndex<IELTS> reloadIELTS() {
+		return touch(ieltsIndex.update(reloadedIeltsRecords));
+	}
+}
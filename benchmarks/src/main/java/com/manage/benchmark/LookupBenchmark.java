@@ -0,0 +1,122 @@
+package com.manage.benchmark;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.manage.generator.WorkbookGenerator;
+import com.manage.lookup.LookupEngine;
+import com.manage.model.IELTS;
+
+/**
+ * The LookupBenchmark. It looks up the IELTS products as searched in the user
+ * interface, by the country, the candidate name and the reference digits.
+ * <ul>
+ * <li>hit - Every searched row exists, picked uniformly</li>
+ * <li>miss - No searched reference exists</li>
+ * <li>skewed - Every searched row exists, a few rows searched most of the
+ * time</li>
+ * <li>reference - The reference is searched alone, as with an empty name</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class LookupBenchmark {
+
+	/**
+	 * The number of searches of every kind, a power of two
+	 */
+	private static final int SEARCHES = 4096;
+
+	@Param({ "10000", "100000", "1000000" })
+	private int rows;
+
+	private LookupEngine lookupEngine;
+	private String[][] hits;
+	private String[][] misses;
+	private String[][] skewedHits;
+	private int search;
+
+	@Setup
+	public void setUp() {
+
+		List<IELTS> ieltsRecords = BenchmarkSheets.ielts(rows);
+		lookupEngine = new LookupEngine();
+		lookupEngine.updateIELTS(ieltsRecords);
+
+		Random random = new Random(rows);
+		hits = new String[SEARCHES][];
+		misses = new String[SEARCHES][];
+		skewedHits = new String[SEARCHES][];
+		for (int i = 0; i < SEARCHES; i++) {
+			hits[i] = search(ieltsRecords.get(random.nextInt(rows)));
+			misses[i] = hits[i].clone();
+			misses[i][2] = WorkbookGenerator.referenceDigits(rows + i);
+
+			// The rows are picked on a log scale, thus the first rows are the hot ones
+			int row = (int) Math.pow(rows, random.nextDouble()) - 1;
+			skewedHits[i] = search(ieltsRecords.get(row));
+		}
+
+		// Building the lookup structures of every country before measuring
+		for (String[] hit : hits) {
+			lookupEngine.find(LookupEngine.IELTS_PRODUCT, hit[0], hit[1], hit[2]);
+		}
+	}
+
+	/**
+	 * Gets the search of the record, as typed in the user interface
+	 */
+	private static String[] search(IELTS ielts) {
+		String reference = ielts.getReference();
+		return new String[] { ielts.getCountry(), ielts.getCandidateName(),
+				reference.substring(reference.length() - 7) };
+	}
+
+	/**
+	 * Gets the next search of the searches
+	 */
+	private String[] next(String[][] searches) {
+		return searches[search++ & (SEARCHES - 1)];
+	}
+
+	@Benchmark
+	public List<?> hit() {
+		String[] hit = next(hits);
+		return lookupEngine.find(LookupEngine.IELTS_PRODUCT, hit[0], hit[1], hit[2]);
+	}
+
+	@Benchmark
+	public List<?> miss() {
+		String[] miss = next(misses);
+		return lookupEngine.find(LookupEngine.IELTS_PRODUCT, miss[0], miss[1], miss[2]);
+	}
+
+	@Benchmark
+	public List<?> skewed() {
+		String[] skewedHit = next(skewedHits);
+		return lookupEngine.find(LookupEngine.IELTS_PRODUCT, skewedHit[0], skewedHit[1], skewedHit[2]);
+	}
+
+	@Benchmark
+	public List<?> reference() {
+		String[] hit = next(hits);
+		return lookupEngine.find(LookupEngine.IELTS_PRODUCT, hit[0], "", hit[2]);
+	}
+}
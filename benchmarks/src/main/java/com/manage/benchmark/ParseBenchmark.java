@@ -0,0 +1,56 @@
+package com.manage.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.manage.parser.IELTSSheetParser;
+import com.manage.parser.SchoolsSheetParser;
+
+/**
+ * The ParseBenchmark. It parses the generated IELTS and Schools workbooks into
+ * their models. The snapshots are disabled, thus every operation parses the
+ * whole workbook.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx2g", "-Dmanager.snapshot=false" })
+public class ParseBenchmark {
+
+	@Param({ "10000", "100000", "1000000" })
+	private int rows;
+
+	private String ieltsFilePath;
+	private String schoolsFilePath;
+
+	@Setup
+	public void setUp() throws IOException {
+		ieltsFilePath = BenchmarkSheets.ieltsWorkbook(rows);
+		schoolsFilePath = BenchmarkSheets.schoolsWorkbook(rows);
+	}
+
+	@Benchmark
+	public int parseIELTS(Blackhole blackhole) {
+		return IELTSSheetParser.parse(ieltsFilePath, blackhole::consume);
+	}
+
+	@Benchmark
+	public int parseSchools(Blackhole blackhole) {
+		return SchoolsSheetParser.parse(schoolsFilePath, blackhole::consume);
+	}
+}
@@ -2,26 +2,44 @@ package com.manage;
 
 import java.awt.event.KeyAdapter;
 import java.awt.event.KeyEvent;
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Arrays;
 import java.util.List;
-import java.util.TreeSet;
+import java.util.SortedSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import javax.swing.ImageIcon;
+import javax.swing.JFileChooser;
 import javax.swing.JFrame;
 import javax.swing.JLabel;
+import javax.swing.JMenuItem;
 import javax.swing.JOptionPane;
+import javax.swing.JPopupMenu;
 import javax.swing.JRootPane;
-
-import org.bson.Document;
-
-import com.manage.mapper.IELTSMapper;
-import com.manage.mapper.SchoolMapper;
+import javax.swing.JTextField;
+import javax.swing.SwingUtilities;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+
+import com.manage.batch.SlipBatch;
+import com.manage.batch.SlipProgress;
+import com.manage.cli.LookupCli;
+import com.manage.generator.WorkbookGenerator;
+import com.manage.http.LookupServer;
+import com.manage.loader.LoadListener;
+import com.manage.loader.SheetLoader;
+import com.manage.loader.SheetWatcher;
+import com.manage.lookup.LookupEngine;
 import com.manage.model.IELTS;
 import com.manage.model.School;
-import com.manage.parser.IELTSSheetParser;
-import com.manage.parser.SchoolsSheetParser;
 import com.manage.util.BarCodeGenerator;
+import com.manage.util.CompactDate;
+import com.manage.util.DebouncedSearch;
+import com.manage.util.SlipText;
 
 /**
  * The Product Manager.
@@ -34,24 +52,51 @@ public class Manager extends javax.swing.JFrame {
 	 * Creates new form Manager
 	 */
 	public Manager() {
-		init();
 		initComponents();
+		init();
 	}
 
 	/**
-	 * The School map
+	 * The lookup engine. Its indexes are swapped as a whole once a sheet is
+	 * reloaded.
+	 */
+	private static final LookupEngine lookupEngine = new LookupEngine();
+
+	/**
+	 * The maximum number of name suggestions
+	 */
+	private static final int SUGGESTIONS_LIMIT = 10;
+
+	/**
+	 * The delay of the live search after the last keystroke in milliseconds
+	 */
+	private static final int LIVE_SEARCH_DELAY = 150;
+
+	/**
+	 * Whether the IELTS sheet is loaded
+	 */
+	private boolean ieltsReady;
+
+	/**
+	 * Whether the Schools sheet is loaded
 	 */
-	private static HashMap<String, School> schoolMap = new HashMap<>();
+	private boolean schoolsReady;
 
 	/**
-	 * The IELTS map
+	 * The live search of the typed name or reference
 	 */
-	private static HashMap<String, IELTS> ieltsMap = new HashMap<>();
+	private final DebouncedSearch<List<?>> liveSearch = new DebouncedSearch<>(LIVE_SEARCH_DELAY);
 
 	/**
-	 * The countries set
+	 * The live search suggestions
 	 */
-	private static TreeSet<String> countries = new TreeSet<>();
+	private final JPopupMenu suggestionsPopup = new JPopupMenu();
+
+	/**
+	 * Whether a suggestion is being filled in, which must not trigger the live
+	 * search
+	 */
+	private boolean applyingSuggestion;
 
 	/**
 	 * Shows error message
@@ -61,92 +106,271 @@ public class Manager extends javax.swing.JFrame {
 	}
 
 	/**
-	 * Maps row IETLS data into models
-	 * 
-	 * @param ieltsInfo The row IELTS info
-	 * @return The list of prepared IETLS
+	 * Refreshes the countries and enables the search once the sheet of the
+	 * selected product type is loaded
+	 */
+	private void refreshSearchOptions() {
+
+		SortedSet<String> countries = lookupEngine.getCountries();
+		Object selectedCountry = countryDropDown.getSelectedItem();
+		countryDropDown.setModel(new javax.swing.DefaultComboBoxModel<>(countries.toArray()));
+		if (selectedCountry != null && countries.contains(selectedCountry)) {
+			countryDropDown.setSelectedItem(selectedCountry);
+		}
+
+		boolean ready = "IELTS".equals(productTypeDropdown.getSelectedItem()) ? ieltsReady : schoolsReady;
+		searchButton.setEnabled(ready && countryDropDown.getItemCount() > 0);
+	}
+
+	/**
+	 * Initializes the application. The sheets are loaded in the background, and the
+	 * search of each product type is enabled as soon as its sheet is loaded. Once
+	 * loaded, the changed sheets are reloaded and their indexes swapped.
 	 */
-	@SuppressWarnings("unchecked")
-	private List<IELTS> mapRowIELTS(Document ieltsInfo) {
+	private void init() {
 
-		List<IELTS> ieltsRecords = new ArrayList<>();
-		List<Document> data = (List<Document>) ieltsInfo.get("data");
+		LoadListener indexUpdater = new LoadListener() {
 
-		if (data != null && !data.isEmpty()) {
-			for (Document ieltsDocument : data) {
-				ieltsRecords.add(IELTSMapper.map(ieltsDocument));
+			@Override
+			public void progress(int ieltsRows, int schoolRows, int percent) {
+				SwingUtilities.invokeLater(() -> {
+					loadProgressBar.setValue(percent);
+					loadProgressBar.setString("IELTS: " + ieltsRows + " rows, School: " + schoolRows + " rows");
+				});
 			}
-		}
-		return ieltsRecords;
+
+			@Override
+			public void ieltsLoaded(List<IELTS> ieltsRecords) {
+
+				// Updating the index on the loader thread
+				lookupEngine.updateIELTS(ieltsRecords);
+				SwingUtilities.invokeLater(() -> {
+					ieltsReady = true;
+					refreshSearchOptions();
+				});
+			}
+
+			@Override
+			public void schoolsLoaded(List<School> schoolRecords) {
+
+				// Updating the index on the loader thread
+				lookupEngine.updateSchools(schoolRecords);
+				SwingUtilities.invokeLater(() -> {
+					schoolsReady = true;
+					refreshSearchOptions();
+				});
+			}
+		};
+
+		SheetLoader.loadAsync("ORS.xlsx", "schools.xlsx", indexUpdater).whenComplete((loadResult, exception) -> {
+			try {
+				SheetWatcher.watch("ORS.xlsx", "schools.xlsx", indexUpdater);
+			} catch (IOException ioException) {
+				System.out.println("Error: Watching the reports failed.");
+			}
+
+			SwingUtilities.invokeLater(() -> {
+				loadProgressBar.setValue(100);
+				loadProgressBar.setString(exception == null ? "Loaded in " + loadResult.getLoadTime() + " ms"
+						: "Loading failed");
+			});
+		});
 	}
 
 	/**
-	 * Maps row School data into models
+	 * Gets the information of product. Every row sharing the country, name and
+	 * reference is returned.
 	 * 
-	 * @param schoolInfo The row School info
-	 * @return The list of prepared School
+	 * @param productType   The product type
+	 * @param country       The country
+	 * @param candidateName the candidate name, empty to search by the reference ID
+	 *                      alone
+	 * @param referenceId   The reference ID
+	 * @return The matching products, in the sheet order
 	 */
-	@SuppressWarnings("unchecked")
-	private List<School> mapRowSchool(Document schoolInfo) {
+	private List<?> getInformation(String productType, String country, String candidateName, String referenceId) {
 
-		List<School> schoolRecords = new ArrayList<>();
-		List<Document> data = (List<Document>) schoolInfo.get("data");
+		return lookupEngine.find(productType, country, candidateName, referenceId);
+	}
+
+	/**
+	 * Gets the suggestions of the candidate name, listing the records of the most
+	 * similar names
+	 * 
+	 * @param productType   The product type
+	 * @param country       The country
+	 * @param candidateName The candidate name
+	 * @return The suggestions, or empty if none found
+	 */
+	private String getSuggestions(String productType, String country, String candidateName) {
 
-		if (data != null && !data.isEmpty()) {
-			for (Document schoolDocument : data) {
-				schoolRecords.add(SchoolMapper.map(schoolDocument));
+		StringBuilder suggestions = new StringBuilder();
+		for (Object match : lookupEngine.searchByName(productType, country, candidateName, SUGGESTIONS_LIMIT)) {
+			if (match instanceof IELTS) {
+				IELTS ielts = (IELTS) match;
+				suggestions.append("<br>" + ielts.getCandidateName() + " (" + ielts.getReference() + ")");
+			} else {
+				School school = (School) match;
+				suggestions.append("<br>" + (school.getFirstName() + " " + school.getLastName()).trim() + " ("
+						+ school.getRegistrationId() + ")");
 			}
 		}
-		return schoolRecords;
+		return suggestions.length() == 0 ? "" : "<strong>Did you mean: </strong>" + suggestions;
 	}
 
 	/**
-	 * Initializes the application
+	 * Shows the information of the matching products, or the suggestions of the
+	 * name, and keeps the bar-code data of the first match
+	 * 
+	 * @param productType          The product type
+	 * @param referenceText        The searched reference ID
+	 * @param matches              The matching products
+	 * @param suggestions          The suggestions, or empty if none found
+	 * @param barcodeDataBuilder   The bar-code data of the first match
+	 * @param barcodeReferenceInfo The reference of the bar-code
 	 */
-	private void init() {
+	private void showInformation(String productType, String referenceText, List<?> matches, String suggestions,
+			StringBuilder barcodeDataBuilder, StringBuilder barcodeReferenceInfo) {
 
-		// Parsing the data
-		Document ieltsInfo = IELTSSheetParser.parse("ORS.xlsx");
-		Document schoolInfo = SchoolsSheetParser.parse("schools.xlsx");
+		if (!suggestions.equals("")) {
+			informationArea.setText(suggestions);
+		} else if (matches.isEmpty()) {
+			showErrorMessage("No information found!!");
+		} else {
+			barcodeReferenceInfo.append(referenceText);
+			StringBuilder stringBuilder = new StringBuilder();
+			if (matches.size() > 1) {
+				stringBuilder.append("<strong>" + matches.size() + " matching rows, the bar-code uses the first."
+						+ "</strong><br>");
+			}
+			for (Object info : matches) {
+				if (info != matches.get(0)) {
+					stringBuilder.append("<hr>");
+				}
+				if (productType.equals("IELTS")) {
+					IELTS ielts = (IELTS) info;
+					stringBuilder.append("<strong>Candidate Name: </strong>" + ielts.getCandidateName());
+					stringBuilder.append("<br>");
+					stringBuilder.append("<strong>Reference ID: </strong>" + ielts.getReference());
+					stringBuilder.append("<br>");
+					stringBuilder.append("<strong>Location: </strong>" + ielts.getLocation());
+					stringBuilder.append("<br>");
+					stringBuilder.append("<strong>Exam Format: </strong>" + ielts.getExamFormat());
+					stringBuilder.append("<br>");
+					stringBuilder.append("<strong>Registration Date: </strong>" + ielts.getRegistrationDate());
+					stringBuilder.append("<br>");
+					stringBuilder.append("<strong>Test Date: </strong>" + ielts.getTestDate());
+					stringBuilder.append("<br>");
+					stringBuilder.append("<strong>Payment Ref: </strong>" + ielts.getPaymentRef());
+					stringBuilder.append("<br>");
+					stringBuilder.append("<strong>Payment Type: </strong>" + ielts.getPaymentType());
+					stringBuilder.append("<br>");
+					stringBuilder.append("<strong>Total: </strong>" + ielts.getTotal());
+
+					// Building barcode data of the first match
+					if (info != matches.get(0)) {
+						continue;
+					}
+					barcodeDataBuilder.append(SlipText.of(ielts));
+				} else {
+					School school = (School) info;
+					stringBuilder.append("<strong>First Name: </strong>" + school.getFirstName());
+					stringBuilder.append("<br>");
+					stringBuilder.append("<strong>Last Name: </strong>" + school.getLastName());
+					stringBuilder.append("<br>");
+					stringBuilder.append("<strong>Reference ID: </strong>" + school.getRegistrationId());
+					stringBuilder.append("<br>");
+					stringBuilder.append("<strong>Centre Name: </strong>" + school.getCentreName());
+					stringBuilder.append("<br>");
+					stringBuilder.append("<strong>Total Local Fee($): </strong>" + school.getTotalLocalFee());
+					stringBuilder.append("<br>");
+					stringBuilder.append("<strong>Number Of Exams: </strong>" + school.getNumberOfExams());
+					stringBuilder.append("<br>");
+					stringBuilder.append("<strong>Payment Reference: </strong>" + school.getPaymentReference());
+					stringBuilder.append("<br>");
+
+					// Building barcode data of the first match
+					if (info != matches.get(0)) {
+						continue;
+					}
+					barcodeDataBuilder.append(SlipText.of(school));
+				}
+			}
+			informationArea.setText(stringBuilder.toString());
+		}
+	}
 
-		// Mapping row data to models
-		List<IELTS> ieltsRecords = mapRowIELTS(ieltsInfo);
-		List<School> schoolRecords = mapRowSchool(schoolInfo);
+	/**
+	 * Schedules the live search of the typed name or reference. A name is searched
+	 * by similarity, while a reference alone is searched once all its 7 digits are
+	 * typed.
+	 * 
+	 * @param field The edited field, under which the suggestions are shown
+	 */
+	private void suggest(JTextField field) {
+
+		if (applyingSuggestion) {
+			return;
+		}
 
-		// Preparing UI data sources
-		// The data maps
-		ieltsRecords.forEach(record -> ieltsMap.put(record.toString(), record));
-		schoolRecords.forEach(record -> schoolMap.put(record.toString(), record));
+		String productType = (String) productTypeDropdown.getSelectedItem();
+		String country = (String) countryDropDown.getSelectedItem();
+		String name = nameField.getText().trim();
+		String referenceId = referenceIdField.getText().trim();
+		if (!searchButton.isEnabled() || (name.equals("") && referenceId.length() != 7)) {
+			liveSearch.cancel();
+			suggestionsPopup.setVisible(false);
+			return;
+		}
 
-		// The countries list
-		ieltsRecords.forEach(record -> countries.add(record.getCountry()));
-		schoolRecords.forEach(record -> countries.add(record.getCountry()));
-		countries.remove("");
+		liveSearch.schedule(() -> {
+			return name.equals("") ? lookupEngine.find(productType, country, "", referenceId)
+					: lookupEngine.searchByName(productType, country, name, SUGGESTIONS_LIMIT);
+		}, matches -> showSuggestions(field, matches));
 	}
 
 	/**
-	 * Gets the information of product
+	 * Shows the live search suggestions. Choosing a suggestion fills in its name
+	 * and reference, and searches it.
 	 * 
-	 * @param productType   The product type
-	 * @param country       The country
-	 * @param candidateName the candidate name
-	 * @param referenceId   The reference ID
-	 * @return The product information
+	 * @param field   The edited field
+	 * @param matches The matching records
 	 */
-	private Object getInformation(String productType, String country, String candidateName, String referenceId) {
+	private void showSuggestions(JTextField field, List<?> matches) {
 
-		if (productType.equals("IELTS")) {
-			String key = country + " " + candidateName + " " + referenceId;
-			if (ieltsMap.containsKey(key)) {
-				return ieltsMap.get(key);
-			}
-		} else {
-			String key = country + " " + candidateName + " " + referenceId;
-			if (schoolMap.containsKey(key)) {
-				return schoolMap.get(key);
+		suggestionsPopup.setVisible(false);
+		suggestionsPopup.removeAll();
+		if (matches.isEmpty() || !field.isShowing()) {
+			return;
+		}
+
+		for (Object match : matches) {
+			String label;
+			String name;
+			String reference;
+			if (match instanceof IELTS) {
+				IELTS ielts = (IELTS) match;
+				label = ielts.getCandidateName();
+				name = ielts.getCandidateName();
+				reference = ielts.getReference();
+			} else {
+				School school = (School) match;
+				label = (school.getFirstName() + " " + school.getLastName()).trim();
+				name = school.getLastName();
+				reference = school.getRegistrationId();
 			}
+
+			JMenuItem item = new JMenuItem(label + " (" + reference + ")");
+			item.addActionListener(event -> {
+				applyingSuggestion = true;
+				nameField.setText(name);
+				referenceIdField.setText(SlipText.barcodeData(reference));
+				applyingSuggestion = false;
+				searchButton.doClick();
+			});
+			suggestionsPopup.add(item);
 		}
-		return null;
+		suggestionsPopup.show(field, 0, field.getHeight());
 	}
 
 	/**
@@ -176,6 +400,76 @@ public class Manager extends javax.swing.JFrame {
 		popup.setVisible(true);
 	}
 
+	/**
+	 * Writes the slips of every record of the selected product type to a ZIP of
+	 * PNG images. The slips are written in the background, and the progress and
+	 * throughput are shown once done.
+	 */
+	private void writeAllSlips() {
+
+		String productType = (String) productTypeDropdown.getSelectedItem();
+		String country = (String) countryDropDown.getSelectedItem();
+		int scope = JOptionPane.showConfirmDialog(this, "Write the slips of " + country + " only?", "All Slips",
+				JOptionPane.YES_NO_CANCEL_OPTION);
+		if (scope == JOptionPane.CANCEL_OPTION || scope == JOptionPane.CLOSED_OPTION) {
+			return;
+		}
+		String slipsCountry = scope == JOptionPane.YES_OPTION ? country : null;
+
+		// The test dates of the IELTS slips, as "from-to" in dd/MM/yyyy
+		LocalDate[] testDates = new LocalDate[2];
+		if (productType.equals("IELTS")) {
+			String dates = JOptionPane.showInputDialog(this, "Test dates (dd/MM/yyyy-dd/MM/yyyy), empty for all");
+			if (dates == null) {
+				return;
+			}
+			if (!dates.trim().equals("")) {
+				String[] range = dates.split("-");
+				for (int i = 0; i < 2; i++) {
+					String testDate = range[Math.min(i, range.length - 1)].trim();
+					testDates[i] = CompactDate.parse(testDate);
+				}
+				if (testDates[0] == null || testDates[1] == null) {
+					showErrorMessage("The test dates are invalid.");
+					return;
+				}
+			}
+		}
+
+		JFileChooser fileChooser = new JFileChooser();
+		fileChooser.setSelectedFile(new File("slips.zip"));
+		if (fileChooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+			return;
+		}
+		Path zipPath = fileChooser.getSelectedFile().toPath();
+
+		SlipProgress progress = (slips, totalSlips) -> SwingUtilities.invokeLater(() -> {
+			loadProgressBar.setValue(totalSlips == 0 ? 100 : slips * 100 / totalSlips);
+			loadProgressBar.setString("Slips: " + slips + " of " + totalSlips);
+		});
+		batchSlipsButton.setEnabled(false);
+		CompletableFuture.supplyAsync(() -> {
+			try {
+				return productType.equals("IELTS")
+						? SlipBatch.writeIELTSSlips(lookupEngine.getIeltsIndex().getRecords(slipsCountry), slipsCountry,
+								testDates[0], testDates[1], zipPath, progress)
+						: SlipBatch.writeSchoolSlips(lookupEngine.getSchoolIndex().getRecords(slipsCountry),
+								slipsCountry, zipPath, progress);
+			} catch (IOException exception) {
+				throw new CompletionException(exception);
+			}
+		}).whenComplete((result, exception) -> SwingUtilities.invokeLater(() -> {
+			batchSlipsButton.setEnabled(true);
+			if (exception != null) {
+				System.out.println("Error: Writing the slips failed.");
+				showErrorMessage("Writing the slips failed.");
+			} else {
+				System.out.println("Wrote " + result);
+				loadProgressBar.setString("Wrote " + result);
+			}
+		}));
+	}
+
 	private void initComponents() {
 
 		headerPane = new javax.swing.JLayeredPane();
@@ -195,6 +489,8 @@ public class Manager extends javax.swing.JFrame {
 		informationPane = new javax.swing.JScrollPane();
 		informationArea = new javax.swing.JEditorPane("text/html", "");
 		generateBarcodeButton = new javax.swing.JButton();
+		batchSlipsButton = new javax.swing.JButton();
+		loadProgressBar = new javax.swing.JProgressBar(0, 100);
 
 		setDefaultCloseOperation(javax.swing.WindowConstants.EXIT_ON_CLOSE);
 		setBackground(new java.awt.Color(254, 254, 254));
@@ -244,6 +540,11 @@ public class Manager extends javax.swing.JFrame {
 			}
 		});
 
+		// Searching as the name or reference is typed
+		suggestionsPopup.setFocusable(false); // the typed field keeps the focus
+		nameField.getDocument().addDocumentListener(new SuggestionTrigger(nameField));
+		referenceIdField.getDocument().addDocumentListener(new SuggestionTrigger(referenceIdField));
+
 		productTypeLabel.setText("Product Type");
 
 		productTypeDropdown.setModel(new javax.swing.DefaultComboBoxModel<>(new String[] { "IELTS", "School" }));
@@ -257,15 +558,21 @@ public class Manager extends javax.swing.JFrame {
 				nameLabel.setText("Last Name");
 				break;
 			}
+			refreshSearchOptions();
 		});
 
-		countryDropDown.setModel(new javax.swing.DefaultComboBoxModel<>(countries.toArray()));
+		countryDropDown.setModel(new javax.swing.DefaultComboBoxModel<>(lookupEngine.getCountries().toArray()));
 		searchButton.setText("Search");
+		searchButton.setEnabled(false); // enabled once the sheet is loaded
 		StringBuilder barcodeDataBuilder = new StringBuilder();
 		StringBuilder barcodeReferenceInfo = new StringBuilder();
 
 		searchButton.addActionListener(event -> {
 
+			// Dropping the pending suggestions
+			liveSearch.cancel();
+			suggestionsPopup.setVisible(false);
+
 			// Resetting the data builders
 			barcodeDataBuilder.delete(0, barcodeDataBuilder.length());
 			barcodeReferenceInfo.delete(0, barcodeReferenceInfo.length());
@@ -275,74 +582,28 @@ public class Manager extends javax.swing.JFrame {
 			String name = nameField.getText().trim();
 			String referenceId = referenceIdField.getText().trim();
 
-			if (name.equals("") || referenceId.equals("")) {
-				showErrorMessage("The name and reference cannot be empty.");
-			} else {
-				// Searching for candidate
-				Object info = getInformation(productType, country, name, referenceId);
-				if (info == null) {
-					showErrorMessage("No information found!!");
-				} else {
-					barcodeReferenceInfo.append(referenceIdField.getText());
-					StringBuilder stringBuilder = new StringBuilder();
-					if (productType.equals("IELTS")) {
-						IELTS ielts = (IELTS) info;
-						stringBuilder.append("<strong>Candidate Name: </strong>" + ielts.getCandidateName());
-						stringBuilder.append("<br>");
-						stringBuilder.append("<strong>Reference ID: </strong>" + ielts.getReference());
-						stringBuilder.append("<br>");
-						stringBuilder.append("<strong>Location: </strong>" + ielts.getLocation());
-						stringBuilder.append("<br>");
-						stringBuilder.append("<strong>Exam Format: </strong>" + ielts.getExamFormat());
-						stringBuilder.append("<br>");
-						stringBuilder.append("<strong>Registration Date: </strong>" + ielts.getRegistrationDate());
-						stringBuilder.append("<br>");
-						stringBuilder.append("<strong>Test Date: </strong>" + ielts.getTestDate());
-						stringBuilder.append("<br>");
-						stringBuilder.append("<strong>Payment Ref: </strong>" + ielts.getPaymentRef());
-						stringBuilder.append("<br>");
-						stringBuilder.append("<strong>Payment Type: </strong>" + ielts.getPaymentType());
-						stringBuilder.append("<br>");
-						stringBuilder.append("<strong>Total: </strong>" + ielts.getTotal());
-
-						// Building barcode data
-						barcodeDataBuilder.append("<strong>Candidate Name: </strong>" + ielts.getCandidateName());
-						barcodeDataBuilder.append("<br>");
-						barcodeDataBuilder.append("<strong>Reference ID: </strong>" + ielts.getReference());
-						barcodeDataBuilder.append("<br>");
-						barcodeDataBuilder.append("<strong>Total Amount: </strong>" + ielts.getTotal());
-						barcodeDataBuilder.append("<br>");
-						barcodeDataBuilder.append("<strong>Country: </strong>" + ielts.getCountry());
-					} else {
-						School school = (School) info;
-						stringBuilder.append("<strong>First Name: </strong>" + school.getFirstName());
-						stringBuilder.append("<br>");
-						stringBuilder.append("<strong>Last Name: </strong>" + school.getLastName());
-						stringBuilder.append("<br>");
-						stringBuilder.append("<strong>Reference ID: </strong>" + school.getRegistrationId());
-						stringBuilder.append("<br>");
-						stringBuilder.append("<strong>Centre Name: </strong>" + school.getCentreName());
-						stringBuilder.append("<br>");
-						stringBuilder.append("<strong>Total Local Fee($): </strong>" + school.getTotalLocalFee());
-						stringBuilder.append("<br>");
-						stringBuilder.append("<strong>Number Of Exams: </strong>" + school.getNumberOfExams());
-						stringBuilder.append("<br>");
-						stringBuilder.append("<strong>Payment Reference: </strong>" + school.getPaymentReference());
-						stringBuilder.append("<br>");
-
-						// Building barcode data
-						barcodeDataBuilder.append("<strong>Candidate Name: </strong>"
-								+ (school.getFirstName() + " " + school.getLastName()).trim());
-						barcodeDataBuilder.append("<br>");
-						barcodeDataBuilder.append("<strong>Reference ID: </strong>" + school.getRegistrationId());
-						barcodeDataBuilder.append("<br>");
-						barcodeDataBuilder.append("<strong>Total Amount: </strong>" + school.getTotalLocalFee());
-						barcodeDataBuilder.append("<br>");
-						barcodeDataBuilder.append("<strong>Country: </strong>" + school.getCountry());
-					}
-					informationArea.setText(stringBuilder.toString());
-				}
+			if (referenceId.equals("")) {
+				showErrorMessage("The reference cannot be empty.");
+				return;
 			}
+
+			// Searching for candidate off the event thread, as the sheets are loaded
+			String referenceText = referenceIdField.getText();
+			searchButton.setEnabled(false);
+			CompletableFuture<List<?>> search = CompletableFuture
+					.supplyAsync(() -> getInformation(productType, country, name, referenceId));
+			search.thenApply(matches -> matches.isEmpty() && !name.equals("")
+					? getSuggestions(productType, country, name)
+					: "").whenComplete((suggestions, exception) -> SwingUtilities.invokeLater(() -> {
+						refreshSearchOptions();
+						if (exception != null) {
+							System.out.println("Error: The search failed.");
+							showErrorMessage("The search failed.");
+						} else {
+							showInformation(productType, referenceText, search.join(), suggestions,
+									barcodeDataBuilder, barcodeReferenceInfo);
+						}
+					}));
 		});
 
 		generateBarcodeButton.addActionListener(event -> {
@@ -428,9 +689,18 @@ public class Manager extends javax.swing.JFrame {
 
 		generateBarcodeButton.setText("Generate Barcode");
 
+		batchSlipsButton.setText("All Slips");
+		batchSlipsButton.setToolTipText("Writes the slips of every record to a ZIP of images");
+		batchSlipsButton.addActionListener(event -> writeAllSlips());
+
+		loadProgressBar.setStringPainted(true);
+		loadProgressBar.setString("Loading...");
+
 		resultPane.setLayer(avatar, javax.swing.JLayeredPane.DEFAULT_LAYER);
 		resultPane.setLayer(informationPane, javax.swing.JLayeredPane.DEFAULT_LAYER);
 		resultPane.setLayer(generateBarcodeButton, javax.swing.JLayeredPane.DEFAULT_LAYER);
+		resultPane.setLayer(batchSlipsButton, javax.swing.JLayeredPane.DEFAULT_LAYER);
+		resultPane.setLayer(loadProgressBar, javax.swing.JLayeredPane.DEFAULT_LAYER);
 
 		javax.swing.GroupLayout resultPaneLayout = new javax.swing.GroupLayout(resultPane);
 		resultPane.setLayout(resultPaneLayout);
@@ -441,9 +711,14 @@ public class Manager extends javax.swing.JFrame {
 						.addGroup(resultPaneLayout.createParallelGroup(javax.swing.GroupLayout.Alignment.LEADING)
 								.addComponent(informationPane, javax.swing.GroupLayout.DEFAULT_SIZE, 461,
 										Short.MAX_VALUE)
-								.addGroup(resultPaneLayout.createSequentialGroup().addGap(0, 0, Short.MAX_VALUE)
+								.addGroup(resultPaneLayout.createSequentialGroup()
+										.addComponent(loadProgressBar, javax.swing.GroupLayout.DEFAULT_SIZE,
+												javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE)
+										.addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+										.addComponent(batchSlipsButton)
+										.addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
 										.addComponent(generateBarcodeButton, javax.swing.GroupLayout.PREFERRED_SIZE,
-												201, javax.swing.GroupLayout.PREFERRED_SIZE)))
+												160, javax.swing.GroupLayout.PREFERRED_SIZE)))
 						.addContainerGap()));
 		resultPaneLayout
 				.setVerticalGroup(resultPaneLayout.createParallelGroup(javax.swing.GroupLayout.Alignment.LEADING)
@@ -453,7 +728,11 @@ public class Manager extends javax.swing.JFrame {
 										.addComponent(avatar, javax.swing.GroupLayout.DEFAULT_SIZE, 136,
 												Short.MAX_VALUE)
 										.addComponent(informationPane))
-								.addGap(8, 8, 8).addComponent(generateBarcodeButton)
+								.addGap(8, 8, 8)
+								.addGroup(resultPaneLayout
+										.createParallelGroup(javax.swing.GroupLayout.Alignment.CENTER)
+										.addComponent(loadProgressBar).addComponent(batchSlipsButton)
+										.addComponent(generateBarcodeButton))
 								.addContainerGap(javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE)));
 
 		javax.swing.GroupLayout layout = new javax.swing.GroupLayout(getContentPane());
@@ -474,12 +753,54 @@ public class Manager extends javax.swing.JFrame {
 	}
 
 	/**
-	 * Execution starts from here
+	 * Triggers the live search on every edit of the field
+	 */
+	private class SuggestionTrigger implements DocumentListener {
+
+		private final JTextField field;
+
+		SuggestionTrigger(JTextField field) {
+			this.field = field;
+		}
+
+		@Override
+		public void insertUpdate(DocumentEvent event) {
+			suggest(field);
+		}
+
+		@Override
+		public void removeUpdate(DocumentEvent event) {
+			suggest(field);
+		}
+
+		@Override
+		public void changedUpdate(DocumentEvent event) {
+			// Attribute changes are not edits
+		}
+	}
+
+	/**
+	 * Execution starts from here. The lookups run without the user interface when
+	 * the --cli option is given, and are served over HTTP when the --http option
+	 * is given.
 	 * 
 	 * @param args The command line arguments
 	 */
 	public static void main(String args[]) {
 
+		if (Arrays.asList(args).contains("--cli")) {
+			LookupCli.run(args);
+			return;
+		}
+		if (Arrays.asList(args).contains("--http")) {
+			LookupServer.run(args);
+			return;
+		}
+		if (Arrays.asList(args).contains("--generate")) {
+			WorkbookGenerator.run(args);
+			return;
+		}
+
 		try {
 			for (javax.swing.UIManager.LookAndFeelInfo info : javax.swing.UIManager.getInstalledLookAndFeels()) {
 				if ("Nimbus".equals(info.getName())) {
@@ -501,12 +822,14 @@ public class Manager extends javax.swing.JFrame {
 	}
 
 	private javax.swing.JLabel avatar;
+	private javax.swing.JButton batchSlipsButton;
 	private javax.swing.JTextField nameField;
 	private javax.swing.JLabel nameLabel;
 	private javax.swing.JComboBox<Object> countryDropDown;
 	private javax.swing.JLabel countryLabel;
 	private javax.swing.JButton generateBarcodeButton;
 	private javax.swing.JLayeredPane headerPane;
+	private javax.swing.JProgressBar loadProgressBar;
 	private javax.swing.JEditorPane informationArea;
 	private javax.swing.JScrollPane informationPane;
 	private javax.swing.JLabel logo;
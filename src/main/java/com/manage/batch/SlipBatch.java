@@ -0,0 +1,206 @@
+package com.manage.batch;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import javax.imageio.ImageIO;
+
+import com.manage.model.IELTS;
+import com.manage.model.School;
+import com.manage.util.BarCodeGenerator;
+import com.manage.util.CompactDate;
+import com.manage.util.SlipText;
+
+/**
+ * The utility SlipBatch. It writes the bar-code slips of many records to a ZIP
+ * of PNG images. The slips are drawn in parallel on every core and written in
+ * the record order, while only a few slips per core are held in memory.
+ */
+public class SlipBatch {
+
+	/**
+	 * The number of slip drawing threads
+	 */
+	private static final int THREADS = Runtime.getRuntime().availableProcessors();
+
+	/**
+	 * The maximum number of slips drawn ahead of the writer
+	 */
+	private static final int IN_FLIGHT = THREADS * 2;
+
+	private SlipBatch() {
+		// Its a utility class. Thus the instantiation is not allowed.
+	}
+
+	/**
+	 * Writes the slips of the IELTS records
+	 * 
+	 * @param ieltsRecords The IELTS records
+	 * @param country      The country, or null for every country
+	 * @param fromTestDate The earliest test date, or null
+	 * @param toTestDate   The latest test date, or null
+	 * @param zipPath      The ZIP path
+	 * @param progress     The batch progress
+	 * @return The batch result
+	 * @throws IOException If the ZIP cannot be written
+	 */
+	public static SlipBatchResult writeIELTSSlips(List<IELTS> ieltsRecords, String country, LocalDate fromTestDate,
+			LocalDate toTestDate, Path zipPath, SlipProgress progress) throws IOException {
+
+		List<IELTS> selectedRecords = new ArrayList<>();
+		for (IELTS ielts : ieltsRecords) {
+			if (country != null && !country.equals(ielts.getCountry())) {
+				continue;
+			}
+			if (fromTestDate != null || toTestDate != null) {
+				LocalDate testDate = CompactDate.parse(ielts.getTestDate());
+				if (testDate == null || (fromTestDate != null && testDate.isBefore(fromTestDate))
+						|| (toTestDate != null && testDate.isAfter(toTestDate))) {
+					continue;
+				}
+			}
+			selectedRecords.add(ielts);
+		}
+		return write(selectedRecords, IELTS::getReference, SlipText::of, zipPath, progress);
+	}
+
+	/**
+	 * Writes the slips of the School records
+	 * 
+	 * @param schoolRecords The School records
+	 * @param country       The country, or null for every country
+	 * @param zipPath       The ZIP path
+	 * @param progress      The batch progress
+	 * @return The batch result
+	 * @throws IOException If the ZIP cannot be written
+	 */
+	public static SlipBatchResult writeSchoolSlips(List<School> schoolRecords, String country, Path zipPath,
+			SlipProgress progress) throws IOException {
+
+		List<School> selectedRecords = new ArrayList<>();
+		for (School school : schoolRecords) {
+			if (country == null || country.equals(school.getCountry())) {
+				selectedRecords.add(school);
+			}
+		}
+		return write(selectedRecords, School::getRegistrationId, SlipText::of, zipPath, progress);
+	}
+
+	/**
+	 * Writes the slips of the records
+	 * 
+	 * @param records   The records
+	 * @param reference The reference of a record
+	 * @param slipText  The slip text of a record
+	 * @param zipPath   The ZIP path
+	 * @param progress  The batch progress
+	 * @return The batch result
+	 * @throws IOException If the ZIP cannot be written
+	 */
+	private static <T> SlipBatchResult write(List<T> records, Function<T, String> reference,
+			Function<T, String> slipText, Path zipPath, SlipProgress progress) throws IOException {
+
+		long start = System.nanoTime();
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS, runnable -> {
+			Thread thread = new Thread(runnable, "slip-batch");
+			thread.setDaemon(true);
+			return thread;
+		});
+
+		try (OutputStream outputStream = Files.newOutputStream(zipPath);
+				ZipOutputStream zipOutputStream = new ZipOutputStream(outputStream)) {
+
+			ArrayDeque<Future<byte[]>> drawing = new ArrayDeque<>(IN_FLIGHT);
+			int written = 0;
+			for (int i = 0; i <= records.size(); i++) {
+
+				// Writing the oldest slip once enough slips are drawn ahead, or all are submitted
+				while (!drawing.isEmpty() && (drawing.size() == IN_FLIGHT || i == records.size())) {
+					T record = records.get(written);
+					writeEntry(zipOutputStream, (written + 1) + "-" + entryName(reference.apply(record)) + ".png",
+							await(drawing.poll()));
+					progress.progress(++written, records.size());
+				}
+
+				if (i < records.size()) {
+					T record = records.get(i);
+					drawing.add(executor.submit(() -> png(
+							BarCodeGenerator.generateBarCode(SlipText.barcodeData(reference.apply(record)),
+									slipText.apply(record), false))));
+				}
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		SlipBatchResult result = new SlipBatchResult();
+		result.setSlips(records.size());
+		result.setTime((System.nanoTime() - start) / 1_000_000);
+		return result;
+	}
+
+	/**
+	 * Encodes the slip image to PNG
+	 */
+	private static byte[] png(BufferedImage image) throws IOException {
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream(16 * 1024);
+		ImageIO.write(image, "png", outputStream);
+		return outputStream.toByteArray();
+	}
+
+	/**
+	 * Waits for the slip to be drawn
+	 */
+	private static byte[] await(Future<byte[]> slip) throws IOException {
+		try {
+			return slip.get();
+		} catch (InterruptedException exception) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("The slip batch was interrupted.");
+		} catch (ExecutionException exception) {
+			throw new IOException("A slip could not be drawn.", exception.getCause());
+		}
+	}
+
+	/**
+	 * Writes a stored ZIP entry, as a PNG is already compressed
+	 */
+	private static void writeEntry(ZipOutputStream zipOutputStream, String name, byte[] data) throws IOException {
+
+		CRC32 crc = new CRC32();
+		crc.update(data);
+
+		ZipEntry entry = new ZipEntry(name);
+		entry.setMethod(ZipEntry.STORED);
+		entry.setSize(data.length);
+		entry.setCompressedSize(data.length);
+		entry.setCrc(crc.getValue());
+		zipOutputStream.putNextEntry(entry);
+		zipOutputStream.write(data);
+		zipOutputStream.closeEntry();
+	}
+
+	/**
+	 * Gets the entry name of the reference, keeping only the safe characters
+	 */
+	private static String entryName(String reference) {
+		return reference == null || reference.isEmpty() ? "slip" : reference.replaceAll("[^A-Za-z0-9_-]", "_");
+	}
+}
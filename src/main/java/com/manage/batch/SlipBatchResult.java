@@ -0,0 +1,43 @@
+package com.manage.batch;
+
+/**
+ * The SlipBatchResult. It holds the slips written by a batch.
+ */
+public class SlipBatchResult {
+
+	private int slips;
+	private long time;
+
+	public int getSlips() {
+		return slips;
+	}
+
+	public void setSlips(int slips) {
+		this.slips = slips;
+	}
+
+	/**
+	 * Gets the batch time in milliseconds
+	 */
+	public long getTime() {
+		return time;
+	}
+
+	public void setTime(long time) {
+		this.time = time;
+	}
+
+	/**
+	 * Gets the throughput of the batch
+	 */
+	public double getSlipsPerSecond() {
+		return time == 0 ? slips : slips * 1000.0 / time;
+	}
+
+	/**
+	 * Gets the string representation of the result
+	 */
+	public String toString() {
+		return slips + " slips in " + time + " ms (" + Math.round(getSlipsPerSecond()) + " slips/s)";
+	}
+}
@@ -0,0 +1,16 @@
+package com.manage.batch;
+
+/**
+ * The SlipProgress. It is notified while the slips of a batch are written.
+ */
+@FunctionalInterface
+public interface SlipProgress {
+
+	/**
+	 * Notifies the batch progress
+	 * 
+	 * @param slips      The slips written so far
+	 * @param totalSlips The total slips of the batch
+	 */
+	void progress(int slips, int totalSlips);
+}
@@ -0,0 +1,408 @@
+package com.manage.cache;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+import com.manage.parser.ParseProgress;
+
+/**
+ * The SnapshotCache. It keeps a binary snapshot of the parsed rows next to the
+ * source sheet, thus an unchanged sheet is not parsed again on the next start.
+ * The snapshot is keyed on the size, the modification time and the content hash
+ * of the source file. A source of the same size and modification time is taken
+ * as unchanged, and the content hash is only compared when the modification
+ * time alone differs, as when the sheet is copied over. The rows are checked
+ * against their own hash before the first row is read, thus a truncated or
+ * corrupt snapshot is rejected as a whole.
+ */
+public class SnapshotCache {
+
+	private static final int MAGIC = 0x504d5353; // PMSS
+	private static final int VERSION = 2;
+	private static final String EXTENSION = ".snapshot";
+	private static final int HEADER_LIMIT = 65536;
+
+	/**
+	 * The number of rows between two progress notifications
+	 */
+	private static final int PROGRESS_INTERVAL = 1000;
+
+	private SnapshotCache() {
+		// Its a utility class. Thus instantiation is not allowed.
+	}
+
+	/**
+	 * Gets the snapshot file of the source sheet
+	 * 
+	 * @param filePath The source file path
+	 * @return The snapshot file
+	 */
+	private static File snapshotFile(String filePath) {
+		return new File(filePath + EXTENSION);
+	}
+
+	/**
+	 * Computes the content hash of the file
+	 * 
+	 * @param file The file
+	 * @return The CRC32 of the file content
+	 * @throws IOException When reading the file fails
+	 */
+	private static long contentHash(File file) throws IOException {
+
+		CRC32 crc32 = new CRC32();
+		byte[] buffer = new byte[65536];
+		try (InputStream inputStream = new FileInputStream(file)) {
+			int read;
+			while ((read = inputStream.read(buffer)) != -1) {
+				crc32.update(buffer, 0, read);
+			}
+		}
+		return crc32.getValue();
+	}
+
+	/**
+	 * Computes the hash of the rest of the channel
+	 * 
+	 * @param channel The channel, positioned at the rows
+	 * @return The CRC32 of the rows
+	 * @throws IOException When reading the channel fails
+	 */
+	private static long contentHash(FileChannel channel) throws IOException {
+
+		CRC32 crc32 = new CRC32();
+		ByteBuffer buffer = ByteBuffer.allocate(65536);
+		while (channel.read(buffer) != -1) {
+			buffer.flip();
+			crc32.update(buffer);
+			buffer.clear();
+		}
+		return crc32.getValue();
+	}
+
+	/**
+	 * Reads a length prefixed UTF-8 string
+	 * 
+	 * @param buffer  The snapshot buffer
+	 * @param scratch The scratch bytes, grown when needed
+	 * @return The string, or null if the length is negative
+	 */
+	private static String readString(ByteBuffer buffer, byte[][] scratch) {
+
+		int length = buffer.getInt();
+		if (length < 0) {
+			return null;
+		}
+		if (scratch[0].length < length) {
+			scratch[0] = new byte[Math.max(length, scratch[0].length * 2)];
+		}
+		buffer.get(scratch[0], 0, length);
+		return new String(scratch[0], 0, length, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Reads a length prefixed UTF-8 string
+	 * 
+	 * @param inputStream The snapshot stream
+	 * @param scratch     The scratch bytes, grown when needed
+	 * @return The string, or null if the length is negative
+	 * @throws IOException When the snapshot is truncated
+	 */
+	private static String readString(DataInputStream inputStream, byte[][] scratch) throws IOException {
+
+		int length = inputStream.readInt();
+		if (length < 0) {
+			return null;
+		}
+		if (scratch[0].length < length) {
+			scratch[0] = new byte[Math.max(length, scratch[0].length * 2)];
+		}
+		inputStream.readFully(scratch[0], 0, length);
+		return new String(scratch[0], 0, length, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Reads the rows from the snapshot of the source sheet. The snapshot is read
+	 * through a buffer rather than memory mapped, thus no mapping holds the file
+	 * open once read, and the snapshot can be replaced on the next reload. It is
+	 * only used when it matches the current source file, the sheet and the
+	 * requested headings, and when its rows match their hash. No row is consumed
+	 * before the whole snapshot is checked.
+	 * 
+	 * @param filePath    The source file path
+	 * @param sheetName   The sheet name
+	 * @param headings    The requested headings
+	 * @param rowConsumer The row consumer
+	 * @param progress    The read progress
+	 * @return The number of rows read, or -1 if no valid snapshot exists
+	 * @throws IOException When the snapshot fails once rows are consumed, thus the
+	 *                     sheet cannot be parsed again into the same consumer
+	 */
+	public static int read(String filePath, String sheetName, String[] headings, Consumer<String[]> rowConsumer,
+			ParseProgress progress) throws IOException {
+
+		File source = new File(filePath);
+		File snapshot = snapshotFile(filePath);
+		if (!source.isFile() || !snapshot.isFile()) {
+			return -1;
+		}
+
+		FileChannel channel;
+		int totalRows;
+		try {
+			channel = FileChannel.open(snapshot.toPath());
+		} catch (IOException ioException) {
+			System.out.println("Error: Reading snapshot " + snapshot.getName() + " failed.");
+			return -1;
+		}
+		try {
+			totalRows = check(channel, source, sheetName, headings);
+		} catch (IOException | BufferUnderflowException exception) {
+			System.out.println("Error: Reading snapshot " + snapshot.getName() + " failed.");
+			totalRows = -1;
+		}
+		if (totalRows < 0) {
+			channel.close();
+			return -1;
+		}
+
+		// Reading the checked rows. The open channel still reads them if the snapshot
+		// is replaced meanwhile.
+		try (DataInputStream inputStream = new DataInputStream(
+				new BufferedInputStream(Channels.newInputStream(channel), 65536))) {
+			byte[][] scratch = { new byte[256] };
+			for (int rows = 1; rows <= totalRows; rows++) {
+				String[] values = new String[headings.length];
+				for (int h = 0; h < values.length; h++) {
+					values[h] = readString(inputStream, scratch);
+				}
+				rowConsumer.accept(values);
+
+				if (rows % PROGRESS_INTERVAL == 0) {
+					progress.progress(rows, totalRows);
+				}
+			}
+		}
+		progress.progress(totalRows, totalRows);
+		return totalRows;
+	}
+
+	/**
+	 * Checks the snapshot against the source sheet and the requested headings,
+	 * and its rows against their hash
+	 * 
+	 * @param channel   The snapshot channel, left positioned at the rows
+	 * @param source    The source sheet file
+	 * @param sheetName The sheet name
+	 * @param headings  The requested headings
+	 * @return The number of rows, or -1 if the snapshot does not match
+	 * @throws IOException When reading the snapshot fails
+	 */
+	private static int check(FileChannel channel, File source, String sheetName, String[] headings)
+			throws IOException {
+
+		byte[][] scratch = { new byte[256] };
+		ByteBuffer header = ByteBuffer.allocate((int) Math.min(channel.size(), HEADER_LIMIT));
+		while (header.hasRemaining() && channel.read(header) != -1) {
+			// Reading the whole header
+		}
+		header.flip();
+		if (header.getInt() != MAGIC || header.getInt() != VERSION || header.getLong() != source.length()) {
+			return -1;
+		}
+		boolean touched = header.getLong() != source.lastModified();
+		long hash = header.getLong();
+		int totalRows = header.getInt();
+		long rowsHash = header.getLong();
+		if (totalRows < 0 || !sheetName.equals(readString(header, scratch))) {
+			return -1;
+		}
+		if (header.getInt() != headings.length) {
+			return -1;
+		}
+		String[] snapshotHeadings = new String[headings.length];
+		for (int h = 0; h < snapshotHeadings.length; h++) {
+			snapshotHeadings[h] = readString(header, scratch);
+		}
+		if (!Arrays.equals(headings, snapshotHeadings) || touched && hash != contentHash(source)) {
+			return -1;
+		}
+
+		// A truncated or corrupt snapshot is rejected before any row is consumed
+		channel.position(header.position());
+		if (rowsHash != contentHash(channel)) {
+			System.out.println("Error: Snapshot of " + source.getName() + " is corrupt.");
+			return -1;
+		}
+		channel.position(header.position());
+		return totalRows;
+	}
+
+	/**
+	 * Opens a snapshot writer for the source sheet. The rows are written to a
+	 * temporary file which replaces the snapshot only once it is committed.
+	 * 
+	 * @param filePath  The source file path
+	 * @param sheetName The sheet name
+	 * @param headings  The headings of the written values
+	 * @return The snapshot writer, or null if the snapshot cannot be written
+	 */
+	public static Writer writer(String filePath, String sheetName, String[] headings) {
+
+		File source = new File(filePath);
+		if (!source.isFile()) {
+			return null;
+		}
+
+		File temporary = new File(filePath + EXTENSION + ".tmp");
+		try {
+			// The key is taken before parsing, thus a source changed meanwhile is parsed
+			// again on the next start
+			long size = source.length();
+			long lastModified = source.lastModified();
+			long hash = contentHash(source);
+
+			CRC32 rowsHash = new CRC32();
+			DataOutputStream outputStream = new DataOutputStream(new CheckedOutputStream(
+					new BufferedOutputStream(new FileOutputStream(temporary), 65536), rowsHash));
+			outputStream.writeInt(MAGIC);
+			outputStream.writeInt(VERSION);
+			outputStream.writeLong(size);
+			outputStream.writeLong(lastModified);
+			outputStream.writeLong(hash);
+			int rowCountOffset = outputStream.size();
+			outputStream.writeInt(-1); // The row count and the rows hash are written on commit
+			outputStream.writeLong(0);
+			Writer.writeString(outputStream, sheetName);
+			outputStream.writeInt(headings.length);
+			for (String heading : headings) {
+				Writer.writeString(outputStream, heading);
+			}
+			rowsHash.reset();
+			return new Writer(outputStream, rowsHash, temporary, snapshotFile(filePath), rowCountOffset);
+		} catch (IOException ioException) {
+			System.out.println("Error: Creating snapshot of " + source.getName() + " failed.");
+			temporary.delete();
+		}
+		return null;
+	}
+
+	/**
+	 * The snapshot Writer. A failed write only discards the snapshot, it never
+	 * fails the parsing.
+	 */
+	public static class Writer {
+
+		private final DataOutputStream outputStream;
+		private final CRC32 rowsHash;
+		private final File temporary;
+		private final File snapshot;
+		private final int rowCountOffset;
+		private boolean failed;
+
+		private Writer(DataOutputStream outputStream, CRC32 rowsHash, File temporary, File snapshot,
+				int rowCountOffset) {
+			this.outputStream = outputStream;
+			this.rowsHash = rowsHash;
+			this.temporary = temporary;
+			this.snapshot = snapshot;
+			this.rowCountOffset = rowCountOffset;
+		}
+
+		/**
+		 * Writes a length prefixed UTF-8 string
+		 * 
+		 * @param outputStream The output stream
+		 * @param value        The value, may be null
+		 * @throws IOException When writing fails
+		 */
+		private static void writeString(DataOutputStream outputStream, String value) throws IOException {
+
+			if (value == null) {
+				outputStream.writeInt(-1);
+			} else {
+				byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+				outputStream.writeInt(bytes.length);
+				outputStream.write(bytes);
+			}
+		}
+
+		/**
+		 * Writes a row
+		 * 
+		 * @param values The row values
+		 */
+		public void write(String[] values) {
+
+			if (failed) {
+				return;
+			}
+			try {
+				for (String value : values) {
+					writeString(outputStream, value);
+				}
+			} catch (IOException ioException) {
+				System.out.println("Error: Writing snapshot " + snapshot.getName() + " failed.");
+				abort();
+			}
+		}
+
+		/**
+		 * Commits the snapshot
+		 * 
+		 * @param rows The number of written rows
+		 */
+		public void commit(int rows) {
+
+			if (failed) {
+				return;
+			}
+			try {
+				outputStream.close();
+				try (RandomAccessFile file = new RandomAccessFile(temporary, "rw")) {
+					file.seek(rowCountOffset);
+					file.writeInt(rows);
+					file.writeLong(rowsHash.getValue());
+				}
+				Files.move(temporary.toPath(), snapshot.toPath(), StandardCopyOption.REPLACE_EXISTING,
+						StandardCopyOption.ATOMIC_MOVE);
+			} catch (IOException ioException) {
+				System.out.println("Error: Writing snapshot " + snapshot.getName() + " failed.");
+				abort();
+			}
+		}
+
+		/**
+		 * Aborts the snapshot
+		 */
+		public void abort() {
+
+			failed = true;
+			try {
+				outputStream.close();
+			} catch (IOException ioException) {
+				// The temporary file is deleted anyway
+			}
+			temporary.delete();
+		}
+	}
+}
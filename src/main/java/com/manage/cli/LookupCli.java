@@ -0,0 +1,274 @@
+package com.manage.cli;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.bson.Document;
+import org.bson.json.JsonParseException;
+
+import com.manage.lookup.LookupEngine;
+import com.manage.mapper.DocumentMapper;
+import com.manage.model.IELTS;
+import com.manage.model.School;
+
+/**
+ * The utility LookupCli. It looks up the products of many (product type,
+ * country, name, reference) tuples without the user interface. The sheets are
+ * loaded once, and the tuples are streamed from a CSV or JSONL input to the
+ * output of the same format.
+ */
+public class LookupCli {
+
+	private static final String USAGE = "Usage: --cli [--input <file>|-] [--output <file>|-] [--format csv|jsonl]"
+			+ " [--ielts <file>] [--schools <file>]";
+
+	/**
+	 * The CSV columns of the results
+	 */
+	private static final String CSV_HEADER = "productType,country,name,reference,matches,matchedName,"
+			+ "matchedReference,amount,paymentReference";
+
+	private LookupCli() {
+		// Its a utility class. Thus the instantiation is not allowed.
+	}
+
+	/**
+	 * Runs the lookups of the command line arguments
+	 *
+	 * @param args The command line arguments
+	 */
+	public static void run(String[] args) {
+
+		String input = "-";
+		String output = "-";
+		String format = null;
+		String ieltsFilePath = "ORS.xlsx";
+		String schoolsFilePath = "schools.xlsx";
+
+		for (int i = 0; i < args.length; i++) {
+			if (args[i].equals("--cli")) {
+				continue;
+			}
+			if (i + 1 == args.length) {
+				System.out.println("Error: The option " + args[i] + " has no value.");
+				System.out.println(USAGE);
+				return;
+			}
+			switch (args[i]) {
+			case "--input":
+				input = args[++i];
+				break;
+			case "--output":
+				output = args[++i];
+				break;
+			case "--format":
+				format = args[++i];
+				break;
+			case "--ielts":
+				ieltsFilePath = args[++i];
+				break;
+			case "--schools":
+				schoolsFilePath = args[++i];
+				break;
+			default:
+				System.out.println("Error: Unknown option " + args[i] + ".");
+				System.out.println(USAGE);
+				return;
+			}
+		}
+		if (format == null) {
+			format = input.endsWith(".jsonl") || input.endsWith(".json") ? "jsonl" : "csv";
+		}
+		if (!format.equals("csv") && !format.equals("jsonl")) {
+			System.out.println("Error: Unknown format " + format + ".");
+			System.out.println(USAGE);
+			return;
+		}
+
+		// The results stream stays clean of the log lines
+		PrintStream resultStream = System.out;
+		if (output.equals("-")) {
+			System.setOut(System.err);
+		}
+
+		LookupEngine lookupEngine = LookupEngine.load(ieltsFilePath, schoolsFilePath);
+
+		try (BufferedReader reader = input.equals("-")
+				? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))
+				: Files.newBufferedReader(Paths.get(input), StandardCharsets.UTF_8);
+				Writer writer = output.equals("-")
+						? new BufferedWriter(new OutputStreamWriter(resultStream, StandardCharsets.UTF_8))
+						: Files.newBufferedWriter(Paths.get(output), StandardCharsets.UTF_8)) {
+
+			long start = System.nanoTime();
+			long lookups = lookup(lookupEngine, reader, writer, format.equals("jsonl"));
+			writer.flush();
+			long time = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+			System.out.println("Looked up " + lookups + " tuples in " + time + " ms (" + (lookups * 1000 / time)
+					+ " lookups/s)");
+		} catch (IOException exception) {
+			System.out.println("Error: The lookups failed. " + exception.getMessage());
+		}
+	}
+
+	/**
+	 * Looks up the tuples of the input, writing a result per tuple
+	 *
+	 * @param lookupEngine The lookup engine
+	 * @param reader       The input of the tuples
+	 * @param writer       The output of the results
+	 * @param jsonl        Whether the input and output are JSONL, else CSV
+	 * @return The number of tuples looked up
+	 * @throws IOException If the input cannot be read or the output written
+	 */
+	public static long lookup(LookupEngine lookupEngine, BufferedReader reader, Writer writer, boolean jsonl)
+			throws IOException {
+
+		long lookups = 0;
+		if (!jsonl) {
+			writer.write(CSV_HEADER);
+			writer.write('\n');
+		}
+
+		String line;
+		while ((line = reader.readLine()) != null) {
+			if (line.trim().isEmpty()) {
+				continue;
+			}
+
+			String[] tuple;
+			if (jsonl) {
+				try {
+					Document document = Document.parse(line);
+					tuple = new String[] { document.getString("productType"), document.getString("country"),
+							document.getString("name"), document.getString("reference") };
+				} catch (JsonParseException | ClassCastException exception) {
+					System.out.println("Error: Skipping the invalid line " + line);
+					continue;
+				}
+			} else {
+				tuple = parseCsv(line);
+				if (tuple.length < 4) {
+					System.out.println("Error: Skipping the invalid line " + line);
+					continue;
+				}
+				if (lookups == 0 && tuple[0].equalsIgnoreCase("productType")) {
+					continue; // The header
+				}
+			}
+			for (int i = 0; i < 4; i++) {
+				tuple[i] = tuple[i] == null ? "" : tuple[i].trim();
+			}
+
+			List<?> matches = lookupEngine.find(tuple[0], tuple[1], tuple[2], tuple[3]);
+			if (jsonl) {
+				writeJson(writer, tuple, matches);
+			} else {
+				writeCsv(writer, tuple, matches);
+			}
+			lookups++;
+		}
+		return lookups;
+	}
+
+	/**
+	 * Writes the CSV result of the tuple, holding the first match
+	 */
+	private static void writeCsv(Writer writer, String[] tuple, List<?> matches) throws IOException {
+
+		String[] match = new String[4];
+		if (!matches.isEmpty() && matches.get(0) instanceof IELTS) {
+			IELTS ielts = (IELTS) matches.get(0);
+			match = new String[] { ielts.getCandidateName(), ielts.getReference(), ielts.getTotal(),
+					ielts.getPaymentRef() };
+		} else if (!matches.isEmpty()) {
+			School school = (School) matches.get(0);
+			match = new String[] { (school.getFirstName() + " " + school.getLastName()).trim(),
+					school.getRegistrationId(), school.getTotalLocalFee(), school.getPaymentReference() };
+		}
+
+		StringBuilder row = new StringBuilder();
+		for (String value : tuple) {
+			appendCsv(row, value).append(',');
+		}
+		row.append(matches.size());
+		for (String value : match) {
+			appendCsv(row.append(','), value);
+		}
+		writer.write(row.append('\n').toString());
+	}
+
+	/**
+	 * Writes the JSON result of the tuple, holding every match
+	 */
+	private static void writeJson(Writer writer, String[] tuple, List<?> matches) throws IOException {
+
+		List<Document> matchDocuments = new ArrayList<>(matches.size());
+		for (Object match : matches) {
+			matchDocuments.add(DocumentMapper.map(match));
+		}
+
+		Document result = new Document("productType", tuple[0]).append("country", tuple[1]).append("name", tuple[2])
+				.append("reference", tuple[3]).append("matches", matchDocuments);
+		writer.write(result.toJson());
+		writer.write('\n');
+	}
+
+	/**
+	 * Parses the CSV line. The quoted values may hold commas and doubled quotes.
+	 *
+	 * @param line The CSV line
+	 * @return The values
+	 */
+	private static String[] parseCsv(String line) {
+
+		List<String> values = new ArrayList<>();
+		StringBuilder value = new StringBuilder();
+		boolean quoted = false;
+		for (int i = 0; i < line.length(); i++) {
+			char c = line.charAt(i);
+			if (quoted) {
+				if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+					value.append('"');
+					i++;
+				} else if (c == '"') {
+					quoted = false;
+				} else {
+					value.append(c);
+				}
+			} else if (c == '"') {
+				quoted = true;
+			} else if (c == ',') {
+				values.add(value.toString());
+				value.setLength(0);
+			} else {
+				value.append(c);
+			}
+		}
+		values.add(value.toString());
+		return values.toArray(new String[0]);
+	}
+
+	/**
+	 * Appends the CSV value, quoted if it holds a comma, a quote or a line break
+	 */
+	private static StringBuilder appendCsv(StringBuilder row, String value) {
+		if (value == null) {
+			return row;
+		}
+		if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+			return row.append(value);
+		}
+		return row.append('"').append(value.replace("\"", "\"\"")).append('"');
+	}
+}
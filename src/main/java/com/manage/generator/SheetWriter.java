@@ -0,0 +1,220 @@
+package com.manage.generator;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * The SheetWriter. It writes a workbook of a single sheet row by row. The rows
+ * are streamed to the sheet XML, and the shared strings to a temporary file
+ * appended once the sheet is complete, thus the memory is bounded whatever the
+ * number of rows. Only the first {@link #DISTINCT_STRINGS} distinct strings
+ * share an entry of the shared-strings table, as the repeated values of a
+ * report are the few countries, centres and formats seen first.
+ */
+class SheetWriter implements Closeable {
+
+	/**
+	 * The maximum number of distinct strings sharing an entry
+	 */
+	private static final int DISTINCT_STRINGS = 16384;
+
+	private static final String XML_HEADER = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n";
+	private static final String MAIN_NAMESPACE = "http://schemas.openxmlformats.org/spreadsheetml/2006/main";
+	private static final String RELATIONSHIPS = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+	private static final String PACKAGE_RELATIONSHIPS = "http://schemas.openxmlformats.org/package/2006/relationships";
+
+	private final File file;
+	private final ZipOutputStream zipOutputStream;
+	private final Writer sheetWriter;
+	private final File stringsFile;
+	private final Writer stringsWriter;
+	private final Map<String, Integer> distinctStrings = new HashMap<>();
+	private int strings;
+	private int stringReferences;
+	private int rows;
+
+	/**
+	 * Creates the writer of the workbook
+	 *
+	 * @param file      The workbook file
+	 * @param sheetName The sheet name
+	 * @param lastRow   The number of rows to be written, the header included
+	 * @param columns   The number of columns
+	 * @throws IOException If the workbook cannot be written
+	 */
+	SheetWriter(File file, String sheetName, int lastRow, int columns) throws IOException {
+
+		this.file = file;
+		this.stringsFile = File.createTempFile("shared-strings", ".xml");
+		this.stringsWriter = Files.newBufferedWriter(stringsFile.toPath(), StandardCharsets.UTF_8);
+		this.zipOutputStream = new ZipOutputStream(new BufferedOutputStream(new FileOutputStream(file), 65536));
+		this.zipOutputStream.setLevel(Deflater.BEST_SPEED); // The workbooks are written far more than they are sent
+		this.sheetWriter = new BufferedWriter(new OutputStreamWriter(zipOutputStream, StandardCharsets.UTF_8), 65536);
+
+		writeEntry("[Content_Types].xml", XML_HEADER
+				+ "<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">"
+				+ "<Default Extension=\"rels\" ContentType=\""
+				+ "application/vnd.openxmlformats-package.relationships+xml\"/>"
+				+ "<Default Extension=\"xml\" ContentType=\"application/xml\"/>"
+				+ "<Override PartName=\"/xl/workbook.xml\" ContentType=\""
+				+ "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml\"/>"
+				+ "<Override PartName=\"/xl/worksheets/sheet1.xml\" ContentType=\""
+				+ "application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml\"/>"
+				+ "<Override PartName=\"/xl/styles.xml\" ContentType=\""
+				+ "application/vnd.openxmlformats-officedocument.spreadsheetml.styles+xml\"/>"
+				+ "<Override PartName=\"/xl/sharedStrings.xml\" ContentType=\""
+				+ "application/vnd.openxmlformats-officedocument.spreadsheetml.sharedStrings+xml\"/></Types>");
+		writeEntry("_rels/.rels", XML_HEADER + "<Relationships xmlns=\"" + PACKAGE_RELATIONSHIPS + "\">"
+				+ "<Relationship Id=\"rId1\" Type=\"" + RELATIONSHIPS + "/officeDocument\" Target=\"xl/workbook.xml\"/>"
+				+ "</Relationships>");
+		writeEntry("xl/workbook.xml", XML_HEADER + "<workbook xmlns=\"" + MAIN_NAMESPACE + "\" xmlns:r=\""
+				+ RELATIONSHIPS + "\"><sheets><sheet name=\"" + escape(sheetName)
+				+ "\" sheetId=\"1\" r:id=\"rId1\"/></sheets></workbook>");
+		writeEntry("xl/_rels/workbook.xml.rels", XML_HEADER + "<Relationships xmlns=\"" + PACKAGE_RELATIONSHIPS
+				+ "\"><Relationship Id=\"rId1\" Type=\"" + RELATIONSHIPS
+				+ "/worksheet\" Target=\"worksheets/sheet1.xml\"/><Relationship Id=\"rId2\" Type=\"" + RELATIONSHIPS
+				+ "/styles\" Target=\"styles.xml\"/><Relationship Id=\"rId3\" Type=\"" + RELATIONSHIPS
+				+ "/sharedStrings\" Target=\"sharedStrings.xml\"/></Relationships>");
+		writeEntry("xl/styles.xml", XML_HEADER + "<styleSheet xmlns=\"" + MAIN_NAMESPACE + "\">"
+				+ "<fonts count=\"1\"><font><sz val=\"11\"/><name val=\"Calibri\"/></font></fonts>"
+				+ "<fills count=\"1\"><fill><patternFill patternType=\"none\"/></fill></fills>"
+				+ "<borders count=\"1\"><border/></borders>"
+				+ "<cellStyleXfs count=\"1\"><xf numFmtId=\"0\" fontId=\"0\" fillId=\"0\" borderId=\"0\"/>"
+				+ "</cellStyleXfs><cellXfs count=\"1\"><xf numFmtId=\"0\" fontId=\"0\" fillId=\"0\" borderId=\"0\""
+				+ " xfId=\"0\"/></cellXfs>"
+				+ "</styleSheet>");
+
+		zipOutputStream.putNextEntry(new ZipEntry("xl/worksheets/sheet1.xml"));
+		sheetWriter.write(XML_HEADER);
+		sheetWriter.write("<worksheet xmlns=\"" + MAIN_NAMESPACE + "\"><dimension ref=\"A1:" + column(columns - 1)
+				+ Math.max(lastRow, 1) + "\"/><sheetData>");
+	}
+
+	/**
+	 * Writes a whole entry of the workbook
+	 */
+	private void writeEntry(String name, String content) throws IOException {
+		zipOutputStream.putNextEntry(new ZipEntry(name));
+		zipOutputStream.write(content.getBytes(StandardCharsets.UTF_8));
+		zipOutputStream.closeEntry();
+	}
+
+	/**
+	 * Writes the next row. The null and empty values are left out, as they are in
+	 * the exported reports.
+	 *
+	 * @param values The row values
+	 * @throws IOException If the row cannot be written
+	 */
+	void writeRow(String[] values) throws IOException {
+
+		rows++;
+		sheetWriter.write("<row r=\"" + rows + "\">");
+		for (int c = 0; c < values.length; c++) {
+			if (values[c] != null && !values[c].isEmpty()) {
+				sheetWriter.write(
+						"<c r=\"" + column(c) + rows + "\" t=\"s\"><v>" + sharedString(values[c]) + "</v></c>");
+			}
+		}
+		sheetWriter.write("</row>");
+	}
+
+	/**
+	 * Gets the shared-strings entry of the value, adding an entry unless the
+	 * value is one of the distinct strings held
+	 */
+	private int sharedString(String value) throws IOException {
+
+		stringReferences++;
+		Integer entry = distinctStrings.get(value);
+		if (entry != null) {
+			return entry;
+		}
+		if (distinctStrings.size() < DISTINCT_STRINGS) {
+			distinctStrings.put(value, strings);
+		}
+		stringsWriter.write("<si><t xml:space=\"preserve\">" + escape(value) + "</t></si>");
+		return strings++;
+	}
+
+	/**
+	 * Completes the workbook. The shared strings are appended after the sheet.
+	 */
+	@Override
+	public void close() throws IOException {
+
+		try {
+			sheetWriter.write("</sheetData></worksheet>");
+			sheetWriter.flush();
+			zipOutputStream.closeEntry();
+
+			stringsWriter.close();
+			zipOutputStream.putNextEntry(new ZipEntry("xl/sharedStrings.xml"));
+			sheetWriter.write(XML_HEADER + "<sst xmlns=\"" + MAIN_NAMESPACE + "\" count=\"" + stringReferences
+					+ "\" uniqueCount=\"" + strings + "\">");
+			sheetWriter.flush();
+			Files.copy(stringsFile.toPath(), zipOutputStream);
+			sheetWriter.write("</sst>");
+			sheetWriter.flush();
+			zipOutputStream.closeEntry();
+			zipOutputStream.close();
+		} catch (IOException exception) {
+			zipOutputStream.close();
+			file.delete();
+			throw exception;
+		} finally {
+			stringsWriter.close();
+			stringsFile.delete();
+		}
+	}
+
+	/**
+	 * Gets the letters of the column, A for the first column
+	 */
+	private static String column(int column) {
+		StringBuilder letters = new StringBuilder(3);
+		for (int c = column + 1; c > 0; c = (c - 1) / 26) {
+			letters.insert(0, (char) ('A' + (c - 1) % 26));
+		}
+		return letters.toString();
+	}
+
+	/**
+	 * Escapes the XML text
+	 */
+	private static String escape(String text) {
+		StringBuilder escaped = null;
+		for (int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			String replacement = c == '&' ? "&amp;"
+					: c == '<' ? "&lt;" : c == '>' ? "&gt;" : c == '"' ? "&quot;" : null;
+			if (replacement == null && c < 0x20 && c != '\t' && c != '\n' && c != '\r') {
+				replacement = " "; // Not allowed in XML
+			}
+			if (replacement != null && escaped == null) {
+				escaped = new StringBuilder(text.length() + 16).append(text, 0, i);
+			}
+			if (escaped != null) {
+				if (replacement != null) {
+					escaped.append(replacement);
+				} else {
+					escaped.append(c);
+				}
+			}
+		}
+		return escaped == null ? text : escaped.toString();
+	}
+}
@@ -0,0 +1,562 @@
+package com.manage.generator;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.Consumer;
+
+/**
+ * The WorkbookGenerator. It generates realistic "Unpaid" sheets of the IELTS
+ * and Schools reports, with every column of the exported reports, thus the
+ * loading and the lookups are measured at any scale without the candidate data.
+ * The rows are generated one at a time and streamed to the workbook, thus the
+ * memory is bounded whatever the number of rows. The same settings and seed
+ * always generate the same rows.
+ */
+public class WorkbookGenerator {
+
+	private static final String USAGE = "Usage: --generate [--ielts <file>] [--schools <file>] [--rows <rows>]"
+			+ " [--countries <countries>] [--skew <exponent>] [--duplicates <rate>] [--name-length <min>-<max>]"
+			+ " [--text-length <min>-<max>] [--seed <seed>]";
+
+	/**
+	 * The headings of the IELTS report
+	 */
+	public static final String[] IELTS_HEADINGS = { "SL No", "Country", "Centre", "Location", "Venue",
+			"Candidate Name", "Reference", "Exam Format", "Exam Name", "Registration Date", "Test Date",
+			"Passport No./ID", "Payment Ref", "Amount", "Refund", "Total", "Payment Type", "Payment Method",
+			"Payment Date", "Payment Status", "Payment provider" };
+
+	/**
+	 * The headings of the Schools report. Every exam of a candidate has a block of
+	 * {@link #EXAM_HEADINGS}.
+	 */
+	public static final String[] SCHOOL_HEADINGS;
+
+	private static final String[] EXAM_HEADINGS = { "Registration Date", "Option code", "Qualification Level",
+			"Board Fee", "Local Fee", "Paid", "Cancelled", "Exported", "Refunded" };
+	private static final int EXAMS = 15;
+	private static final int FIRST_EXAM_COLUMN = 20;
+
+	static {
+		String[] candidateHeadings = { "First Name", "Last Name", "Centre Number", "School Name", "School Address 1",
+				"School Address 2", "School Address 3", "School Address 4", "School Town", "School City",
+				"School State", "School Post code", "School country", "UCI", "Candidate Number", "Centre Name",
+				"Location Name", "Previous Candidate Number", "Previous Centre Number", "Previous Session" };
+		String[] paymentHeadings = { "Total Board Fee (?)", "Total Local Fee ($)",
+				"Total Local Fee Paid (B2C Candidate)", "Total Local Fee Paid (B2B Candidate)", "Payment Method",
+				"No of Exams", "Registration ID", "Payment Reference", "Payment Status", "Payment Date",
+				"Payment Slip Number" };
+
+		SCHOOL_HEADINGS = Arrays.copyOf(candidateHeadings,
+				candidateHeadings.length + EXAMS * EXAM_HEADINGS.length + paymentHeadings.length);
+		for (int exam = 0; exam < EXAMS; exam++) {
+			System.arraycopy(EXAM_HEADINGS, 0, SCHOOL_HEADINGS, FIRST_EXAM_COLUMN + exam * EXAM_HEADINGS.length,
+					EXAM_HEADINGS.length);
+		}
+		System.arraycopy(paymentHeadings, 0, SCHOOL_HEADINGS, FIRST_EXAM_COLUMN + EXAMS * EXAM_HEADINGS.length,
+				paymentHeadings.length);
+	}
+
+	private static final String[] COUNTRIES = { "Sri Lanka", "India", "Bangladesh", "Nepal", "Pakistan", "Maldives",
+			"Bhutan", "Myanmar", "Thailand", "Malaysia", "Indonesia", "Vietnam", "Philippines", "Singapore",
+			"Cambodia", "Laos", "China", "Japan", "Korea", "Mongolia", "Kenya", "Uganda", "Tanzania", "Rwanda",
+			"Ghana", "Nigeria", "Ethiopia", "Zambia", "Egypt", "Jordan", "Oman", "Qatar" };
+	private static final String[] SYLLABLES = { "sa", "na", "ka", "ri", "th", "an", "ma", "la", "de", "ni", "ra",
+			"ya", "si", "ku", "ha", "wi", "pe", "go", "mo", "ta", "ja", "ru", "in", "el" };
+	private static final String[] WORDS = { "Public", "Library", "Hall", "College", "Road", "Centre", "Lane",
+			"International", "School", "Main", "Street", "Temple", "Park", "Avenue", "Hotel", "Campus" };
+	private static final String[] LEVELS = { "International GCSE", "International Advanced Level",
+			"Cambridge Primary", "A Level", "O Level" };
+	private static final String[] PAYMENT_METHODS = { "Awaiting Payment", "Manual Card", "Bank Transfer" };
+
+	/**
+	 * The number of recent keys of which the duplicates are picked
+	 */
+	private static final int RECENT_KEYS = 1024;
+
+	private int rows = 10000;
+	private int countries = 12;
+	private double skew = 1;
+	private double duplicateRate = 0.01;
+	private int minNameLength = 8;
+	private int maxNameLength = 24;
+	private int minTextLength = 10;
+	private int maxTextLength = 40;
+	private long seed = 20191012L;
+
+	/**
+	 * Runs the generator of the command line arguments
+	 *
+	 * @param args The command line arguments
+	 */
+	public static void run(String[] args) {
+
+		WorkbookGenerator generator = new WorkbookGenerator();
+		String ieltsFilePath = null;
+		String schoolsFilePath = null;
+
+		try {
+			for (int i = 0; i < args.length; i++) {
+				if (args[i].equals("--generate")) {
+					continue;
+				}
+				if (i + 1 == args.length) {
+					System.out.println("Error: The option " + args[i] + " has no value.");
+					System.out.println(USAGE);
+					return;
+				}
+				String value = args[++i];
+				switch (args[i - 1]) {
+				case "--ielts":
+					ieltsFilePath = value;
+					break;
+				case "--schools":
+					schoolsFilePath = value;
+					break;
+				case "--rows":
+					generator.setRows(Integer.parseInt(value));
+					break;
+				case "--countries":
+					generator.setCountries(Integer.parseInt(value));
+					break;
+				case "--skew":
+					generator.setSkew(Double.parseDouble(value));
+					break;
+				case "--duplicates":
+					generator.setDuplicateRate(Double.parseDouble(value));
+					break;
+				case "--name-length":
+					int[] nameLength = parseRange(value);
+					generator.setNameLength(nameLength[0], nameLength[1]);
+					break;
+				case "--text-length":
+					int[] textLength = parseRange(value);
+					generator.setTextLength(textLength[0], textLength[1]);
+					break;
+				case "--seed":
+					generator.setSeed(Long.parseLong(value));
+					break;
+				default:
+					System.out.println("Error: Unknown option " + args[i - 1] + ".");
+					System.out.println(USAGE);
+					return;
+				}
+			}
+		} catch (IllegalArgumentException exception) {
+			System.out.println("Error: " + exception.getMessage());
+			System.out.println(USAGE);
+			return;
+		}
+		if (ieltsFilePath == null && schoolsFilePath == null) {
+			System.out.println("Error: No workbook to generate.");
+			System.out.println(USAGE);
+			return;
+		}
+
+		try {
+			long start = System.nanoTime();
+			if (ieltsFilePath != null) {
+				generator.writeIELTS(new File(ieltsFilePath));
+			}
+			if (schoolsFilePath != null) {
+				generator.writeSchools(new File(schoolsFilePath));
+			}
+			System.out.println("Generated " + generator.getRows() + " rows per sheet in "
+					+ (System.nanoTime() - start) / 1_000_000 + " ms");
+		} catch (IOException exception) {
+			System.out.println("Error: Generating the workbooks failed. " + exception.getMessage());
+		}
+	}
+
+	/**
+	 * Parses a range of the form min-max
+	 */
+	private static int[] parseRange(String range) {
+		String[] bounds = range.split("-");
+		if (bounds.length != 2) {
+			throw new IllegalArgumentException("The range " + range + " is invalid.");
+		}
+		return new int[] { Integer.parseInt(bounds[0].trim()), Integer.parseInt(bounds[1].trim()) };
+	}
+
+	/**
+	 * Writes the IELTS workbook
+	 *
+	 * @param file The workbook file
+	 * @throws IOException If the workbook cannot be written
+	 */
+	public void writeIELTS(File file) throws IOException {
+		write(file, IELTS_HEADINGS, this::generateIELTS);
+	}
+
+	/**
+	 * Writes the Schools workbook
+	 *
+	 * @param file The workbook file
+	 * @throws IOException If the workbook cannot be written
+	 */
+	public void writeSchools(File file) throws IOException {
+		write(file, SCHOOL_HEADINGS, this::generateSchools);
+	}
+
+	/**
+	 * Writes the "Unpaid" sheet of the headings and the generated rows
+	 */
+	private void write(File file, String[] headings, Consumer<Consumer<String[]>> generate) throws IOException {
+
+		try (SheetWriter sheetWriter = new SheetWriter(file, "Unpaid", rows + 1, headings.length)) {
+			sheetWriter.writeRow(headings);
+			generate.accept(values -> {
+				try {
+					sheetWriter.writeRow(values);
+				} catch (IOException exception) {
+					throw new UncheckedIOException(exception);
+				}
+			});
+		} catch (UncheckedIOException exception) {
+			throw exception.getCause();
+		}
+	}
+
+	/**
+	 * Generates the IELTS rows, in the order of {@link #IELTS_HEADINGS}
+	 *
+	 * @param rowConsumer The row values consumer
+	 */
+	public void generateIELTS(Consumer<String[]> rowConsumer) {
+
+		Random random = new Random(seed);
+		double[] countryWeights = countryWeights();
+		String[][] recentKeys = new String[RECENT_KEYS][];
+
+		for (int row = 0; row < rows; row++) {
+			String[] key = duplicateKey(random, recentKeys, row);
+			if (key == null) {
+				int country = pick(random, countryWeights);
+				key = new String[] { COUNTRIES[country % COUNTRIES.length] + suffix(country),
+						name(random, minNameLength, maxNameLength), "A3-" + countryCode(country) + "001-S-"
+								+ referenceDigits(row) };
+				recentKeys[row % RECENT_KEYS] = key;
+			}
+
+			int amount = 15000 + random.nextInt(150) * 100;
+			int refund = random.nextInt(10) == 0 ? amount / 5 : 0;
+			boolean computer = random.nextInt(4) == 0;
+			rowConsumer.accept(new String[] { String.valueOf(row + 1), key[0], "British Council " + word(random),
+					word(random), text(random), key[1], key[2], computer ? "Computer Delivered" : "Paper Based",
+					computer ? "Computer Delivered" : "Paper Based", date(random), date(random),
+					String.valueOf(10_000_000 + random.nextInt(90_000_000)), "", amount + ".00", refund + ".00",
+					(amount - refund) + ".00", "Offline", "Awaiting Payment", "", "Unpaid", "" });
+		}
+	}
+
+	/**
+	 * Generates the School rows, in the order of {@link #SCHOOL_HEADINGS}
+	 *
+	 * @param rowConsumer The row values consumer
+	 */
+	public void generateSchools(Consumer<String[]> rowConsumer) {
+
+		Random random = new Random(seed);
+		double[] countryWeights = countryWeights();
+		String[][] recentKeys = new String[RECENT_KEYS][];
+
+		for (int row = 0; row < rows; row++) {
+			String[] key = duplicateKey(random, recentKeys, row);
+			if (key == null) {
+				int country = pick(random, countryWeights);
+				String name = name(random, minNameLength, maxNameLength);
+				String reference = "A2" + countryCode(country) + "-G000000000" + referenceDigits(row);
+				// The first and last names are kept apart, thus a duplicate repeats both
+				int space = name.indexOf(' ');
+				key = new String[] { COUNTRIES[country % COUNTRIES.length] + suffix(country),
+						space < 0 ? name(random, minNameLength / 2, maxNameLength / 2) : name.substring(0, space),
+						space < 0 ? name : name.substring(space + 1), reference };
+				recentKeys[row % RECENT_KEYS] = key;
+			}
+
+			String[] values = new String[SCHOOL_HEADINGS.length];
+			values[0] = key[1];
+			values[1] = key[2];
+			values[3] = text(random);
+			values[4] = text(random);
+			values[8] = word(random);
+			values[12] = key[0];
+			values[14] = "0";
+			values[15] = "British Council " + word(random);
+			values[16] = word(random);
+
+			// The exams
+			int exams = 1 + random.nextInt(6);
+			double boardFees = 0;
+			int localFees = 0;
+			String registrationDate = date(random);
+			for (int exam = 0; exam < exams; exam++) {
+				int column = FIRST_EXAM_COLUMN + exam * EXAM_HEADINGS.length;
+				double boardFee = random.nextInt(4) == 0 ? 0 : 5000 + random.nextInt(80) * 100.1;
+				int localFee = boardFee == 0 ? 0 : 10000 + random.nextInt(14) * 500;
+				values[column] = registrationDate;
+				values[column + 1] = new String(new char[] { (char) ('W' + random.nextInt(3)),
+						(char) ('A' + random.nextInt(26)), (char) ('A' + random.nextInt(26)),
+						(char) ('0' + random.nextInt(2)), (char) ('1' + random.nextInt(9)) });
+				values[column + 2] = LEVELS[random.nextInt(LEVELS.length)];
+				values[column + 3] = String.valueOf(Math.round(boardFee * 10) / 10.0);
+				values[column + 4] = String.valueOf(localFee);
+				values[column + 5] = "No";
+				values[column + 6] = "No";
+				values[column + 7] = "No";
+				values[column + 8] = "No";
+				boardFees += boardFee;
+				localFees += localFee;
+			}
+
+			int column = FIRST_EXAM_COLUMN + EXAMS * EXAM_HEADINGS.length;
+			values[column] = String.valueOf(Math.round(boardFees * 10) / 10.0);
+			values[column + 1] = String.valueOf(localFees);
+			values[column + 2] = "0";
+			values[column + 3] = "0";
+			values[column + 4] = PAYMENT_METHODS[random.nextInt(PAYMENT_METHODS.length)];
+			values[column + 5] = String.valueOf(exams);
+			values[column + 6] = key[3];
+			values[column + 8] = "Unpaid";
+			rowConsumer.accept(values);
+		}
+	}
+
+	/**
+	 * Gets the weights of the countries. The weight of the country of rank r is
+	 * 1/r^skew, thus a skew of 0 spreads the rows evenly.
+	 */
+	private double[] countryWeights() {
+		double[] weights = new double[countries];
+		double total = 0;
+		for (int country = 0; country < countries; country++) {
+			total += 1 / Math.pow(country + 1, skew);
+			weights[country] = total;
+		}
+		for (int country = 0; country < countries; country++) {
+			weights[country] /= total;
+		}
+		return weights;
+	}
+
+	/**
+	 * Picks an index of the cumulative weights
+	 */
+	private static int pick(Random random, double[] cumulativeWeights) {
+		int index = Arrays.binarySearch(cumulativeWeights, random.nextDouble());
+		return Math.min(index < 0 ? -index - 1 : index, cumulativeWeights.length - 1);
+	}
+
+	/**
+	 * Picks the key of a recent row, at the duplicate rate
+	 *
+	 * @return The country, names and reference of the row, or null if the row is
+	 *         not a duplicate
+	 */
+	private String[] duplicateKey(Random random, String[][] recentKeys, int row) {
+		if (row == 0 || random.nextDouble() >= duplicateRate) {
+			return null;
+		}
+		return recentKeys[random.nextInt(Math.min(row, RECENT_KEYS))];
+	}
+
+	/**
+	 * Gets the suffix telling apart the countries beyond the known ones
+	 */
+	private static String suffix(int country) {
+		return country < COUNTRIES.length ? "" : " " + (country / COUNTRIES.length + 1);
+	}
+
+	/**
+	 * Gets the two letter code of the country
+	 */
+	private static String countryCode(int country) {
+		return "" + (char) ('A' + country / 26 % 26) + (char) ('A' + country % 26);
+	}
+
+	/**
+	 * Gets the reference digits of the row. The digits are unique for the first 10
+	 * million rows, and not in the row order.
+	 *
+	 * @param row The row
+	 * @return The 7 reference digits
+	 */
+	public static String referenceDigits(int row) {
+		String digits = String.valueOf(10_000_000L + (row * 7919L + 1234567L) % 10_000_000L);
+		return digits.substring(1);
+	}
+
+	/**
+	 * Generates a name of capitalized words
+	 */
+	private static String name(Random random, int minLength, int maxLength) {
+		int length = minLength + random.nextInt(Math.max(1, maxLength - minLength + 1));
+		StringBuilder name = new StringBuilder(length + 4);
+		int wordStart = 0;
+		while (name.length() < length) {
+			if (name.length() - wordStart >= 4 + random.nextInt(6) && name.length() + 3 < length) {
+				name.append(' ');
+				wordStart = name.length();
+			}
+			String syllable = SYLLABLES[random.nextInt(SYLLABLES.length)];
+			name.append(name.length() == wordStart ? Character.toUpperCase(syllable.charAt(0)) + syllable.substring(1)
+					: syllable);
+		}
+		return name.toString();
+	}
+
+	/**
+	 * Generates a free text, such as a venue or an address
+	 */
+	private String text(Random random) {
+		int length = minTextLength + random.nextInt(Math.max(1, maxTextLength - minTextLength + 1));
+		StringBuilder text = new StringBuilder(length + 16);
+		while (text.length() < length) {
+			text.append(text.length() == 0 ? "" : " ").append(random.nextBoolean() ? word(random)
+					: name(random, 4, 8));
+		}
+		return text.toString();
+	}
+
+	/**
+	 * Picks a word
+	 */
+	private static String word(Random random) {
+		return WORDS[random.nextInt(WORDS.length)];
+	}
+
+	/**
+	 * Generates a date of 2019
+	 */
+	private static String date(Random random) {
+		int day = 1 + random.nextInt(28);
+		int month = 1 + random.nextInt(12);
+		return new StringBuilder(10).append(day < 10 ? "0" : "").append(day).append(month < 10 ? "/0" : "/")
+				.append(month).append("/2019").toString();
+	}
+
+	public int getRows() {
+		return rows;
+	}
+
+	/**
+	 * Sets the number of rows of every sheet
+	 *
+	 * @param rows The number of rows
+	 */
+	public void setRows(int rows) {
+		if (rows < 0) {
+			throw new IllegalArgumentException("The rows cannot be negative.");
+		}
+		this.rows = rows;
+	}
+
+	public int getCountries() {
+		return countries;
+	}
+
+	/**
+	 * Sets the number of countries. Beyond the known countries, the names are
+	 * numbered.
+	 *
+	 * @param countries The number of countries
+	 */
+	public void setCountries(int countries) {
+		if (countries < 1 || countries > 26 * 26) {
+			throw new IllegalArgumentException("The countries must be between 1 and " + 26 * 26 + ".");
+		}
+		this.countries = countries;
+	}
+
+	public double getSkew() {
+		return skew;
+	}
+
+	/**
+	 * Sets the skew of the countries, the exponent of their Zipf distribution. A
+	 * skew of 0 spreads the rows evenly, and a skew of 1 gives the first country
+	 * twice the rows of the second one.
+	 *
+	 * @param skew The skew
+	 */
+	public void setSkew(double skew) {
+		if (skew < 0) {
+			throw new IllegalArgumentException("The skew cannot be negative.");
+		}
+		this.skew = skew;
+	}
+
+	public double getDuplicateRate() {
+		return duplicateRate;
+	}
+
+	/**
+	 * Sets the rate of the rows repeating the country, name and reference of a
+	 * recent row
+	 *
+	 * @param duplicateRate The duplicate rate, from 0 to 1
+	 */
+	public void setDuplicateRate(double duplicateRate) {
+		if (duplicateRate < 0 || duplicateRate > 1) {
+			throw new IllegalArgumentException("The duplicate rate must be between 0 and 1.");
+		}
+		this.duplicateRate = duplicateRate;
+	}
+
+	public int getMinNameLength() {
+		return minNameLength;
+	}
+
+	public int getMaxNameLength() {
+		return maxNameLength;
+	}
+
+	/**
+	 * Sets the length range of the candidate names
+	 *
+	 * @param minNameLength The minimum length
+	 * @param maxNameLength The maximum length
+	 */
+	public void setNameLength(int minNameLength, int maxNameLength) {
+		if (minNameLength < 1 || maxNameLength < minNameLength) {
+			throw new IllegalArgumentException("The name length range is invalid.");
+		}
+		this.minNameLength = minNameLength;
+		this.maxNameLength = maxNameLength;
+	}
+
+	public int getMinTextLength() {
+		return minTextLength;
+	}
+
+	public int getMaxTextLength() {
+		return maxTextLength;
+	}
+
+	/**
+	 * Sets the length range of the free texts, such as the venues and the
+	 * addresses
+	 *
+	 * @param minTextLength The minimum length
+	 * @param maxTextLength The maximum length
+	 */
+	public void setTextLength(int minTextLength, int maxTextLength) {
+		if (minTextLength < 1 || maxTextLength < minTextLength) {
+			throw new IllegalArgumentException("The text length range is invalid.");
+		}
+		this.minTextLength = minTextLength;
+		this.maxTextLength = maxTextLength;
+	}
+
+	public long getSeed() {
+		return seed;
+	}
+
+	public void setSeed(long seed) {
+		this.seed = seed;
+	}
+}
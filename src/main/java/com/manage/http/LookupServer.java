@@ -0,0 +1,289 @@
+package com.manage.http;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.imageio.ImageIO;
+
+import org.bson.Document;
+
+import com.manage.loader.LoadListener;
+import com.manage.loader.LoadResult;
+import com.manage.loader.SheetLoader;
+import com.manage.loader.SheetWatcher;
+import com.manage.lookup.LookupEngine;
+import com.manage.mapper.DocumentMapper;
+import com.manage.model.IELTS;
+import com.manage.model.School;
+import com.manage.util.BarCodeGenerator;
+import com.manage.util.SlipText;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * The LookupServer. It serves the IELTS and School lookups and the bar-code
+ * slips over HTTP, thus many desks share the loaded sheets. Every request runs
+ * on its own thread and reads the current indexes without locking, as an index
+ * is never modified once built and a reload swaps it as a whole.
+ * <ul>
+ * <li>GET /ielts?country=..&amp;name=..&amp;reference=.. - The matching IELTS
+ * records as JSON</li>
+ * <li>GET /school?country=..&amp;name=..&amp;reference=.. - The matching School
+ * records as JSON</li>
+ * <li>GET /barcode?product=IELTS|School&amp;country=..&amp;name=..&amp;reference=..
+ * - The slip of the first match as PNG</li>
+ * </ul>
+ * An empty name searches by the reference alone, and an empty country searches
+ * every country.
+ */
+public class LookupServer {
+
+	private static final String USAGE = "Usage: --http [--port <port>] [--ielts <file>] [--schools <file>]";
+
+	private final HttpServer httpServer;
+	private final LookupEngine lookupEngine;
+
+	/**
+	 * Creates the server
+	 *
+	 * @param port The port
+	 * @throws IOException If the port cannot be bound
+	 */
+	public LookupServer(int port) throws IOException {
+		this(port, new LookupEngine());
+	}
+
+	/**
+	 * Creates the server of the lookup engine
+	 *
+	 * @param port         The port, or 0 for any free port
+	 * @param lookupEngine The lookup engine
+	 * @throws IOException If the port cannot be bound
+	 */
+	LookupServer(int port, LookupEngine lookupEngine) throws IOException {
+
+		this.lookupEngine = lookupEngine;
+
+		AtomicInteger threads = new AtomicInteger();
+		ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+			Thread thread = new Thread(runnable, "http-lookup-" + threads.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+
+		httpServer = HttpServer.create(new InetSocketAddress(port), 0);
+		httpServer.setExecutor(executor);
+		httpServer.createContext("/ielts", exchange -> handle(exchange, LookupEngine.IELTS_PRODUCT, false));
+		httpServer.createContext("/school", exchange -> handle(exchange, LookupEngine.SCHOOL_PRODUCT, false));
+		httpServer.createContext("/barcode", exchange -> handle(exchange, null, true));
+	}
+
+	/**
+	 * Runs the server of the command line arguments until the process ends
+	 *
+	 * @param args The command line arguments
+	 */
+	public static void run(String[] args) {
+
+		int port = 8080;
+		String ieltsFilePath = "ORS.xlsx";
+		String schoolsFilePath = "schools.xlsx";
+
+		for (int i = 0; i < args.length; i++) {
+			if (args[i].equals("--http")) {
+				continue;
+			}
+			if (i + 1 == args.length) {
+				System.out.println("Error: The option " + args[i] + " has no value.");
+				System.out.println(USAGE);
+				return;
+			}
+			switch (args[i]) {
+			case "--port":
+				try {
+					port = Integer.parseInt(args[++i]);
+				} catch (NumberFormatException exception) {
+					System.out.println("Error: The port " + args[i] + " is invalid.");
+					return;
+				}
+				break;
+			case "--ielts":
+				ieltsFilePath = args[++i];
+				break;
+			case "--schools":
+				schoolsFilePath = args[++i];
+				break;
+			default:
+				System.out.println("Error: Unknown option " + args[i] + ".");
+				System.out.println(USAGE);
+				return;
+			}
+		}
+
+		try {
+			LookupServer lookupServer = new LookupServer(port);
+			lookupServer.load(ieltsFilePath, schoolsFilePath);
+			lookupServer.start();
+			System.out.println("Serving lookups on port " + port);
+		} catch (IOException exception) {
+			System.out.println("Error: The lookup server could not be started. " + exception.getMessage());
+		}
+	}
+
+	/**
+	 * Loads the sheets, and reloads them once changed
+	 *
+	 * @param ieltsFilePath   The IELTS sheet path
+	 * @param schoolsFilePath The Schools sheet path
+	 */
+	public void load(String ieltsFilePath, String schoolsFilePath) {
+
+		LoadListener indexUpdater = new LoadListener() {
+
+			@Override
+			public void ieltsLoaded(List<IELTS> ieltsRecords) {
+				lookupEngine.updateIELTS(ieltsRecords);
+			}
+
+			@Override
+			public void schoolsLoaded(List<School> schoolRecords) {
+				lookupEngine.updateSchools(schoolRecords);
+			}
+		};
+
+		LoadResult loadResult = SheetLoader.load(ieltsFilePath, schoolsFilePath);
+		indexUpdater.ieltsLoaded(loadResult.getIeltsRecords());
+		indexUpdater.schoolsLoaded(loadResult.getSchoolRecords());
+		try {
+			SheetWatcher.watch(ieltsFilePath, schoolsFilePath, indexUpdater);
+		} catch (IOException ioException) {
+			System.out.println("Error: Watching the reports failed.");
+		}
+	}
+
+	/**
+	 * Starts serving the requests
+	 */
+	public void start() {
+		httpServer.start();
+	}
+
+	/**
+	 * Gets the bound port
+	 *
+	 * @return The port
+	 */
+	int getPort() {
+		return httpServer.getAddress().getPort();
+	}
+
+	/**
+	 * Stops serving the requests
+	 *
+	 * @param delay The seconds to wait for the running requests
+	 */
+	public void stop(int delay) {
+		httpServer.stop(delay);
+	}
+
+	/**
+	 * Handles a lookup or bar-code request
+	 *
+	 * @param exchange    The exchange
+	 * @param productType The product type, or null to take it from the query
+	 * @param barcode     Whether the slip of the first match is requested
+	 */
+	private void handle(HttpExchange exchange, String productType, boolean barcode) throws IOException {
+
+		try {
+			if (!exchange.getRequestMethod().equals("GET")) {
+				send(exchange, 405, "application/json", error("Only GET is supported."));
+				return;
+			}
+
+			Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+			String product = productType != null ? productType : query.getOrDefault("product", LookupEngine.IELTS_PRODUCT);
+			String country = query.get("country");
+			String name = query.getOrDefault("name", "").trim();
+			String reference = query.getOrDefault("reference", "").trim();
+			if (reference.equals("")) {
+				send(exchange, 400, "application/json", error("The reference cannot be empty."));
+				return;
+			}
+
+			List<?> matches = lookupEngine.find(product, country, name, reference);
+			if (!barcode) {
+				List<Document> matchDocuments = new ArrayList<>(matches.size());
+				for (Object match : matches) {
+					matchDocuments.add(DocumentMapper.map(match));
+				}
+				send(exchange, 200, "application/json",
+						new Document("matches", matchDocuments).toJson().getBytes(StandardCharsets.UTF_8));
+			} else if (matches.isEmpty()) {
+				send(exchange, 404, "application/json", error("No information found!!"));
+			} else {
+				Object match = matches.get(0);
+				String slipText = match instanceof IELTS ? SlipText.of((IELTS) match) : SlipText.of((School) match);
+				ByteArrayOutputStream png = new ByteArrayOutputStream(16 * 1024);
+				ImageIO.write(BarCodeGenerator.generateBarCode(SlipText.barcodeData(reference), slipText), "png",
+						png);
+				send(exchange, 200, "image/png", png.toByteArray());
+			}
+		} catch (RuntimeException exception) {
+			System.out.println("Error: The request " + exchange.getRequestURI() + " failed.");
+			send(exchange, 500, "application/json", error("The request failed."));
+		} finally {
+			exchange.close();
+		}
+	}
+
+	/**
+	 * Sends the response
+	 */
+	private static void send(HttpExchange exchange, int status, String contentType, byte[] body) throws IOException {
+		exchange.getResponseHeaders().set("Content-Type",
+				contentType.startsWith("application/json") ? contentType + "; charset=utf-8" : contentType);
+		exchange.sendResponseHeaders(status, body.length);
+		try (OutputStream responseBody = exchange.getResponseBody()) {
+			responseBody.write(body);
+		}
+	}
+
+	/**
+	 * Gets the JSON body of the error
+	 */
+	private static byte[] error(String message) {
+		return new Document("error", message).toJson().getBytes(StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Parses the URL encoded query
+	 */
+	private static Map<String, String> parseQuery(String rawQuery) throws UnsupportedEncodingException {
+
+		Map<String, String> query = new HashMap<>();
+		if (rawQuery == null) {
+			return query;
+		}
+		for (String parameter : rawQuery.split("&")) {
+			int separator = parameter.indexOf('=');
+			if (separator > 0) {
+				query.put(URLDecoder.decode(parameter.substring(0, separator), "UTF-8"),
+						URLDecoder.decode(parameter.substring(separator + 1), "UTF-8"));
+			}
+		}
+		return query;
+	}
+}
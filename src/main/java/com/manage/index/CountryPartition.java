@@ -0,0 +1,226 @@
+package com.manage.index;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The CountryPartition. It holds the records of a single country. Its lookup
+ * structures are built the first time the country is queried, thus a country
+ * never queried costs no more than the list of its records. A partition of
+ * unchanged rows is carried over to the reloaded index, along with its lookup
+ * structures once built.
+ *
+ * @param <T> The record type
+ */
+class CountryPartition<T> {
+
+	private final RecordType<T> type;
+	private final List<T> records;
+	private final long fingerprint;
+	private final DuplicateStats duplicates;
+	private volatile Lookup<T> lookup;
+
+	/**
+	 * Creates the partition. The duplicates are counted unless the rows are the
+	 * same as the previous partition rows.
+	 *
+	 * @param type     The record type
+	 * @param records  The records of the country
+	 * @param previous The previous partition of the country, or null
+	 */
+	CountryPartition(RecordType<T> type, List<T> records, CountryPartition<T> previous) {
+		this.type = type;
+		this.records = records;
+
+		// The order independent fingerprint of the rows
+		long rowsFingerprint = records.size();
+		for (T record : records) {
+			rowsFingerprint += mix(type.fingerprint(record));
+		}
+		this.fingerprint = rowsFingerprint;
+		this.duplicates = previous != null && previous.fingerprint == rowsFingerprint ? previous.duplicates
+				: DuplicateStats.count(type, records);
+	}
+
+	/**
+	 * Spreads the bits of the row fingerprint, thus the sum of similar rows does
+	 * not cancel out
+	 */
+	private static long mix(long value) {
+		value = (value ^ (value >>> 33)) * 0xff51afd7ed558ccdL;
+		value = (value ^ (value >>> 33)) * 0xc4ceb9fe1a85ec53L;
+		return value ^ (value >>> 33);
+	}
+
+	/**
+	 * Gets the records of the country
+	 *
+	 * @return The records, in the sheet order
+	 */
+	List<T> getRecords() {
+		return records;
+	}
+
+	/**
+	 * Gets the fingerprint of the rows. Partitions of the same rows, in any order,
+	 * share the fingerprint.
+	 *
+	 * @return The fingerprint
+	 */
+	long getFingerprint() {
+		return fingerprint;
+	}
+
+	/**
+	 * Gets the duplicates of the rows
+	 *
+	 * @return The duplicate stats
+	 */
+	DuplicateStats getDuplicates() {
+		return duplicates;
+	}
+
+	/**
+	 * Gets the lookup structures, building them on the first call
+	 *
+	 * @return The lookup structures
+	 */
+	Lookup<T> lookup() {
+		Lookup<T> built = lookup;
+		if (built == null) {
+			synchronized (this) {
+				built = lookup;
+				if (built == null) {
+					built = new Lookup<>(type, records);
+					lookup = built;
+				}
+			}
+		}
+		return built;
+	}
+
+	/**
+	 * The lookup structures of a partition. Every row has a slot, and a key holds
+	 * its first row. The slots of the keys shared by more than one row are held
+	 * apart, thus a key of a single row costs no more than a map entry.
+	 *
+	 * @param <T> The record type
+	 */
+	static class Lookup<T> {
+
+		private final HashMap<RecordKey, T> records;
+		private final HashMap<RecordKey, int[]> duplicateSlots;
+		private final List<T> slots;
+		private final ReferenceIndex referenceIndex;
+		private final NameIndex nameIndex;
+
+		private Lookup(RecordType<T> type, List<T> partitionRecords) {
+
+			slots = partitionRecords;
+			records = new HashMap<>(Math.max(16, slots.size() * 4 / 3 + 1));
+			duplicateSlots = new HashMap<>();
+			RecordKey[] keys = new RecordKey[slots.size()];
+			int[] suffixes = new int[slots.size()];
+			String[] names = new String[slots.size()];
+
+			// Counting the rows of the shared keys
+			HashMap<RecordKey, int[]> keyRows = new HashMap<>();
+			for (int slot = 0; slot < slots.size(); slot++) {
+				T record = slots.get(slot);
+				keys[slot] = type.key(record);
+				if (records.putIfAbsent(keys[slot], record) != null) {
+					keyRows.computeIfAbsent(keys[slot], key -> new int[] { 1 })[0]++;
+				}
+				suffixes[slot] = keys[slot].getReference();
+				names[slot] = type.name(record);
+			}
+
+			// Collecting the slots of the shared keys in the sheet order, into arrays of the exact size
+			if (!keyRows.isEmpty()) {
+				for (Map.Entry<RecordKey, int[]> entry : keyRows.entrySet()) {
+					duplicateSlots.put(entry.getKey(), new int[entry.getValue()[0]]);
+					entry.getValue()[0] = 0;
+				}
+				for (int slot = 0; slot < slots.size(); slot++) {
+					int[] collected = keyRows.get(keys[slot]);
+					if (collected != null) {
+						duplicateSlots.get(keys[slot])[collected[0]++] = slot;
+					}
+				}
+			}
+
+			referenceIndex = new ReferenceIndex(suffixes);
+			nameIndex = new NameIndex(names);
+		}
+
+		/**
+		 * Gets the first record of the key
+		 *
+		 * @param key The lookup key, or a probe
+		 * @return The record, or null if not found
+		 */
+		T get(Object key) {
+			return records.get(key);
+		}
+
+		/**
+		 * Gets every record of the key
+		 *
+		 * @param key The lookup key, or a probe
+		 * @return The records, in the sheet order
+		 */
+		List<T> getAll(Object key) {
+
+			T record = records.get(key);
+			if (record == null) {
+				return Collections.emptyList();
+			}
+			int[] keySlots = duplicateSlots.isEmpty() ? null : duplicateSlots.get(key);
+			if (keySlots == null) {
+				return Collections.singletonList(record);
+			}
+
+			List<T> matches = new ArrayList<>(keySlots.length);
+			for (int slot : keySlots) {
+				matches.add(slots.get(slot));
+			}
+			return matches;
+		}
+
+		/**
+		 * Finds the records of the reference suffix
+		 *
+		 * @param referenceSuffix The reference suffix
+		 * @param matches         The list the matches are added to
+		 */
+		void findByReference(int referenceSuffix, List<T> matches) {
+			for (int slot = referenceIndex.first(referenceSuffix); slot >= 0; slot = referenceIndex.next(slot)) {
+				matches.add(slots.get(slot));
+			}
+		}
+
+		/**
+		 * Searches the records of the most similar names
+		 *
+		 * @param name  The searched name
+		 * @param limit The maximum number of records
+		 * @return The matching records, the most similar first
+		 */
+		List<T> searchByName(String name, int limit) {
+
+			int[] matchingSlots = nameIndex.search(name, limit);
+			if (matchingSlots.length == 0) {
+				return Collections.emptyList();
+			}
+
+			List<T> matches = new ArrayList<>(matchingSlots.length);
+			for (int slot : matchingSlots) {
+				matches.add(slots.get(slot));
+			}
+			return matches;
+		}
+	}
+}
@@ -0,0 +1,77 @@
+package com.manage.index;
+
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * The DuplicateStats. It counts the keys shared by more than one row, which
+ * are kept as a single entry holding every row.
+ */
+public class DuplicateStats {
+
+	private int keys;
+	private int rows;
+	private int maxRows;
+
+	/**
+	 * Counts the duplicates of the records
+	 * 
+	 * @param type    The record type
+	 * @param records The records
+	 * @return The duplicate stats
+	 */
+	static <T> DuplicateStats count(RecordType<T> type, List<T> records) {
+
+		HashMap<RecordKey, Integer> rowsByKey = new HashMap<>(Math.max(16, records.size() * 4 / 3 + 1));
+		for (T record : records) {
+			rowsByKey.merge(type.key(record), 1, Integer::sum);
+		}
+
+		DuplicateStats stats = new DuplicateStats();
+		for (int keyRows : rowsByKey.values()) {
+			if (keyRows > 1) {
+				stats.keys++;
+				stats.rows += keyRows;
+				stats.maxRows = Math.max(stats.maxRows, keyRows);
+			}
+		}
+		return stats;
+	}
+
+	/**
+	 * Adds the duplicates of another set of records
+	 * 
+	 * @param stats The duplicate stats to add
+	 */
+	void add(DuplicateStats stats) {
+		keys += stats.keys;
+		rows += stats.rows;
+		maxRows = Math.max(maxRows, stats.maxRows);
+	}
+
+	public int getKeys() {
+		return keys;
+	}
+
+	public int getRows() {
+		return rows;
+	}
+
+	public int getMaxRows() {
+		return maxRows;
+	}
+
+	/**
+	 * Checks whether no key is shared
+	 */
+	public boolean isEmpty() {
+		return keys == 0;
+	}
+
+	/**
+	 * Gets the string representation of the stats
+	 */
+	public String toString() {
+		return keys + " keys shared by " + rows + " rows, at most " + maxRows + " rows per key";
+	}
+}
@@ -0,0 +1,59 @@
+package com.manage.index;
+
+/**
+ * The IndexDelta. It counts the rows inserted, updated and removed by an index
+ * update. A changed row of a previous key counts as updated.
+ */
+public class IndexDelta {
+
+	private int inserted;
+	private int updated;
+	private int removed;
+	private int unchanged;
+
+	public int getInserted() {
+		return inserted;
+	}
+
+	public void setInserted(int inserted) {
+		this.inserted = inserted;
+	}
+
+	public int getUpdated() {
+		return updated;
+	}
+
+	public void setUpdated(int updated) {
+		this.updated = updated;
+	}
+
+	public int getRemoved() {
+		return removed;
+	}
+
+	public void setRemoved(int removed) {
+		this.removed = removed;
+	}
+
+	public int getUnchanged() {
+		return unchanged;
+	}
+
+	public void setUnchanged(int unchanged) {
+		this.unchanged = unchanged;
+	}
+
+	/**
+	 * Checks whether no row is changed
+	 */
+	public boolean isEmpty() {
+		return inserted == 0 && updated == 0 && removed == 0;
+	}
+
+	/**
+	 * Gets the string representation of the delta
+	 */
+	public String toString() {
+		return inserted + " inserted, " + updated + " updated, " + removed + " removed, " + unchanged + " unchanged";
+	}
+}
@@ -0,0 +1,198 @@
+package com.manage.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The NameIndex. It is a trigram index over the names of the record slots. The
+ * trigrams are taken per name token, thus swapped first and last names, stray
+ * spaces and small typos still match, and the last search token matches as a
+ * prefix.
+ */
+class NameIndex {
+
+	private static final int[] NO_SLOTS = new int[0];
+	private static final char PAD = '$';
+
+	/**
+	 * The minimum share of the search trigrams a name must hold
+	 */
+	private static final double MIN_COVERAGE = 0.5;
+
+	/**
+	 * The scores of each thread, reset after every search
+	 */
+	private static final ThreadLocal<int[][]> SCORES = ThreadLocal.withInitial(() -> new int[1][0]);
+
+	private final HashMap<Long, int[]> postings;
+	private final int[] trigramCounts;
+
+	/**
+	 * Builds the index of the names
+	 * 
+	 * @param names The name of every slot
+	 */
+	NameIndex(String[] names) {
+
+		HashMap<Long, int[]> slotLists = new HashMap<>();
+		trigramCounts = new int[names.length];
+
+		for (int slot = 0; slot < names.length; slot++) {
+			long[] trigrams = trigrams(RecordKey.normalize(names[slot]), false);
+			trigramCounts[slot] = trigrams.length;
+			for (long trigram : trigrams) {
+				// The first element of a slot list holds its length
+				int[] slots = slotLists.get(trigram);
+				if (slots == null) {
+					slots = new int[4];
+				} else if (slots[0] + 1 == slots.length) {
+					slots = Arrays.copyOf(slots, slots.length * 2);
+				}
+				slots[++slots[0]] = slot;
+				slotLists.put(trigram, slots);
+			}
+		}
+
+		postings = new HashMap<>(slotLists.size() * 4 / 3 + 1);
+		for (Map.Entry<Long, int[]> entry : slotLists.entrySet()) {
+			int[] slots = entry.getValue();
+			postings.put(entry.getKey(), Arrays.copyOfRange(slots, 1, slots[0] + 1));
+		}
+	}
+
+	/**
+	 * Gets the distinct trigrams of the normalized name. Every token is padded in
+	 * front and, unless it is a prefix, at the end.
+	 * 
+	 * @param normalized The normalized name
+	 * @param prefix     Whether the last token is a prefix
+	 * @return The trigrams, each packed in a long
+	 */
+	private static long[] trigrams(String normalized, boolean prefix) {
+
+		List<Long> trigrams = new ArrayList<>();
+		int start = 0;
+		while (start < normalized.length()) {
+			int end = normalized.indexOf(' ', start);
+			if (end < 0) {
+				end = normalized.length();
+			}
+			boolean padEnd = !prefix || end < normalized.length();
+
+			StringBuilder token = new StringBuilder(end - start + 3);
+			token.append(PAD).append(PAD).append(normalized, start, end);
+			if (padEnd) {
+				token.append(PAD);
+			}
+			for (int i = 0; i + 3 <= token.length(); i++) {
+				long trigram = (long) token.charAt(i) << 32 | (long) token.charAt(i + 1) << 16 | token.charAt(i + 2);
+				if (!trigrams.contains(trigram)) {
+					trigrams.add(trigram);
+				}
+			}
+			start = end + 1;
+		}
+
+		long[] packed = new long[trigrams.size()];
+		for (int i = 0; i < packed.length; i++) {
+			packed[i] = trigrams.get(i);
+		}
+		return packed;
+	}
+
+	/**
+	 * Gets the similarity of the name to the searched name, as ranked by the
+	 * search
+	 * 
+	 * @param query The searched name
+	 * @param name  The name
+	 * @return The Dice coefficient of their trigrams
+	 */
+	static double similarity(String query, String name) {
+
+		long[] queryTrigrams = trigrams(RecordKey.normalize(query), true);
+		long[] nameTrigrams = trigrams(RecordKey.normalize(name), false);
+		if (queryTrigrams.length == 0) {
+			return 0;
+		}
+
+		int shared = 0;
+		for (long queryTrigram : queryTrigrams) {
+			for (long nameTrigram : nameTrigrams) {
+				if (queryTrigram == nameTrigram) {
+					shared++;
+					break;
+				}
+			}
+		}
+		return 2.0 * shared / (queryTrigrams.length + nameTrigrams.length);
+	}
+
+	/**
+	 * Searches the slots of the most similar names. The names are ranked by the
+	 * Dice coefficient of their trigrams.
+	 * 
+	 * @param query The searched name
+	 * @param limit The maximum number of slots
+	 * @return The slots, the most similar first
+	 */
+	int[] search(String query, int limit) {
+
+		long[] queryTrigrams = trigrams(RecordKey.normalize(query), true);
+		if (queryTrigrams.length == 0 || limit <= 0) {
+			return NO_SLOTS;
+		}
+
+		int[][] holder = SCORES.get();
+		if (holder[0].length < trigramCounts.length) {
+			holder[0] = new int[trigramCounts.length];
+		}
+		int[] scores = holder[0];
+		int[] touched = new int[16];
+		int touchedCount = 0;
+
+		// Counting the shared trigrams of every touched slot
+		for (long trigram : queryTrigrams) {
+			int[] slots = postings.getOrDefault(trigram, NO_SLOTS);
+			for (int slot : slots) {
+				if (scores[slot]++ == 0) {
+					if (touchedCount == touched.length) {
+						touched = Arrays.copyOf(touched, touchedCount * 2);
+					}
+					touched[touchedCount++] = slot;
+				}
+			}
+		}
+
+		// Keeping the best slots in descending order of similarity
+		int[] best = new int[limit];
+		double[] bestScores = new double[limit];
+		int bestCount = 0;
+		for (int t = 0; t < touchedCount; t++) {
+			int slot = touched[t];
+			int shared = scores[slot];
+			scores[slot] = 0;
+
+			if (shared < queryTrigrams.length * MIN_COVERAGE) {
+				continue;
+			}
+			double similarity = 2.0 * shared / (queryTrigrams.length + trigramCounts[slot]);
+			if (bestCount == limit && similarity <= bestScores[limit - 1]) {
+				continue;
+			}
+
+			int position = bestCount < limit ? bestCount++ : limit - 1;
+			while (position > 0 && bestScores[position - 1] < similarity) {
+				best[position] = best[position - 1];
+				bestScores[position] = bestScores[position - 1];
+				position--;
+			}
+			best[position] = slot;
+			bestScores[position] = similarity;
+		}
+		return Arrays.copyOf(best, bestCount);
+	}
+}
@@ -0,0 +1,356 @@
+package com.manage.index;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import com.manage.util.StringDictionary;
+
+/**
+ * The RecordIndex. It holds the records of a sheet partitioned by their
+ * country. The lookup structures of a country are built the first time it is
+ * queried, thus loading only groups the records by country. An index is never
+ * modified once built, thus a reload builds a new index and swaps the
+ * reference, and readers never see a half-built index.
+ * 
+ * @param <T> The record type
+ */
+public class RecordIndex<T> {
+
+	/**
+	 * The lookup probe of each thread
+	 */
+	private static final ThreadLocal<RecordKey.Probe> PROBE = ThreadLocal.withInitial(RecordKey.Probe::new);
+
+	private final RecordType<T> type;
+	private final HashMap<String, CountryPartition<T>> partitions;
+	private final SortedSet<String> countries;
+	private final IndexDelta delta;
+	private final DuplicateStats duplicates;
+	private final int size;
+
+	private RecordIndex(RecordType<T> type, HashMap<String, CountryPartition<T>> partitions,
+			SortedSet<String> countries, IndexDelta delta) {
+		this.type = type;
+		this.partitions = partitions;
+		this.countries = countries;
+		this.delta = delta;
+		this.duplicates = new DuplicateStats();
+		partitions.values().forEach(partition -> duplicates.add(partition.getDuplicates()));
+		this.size = partitions.values().stream().mapToInt(partition -> partition.getRecords().size()).sum();
+	}
+
+	/**
+	 * Gets an empty index
+	 * 
+	 * @param type The record type
+	 * @return The empty index
+	 */
+	public static <T> RecordIndex<T> empty(RecordType<T> type) {
+		return new RecordIndex<>(type, new HashMap<>(), Collections.unmodifiableSortedSet(new TreeSet<>()),
+				new IndexDelta());
+	}
+
+	/**
+	 * Builds the index of the records
+	 * 
+	 * @param type    The record type
+	 * @param records The records
+	 * @return The built index
+	 */
+	public static <T> RecordIndex<T> build(RecordType<T> type, List<T> records) {
+		return empty(type).update(records);
+	}
+
+	/**
+	 * Builds the index of the reloaded records from this index. A country of
+	 * unchanged rows keeps its partition, along with any lookup structures already
+	 * built by a query. The rows of a changed country are only compared one by
+	 * one, and no lookup structure is built for the comparison.
+	 * 
+	 * @param reloadedRecords The reloaded records
+	 * @return The updated index, holding the delta to this index
+	 */
+	public RecordIndex<T> update(List<T> reloadedRecords) {
+
+		HashMap<String, List<T>> recordsByCountry = new HashMap<>();
+		for (T record : reloadedRecords) {
+			recordsByCountry.computeIfAbsent(type.country(record), country -> new ArrayList<>()).add(record);
+		}
+
+		HashMap<String, CountryPartition<T>> updatedPartitions = new HashMap<>(recordsByCountry.size() * 4 / 3 + 1);
+		IndexDelta updateDelta = new IndexDelta();
+		for (Map.Entry<String, List<T>> entry : recordsByCountry.entrySet()) {
+			CountryPartition<T> previous = partitions.get(entry.getKey());
+			CountryPartition<T> partition = new CountryPartition<>(type, entry.getValue(), previous);
+
+			if (previous == null) {
+				updateDelta.setInserted(updateDelta.getInserted() + partition.getRecords().size());
+			} else if (previous.getFingerprint() == partition.getFingerprint()) {
+				updateDelta.setUnchanged(updateDelta.getUnchanged() + partition.getRecords().size());
+				partition = previous;
+			} else {
+				compare(previous.getRecords(), partition.getRecords(), updateDelta);
+			}
+			updatedPartitions.put(entry.getKey(), partition);
+		}
+		for (Map.Entry<String, CountryPartition<T>> entry : partitions.entrySet()) {
+			if (!updatedPartitions.containsKey(entry.getKey())) {
+				updateDelta.setRemoved(updateDelta.getRemoved() + entry.getValue().getRecords().size());
+			}
+		}
+
+		SortedSet<String> updatedCountries = countries;
+		if (!updatedPartitions.keySet().equals(partitions.keySet())) {
+			TreeSet<String> partitionCountries = new TreeSet<>();
+			for (String country : updatedPartitions.keySet()) {
+				if (country != null && !country.equals("")) {
+					partitionCountries.add(country);
+				}
+			}
+			updatedCountries = Collections.unmodifiableSortedSet(partitionCountries);
+		}
+		return new RecordIndex<>(type, updatedPartitions, updatedCountries, updateDelta);
+	}
+
+	/**
+	 * Compares the rows of a country. A row of the same fingerprint is unchanged,
+	 * a changed row of a previous key is updated, and any other row is inserted.
+	 * 
+	 * @param previousRecords The previous rows
+	 * @param records         The reloaded rows
+	 * @param delta           The delta the rows are counted in
+	 */
+	private void compare(List<T> previousRecords, List<T> records, IndexDelta delta) {
+
+		HashMap<Long, Integer> previousRows = new HashMap<>(previousRecords.size() * 4 / 3 + 1);
+		for (T record : previousRecords) {
+			previousRows.merge(type.fingerprint(record), 1, Integer::sum);
+		}
+
+		List<T> changedRecords = new ArrayList<>();
+		for (T record : records) {
+			Integer count = previousRows.get(type.fingerprint(record));
+			if (count != null && count > 0) {
+				previousRows.put(type.fingerprint(record), count - 1);
+				delta.setUnchanged(delta.getUnchanged() + 1);
+			} else {
+				changedRecords.add(record);
+			}
+		}
+
+		// The keys of the previous rows left unmatched
+		HashMap<RecordKey, Integer> missingKeys = new HashMap<>();
+		int missing = 0;
+		for (T record : previousRecords) {
+			Integer count = previousRows.get(type.fingerprint(record));
+			if (count != null && count > 0) {
+				previousRows.put(type.fingerprint(record), count - 1);
+				missingKeys.merge(type.key(record), 1, Integer::sum);
+				missing++;
+			}
+		}
+
+		int updated = 0;
+		for (T record : changedRecords) {
+			Integer count = missingKeys.get(type.key(record));
+			if (count != null && count > 0) {
+				missingKeys.put(type.key(record), count - 1);
+				updated++;
+			} else {
+				delta.setInserted(delta.getInserted() + 1);
+			}
+		}
+		delta.setUpdated(delta.getUpdated() + updated);
+		delta.setRemoved(delta.getRemoved() + missing - updated);
+	}
+
+	/**
+	 * Gets the partition of the country
+	 * 
+	 * @param country The country
+	 * @return The partition, or null if the country has no records
+	 */
+	private CountryPartition<T> partition(String country) {
+		return partitions.get(country);
+	}
+
+	/**
+	 * Gets the partitions of the country
+	 * 
+	 * @param country The country, or null for every country
+	 * @return The partitions
+	 */
+	private List<CountryPartition<T>> partitions(String country) {
+		if (country == null) {
+			return new ArrayList<>(partitions.values());
+		}
+		CountryPartition<T> partition = partitions.get(country);
+		return partition == null ? Collections.emptyList() : Collections.singletonList(partition);
+	}
+
+	/**
+	 * Gets the record of the key
+	 * 
+	 * @param key The lookup key
+	 * @return The record, or null if not found
+	 */
+	public T get(RecordKey key) {
+		CountryPartition<T> partition = partition(StringDictionary.SHARED.value(key.getCountry()));
+		return partition == null ? null : partition.lookup().get(key);
+	}
+
+	/**
+	 * Finds the first record of the search input. The input is probed as is, thus
+	 * the lookup allocates nothing.
+	 * 
+	 * @param country   The country
+	 * @param name      The name
+	 * @param reference The last 7 digits of the reference
+	 * @return The record, or null if not found
+	 */
+	public T find(String country, String name, String reference) {
+
+		CountryPartition<T> partition = partition(country);
+		int referenceSuffix = RecordKey.referenceSuffix(reference);
+		if (partition == null || referenceSuffix == RecordKey.NO_REFERENCE
+				|| reference.length() != RecordKey.REFERENCE_DIGITS) {
+			return null;
+		}
+
+		RecordKey.Probe probe = PROBE.get();
+		try {
+			return partition.lookup().get(probe.set(StringDictionary.SHARED.find(country), name, referenceSuffix));
+		} finally {
+			probe.clear();
+		}
+	}
+
+	/**
+	 * Finds every record of the search input, as rows sharing the country, name
+	 * and reference suffix are all kept
+	 * 
+	 * @param country   The country
+	 * @param name      The name
+	 * @param reference The last 7 digits of the reference
+	 * @return The records, in the sheet order
+	 */
+	public List<T> findAll(String country, String name, String reference) {
+
+		CountryPartition<T> partition = partition(country);
+		int referenceSuffix = RecordKey.referenceSuffix(reference);
+		if (partition == null || referenceSuffix == RecordKey.NO_REFERENCE
+				|| reference.length() != RecordKey.REFERENCE_DIGITS) {
+			return Collections.emptyList();
+		}
+
+		RecordKey.Probe probe = PROBE.get();
+		try {
+			return partition.lookup().getAll(probe.set(StringDictionary.SHARED.find(country), name, referenceSuffix));
+		} finally {
+			probe.clear();
+		}
+	}
+
+	/**
+	 * Finds the records of the reference alone
+	 * 
+	 * @param country   The country, or null for any country
+	 * @param reference The last 7 digits of the reference
+	 * @return The matching records
+	 */
+	public List<T> findByReference(String country, String reference) {
+
+		int referenceSuffix = RecordKey.referenceSuffix(reference);
+		if (referenceSuffix == RecordKey.NO_REFERENCE || reference.length() != RecordKey.REFERENCE_DIGITS) {
+			return Collections.emptyList();
+		}
+
+		List<T> matches = new ArrayList<>(1);
+		for (CountryPartition<T> partition : partitions(country)) {
+			partition.lookup().findByReference(referenceSuffix, matches);
+		}
+		return matches;
+	}
+
+	/**
+	 * Searches the records of the most similar names. Stray spaces, swapped names
+	 * and small typos still match, and the last word of the name may be partial.
+	 * 
+	 * @param country The country, or null for any country
+	 * @param name    The searched name
+	 * @param limit   The maximum number of records
+	 * @return The matching records, the most similar first
+	 */
+	public List<T> searchByName(String country, String name, int limit) {
+
+		if (country != null) {
+			CountryPartition<T> partition = partition(country);
+			return partition == null ? Collections.emptyList() : partition.lookup().searchByName(name, limit);
+		}
+
+		// Ranking the best records of every country together
+		List<T> matches = new ArrayList<>();
+		for (CountryPartition<T> partition : partitions.values()) {
+			matches.addAll(partition.lookup().searchByName(name, limit));
+		}
+		matches.sort(Comparator.comparingDouble(record -> -NameIndex.similarity(name, type.name(record))));
+		return matches.size() > limit ? new ArrayList<>(matches.subList(0, limit)) : matches;
+	}
+
+	/**
+	 * Gets the records of the country
+	 * 
+	 * @param country The country, or null for every country
+	 * @return The records, in the sheet order of each country
+	 */
+	public List<T> getRecords(String country) {
+
+		List<T> records = new ArrayList<>();
+		for (CountryPartition<T> partition : partitions(country)) {
+			records.addAll(partition.getRecords());
+		}
+		return records;
+	}
+
+	/**
+	 * Gets the countries of the records
+	 * 
+	 * @return The sorted countries
+	 */
+	public SortedSet<String> getCountries() {
+		return countries;
+	}
+
+	/**
+	 * Gets the delta of this index to the index it is updated from
+	 * 
+	 * @return The delta
+	 */
+	public IndexDelta getDelta() {
+		return delta;
+	}
+
+	/**
+	 * Gets the keys shared by more than one record
+	 * 
+	 * @return The duplicate stats
+	 */
+	public DuplicateStats getDuplicates() {
+		return duplicates;
+	}
+
+	/**
+	 * Gets the number of indexed records
+	 * 
+	 * @return The size
+	 */
+	public int size() {
+		return size;
+	}
+}
@@ -0,0 +1,269 @@
+package com.manage.index;
+
+import com.manage.model.IELTS;
+import com.manage.model.School;
+import com.manage.util.StringDictionary;
+
+/**
+ * The RecordKey. It is the lookup key of a record, made of the country code,
+ * the normalized name and the numeric 7 digit reference suffix. The hash is
+ * computed once, and names differing only by case or spacing are equal.
+ */
+public class RecordKey {
+
+	/**
+	 * The number of trailing reference digits used as the key
+	 */
+	public static final int REFERENCE_DIGITS = 7;
+
+	/**
+	 * The suffix of a reference not ending with 7 digits
+	 */
+	public static final int NO_REFERENCE = -1;
+
+	private final int country;
+	private final String name;
+	private final int reference;
+	private final int hash;
+
+	private RecordKey(int country, String name, int reference) {
+		this.country = country;
+		this.name = name;
+		this.reference = reference;
+		this.hash = hash(country, name, reference);
+	}
+
+	/**
+	 * Creates the key
+	 * 
+	 * @param country   The country
+	 * @param name      The name
+	 * @param reference The reference, of which the last 7 digits are used
+	 * @return The key
+	 */
+	public static RecordKey of(String country, String name, String reference) {
+		return new RecordKey(StringDictionary.SHARED.code(country), normalize(name), referenceSuffix(reference));
+	}
+
+	/**
+	 * Creates the key of the IELTS record
+	 * 
+	 * @param ielts The IELTS record
+	 * @return The key
+	 */
+	public static RecordKey of(IELTS ielts) {
+		return of(ielts.getCountry(), ielts.getCandidateName(), ielts.getReference());
+	}
+
+	/**
+	 * Creates the key of the School record
+	 * 
+	 * @param school The School record
+	 * @return The key
+	 */
+	public static RecordKey of(School school) {
+		return of(school.getCountry(), school.getLastName(), school.getRegistrationId());
+	}
+
+	/**
+	 * Normalizes the name. The name is trimmed, the inner spacing collapsed to a
+	 * single space and the letters upper-cased.
+	 * 
+	 * @param name The name
+	 * @return The normalized name
+	 */
+	public static String normalize(CharSequence name) {
+
+		if (name == null) {
+			return "";
+		}
+		StringBuilder normalized = new StringBuilder(name.length());
+		boolean space = false;
+		for (int i = 0; i < name.length(); i++) {
+			char c = name.charAt(i);
+			if (Character.isWhitespace(c)) {
+				space = normalized.length() > 0;
+			} else {
+				if (space) {
+					normalized.append(' ');
+					space = false;
+				}
+				normalized.append(Character.toUpperCase(c));
+			}
+		}
+		return normalized.toString();
+	}
+
+	/**
+	 * Gets the numeric suffix of the reference
+	 * 
+	 * @param reference The reference
+	 * @return The value of the last 7 digits, or {@link #NO_REFERENCE} if the
+	 *         reference does not end with 7 digits
+	 */
+	public static int referenceSuffix(CharSequence reference) {
+
+		if (reference == null || reference.length() < REFERENCE_DIGITS) {
+			return NO_REFERENCE;
+		}
+		int suffix = 0;
+		for (int i = reference.length() - REFERENCE_DIGITS; i < reference.length(); i++) {
+			char c = reference.charAt(i);
+			if (c < '0' || c > '9') {
+				return NO_REFERENCE;
+			}
+			suffix = suffix * 10 + (c - '0');
+		}
+		return suffix;
+	}
+
+	/**
+	 * Computes the hash of the key. The name is normalized while hashing, thus a
+	 * raw and a normalized name hash alike.
+	 * 
+	 * @param country   The country code
+	 * @param name      The name
+	 * @param reference The reference suffix
+	 * @return The hash
+	 */
+	private static int hash(int country, CharSequence name, int reference) {
+
+		int hash = 31 * country + reference;
+		boolean space = false;
+		boolean started = false;
+		for (int i = 0; i < name.length(); i++) {
+			char c = name.charAt(i);
+			if (Character.isWhitespace(c)) {
+				space = started;
+			} else {
+				if (space) {
+					hash = 31 * hash + ' ';
+					space = false;
+				}
+				hash = 31 * hash + Character.toUpperCase(c);
+				started = true;
+			}
+		}
+		return hash;
+	}
+
+	/**
+	 * Compares the normalized name to a raw name, normalizing the raw name on the
+	 * fly
+	 * 
+	 * @param normalized The normalized name
+	 * @param raw        The raw name
+	 * @return Whether the names are equal once normalized
+	 */
+	private static boolean sameName(String normalized, CharSequence raw) {
+
+		int n = 0;
+		boolean space = false;
+		for (int i = 0; i < raw.length(); i++) {
+			char c = raw.charAt(i);
+			if (Character.isWhitespace(c)) {
+				space = n > 0;
+			} else {
+				if (space) {
+					if (n >= normalized.length() || normalized.charAt(n++) != ' ') {
+						return false;
+					}
+					space = false;
+				}
+				if (n >= normalized.length() || normalized.charAt(n++) != Character.toUpperCase(c)) {
+					return false;
+				}
+			}
+		}
+		return n == normalized.length();
+	}
+
+	public int getCountry() {
+		return country;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public int getReference() {
+		return reference;
+	}
+
+	@Override
+	public int hashCode() {
+		return hash;
+	}
+
+	@Override
+	public boolean equals(Object object) {
+
+		if (this == object) {
+			return true;
+		}
+		if (!(object instanceof RecordKey)) {
+			return false;
+		}
+		RecordKey other = (RecordKey) object;
+		return hash == other.hash && country == other.country && reference == other.reference
+				&& name.equals(other.name);
+	}
+
+	/**
+	 * Gets the string representation of the key
+	 */
+	public String toString() {
+		return StringDictionary.SHARED.value(country) + " " + name + " " + reference;
+	}
+
+	/**
+	 * The Probe. It is a reusable lookup key over the raw search input, thus a
+	 * lookup neither normalizes into a new string nor allocates a new key.
+	 */
+	static class Probe {
+
+		private int country;
+		private CharSequence name;
+		private int reference;
+		private int hash;
+
+		/**
+		 * Sets the probe to the search input
+		 * 
+		 * @param country   The country code
+		 * @param name      The raw name
+		 * @param reference The reference suffix
+		 * @return The probe
+		 */
+		Probe set(int country, CharSequence name, int reference) {
+			this.country = country;
+			this.name = name;
+			this.reference = reference;
+			this.hash = RecordKey.hash(country, name, reference);
+			return this;
+		}
+
+		/**
+		 * Releases the search input
+		 */
+		void clear() {
+			this.name = null;
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object object) {
+
+			if (!(object instanceof RecordKey)) {
+				return false;
+			}
+			RecordKey key = (RecordKey) object;
+			return hash == key.hash && country == key.country && reference == key.reference
+					&& sameName(key.name, name);
+		}
+	}
+}
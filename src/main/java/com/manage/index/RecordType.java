@@ -0,0 +1,65 @@
+package com.manage.index;
+
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+import com.manage.model.IELTS;
+import com.manage.model.School;
+
+/**
+ * The RecordType. It tells the index how to key, group and search the records
+ * of a sheet.
+ * 
+ * @param <T> The record type
+ */
+public class RecordType<T> {
+
+	/**
+	 * The IELTS records, searched by the candidate name
+	 */
+	public static final RecordType<IELTS> IELTS_RECORD = new RecordType<>(RecordKey::of, IELTS::getCountry,
+			IELTS::getFingerprint, IELTS::getCandidateName);
+
+	/**
+	 * The School records, searched by the first and last name
+	 */
+	public static final RecordType<School> SCHOOL_RECORD = new RecordType<>(RecordKey::of, School::getCountry,
+			School::getFingerprint, school -> school.getFirstName() + " " + school.getLastName());
+
+	private final Function<T, RecordKey> key;
+	private final Function<T, String> country;
+	private final ToLongFunction<T> fingerprint;
+	private final Function<T, String> name;
+
+	/**
+	 * Creates the record type
+	 * 
+	 * @param key         The lookup key of a record
+	 * @param country     The country of a record
+	 * @param fingerprint The row fingerprint of a record
+	 * @param name        The searchable name of a record
+	 */
+	public RecordType(Function<T, RecordKey> key, Function<T, String> country, ToLongFunction<T> fingerprint,
+			Function<T, String> name) {
+		this.key = key;
+		this.country = country;
+		this.fingerprint = fingerprint;
+		this.name = name;
+	}
+
+	public RecordKey key(T record) {
+		return key.apply(record);
+	}
+
+	public String country(T record) {
+		return country.apply(record);
+	}
+
+	public long fingerprint(T record) {
+		return fingerprint.applyAsLong(record);
+	}
+
+	public String name(T record) {
+		return name.apply(record);
+	}
+}
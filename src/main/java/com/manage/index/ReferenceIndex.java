@@ -0,0 +1,82 @@
+package com.manage.index;
+
+import java.util.Arrays;
+
+/**
+ * The ReferenceIndex. It is an open addressing index from the numeric 7 digit
+ * reference suffix to the record slots. Records sharing a suffix are chained
+ * through their slots, thus an entry costs a few bytes and a lookup is a single
+ * probe without boxing.
+ */
+class ReferenceIndex {
+
+	private static final int EMPTY = -1;
+
+	private final int[] keys;
+	private final int[] heads;
+	private final int[] next;
+	private final int mask;
+
+	/**
+	 * Builds the index of the suffixes
+	 * 
+	 * @param suffixes The reference suffix of every slot
+	 */
+	ReferenceIndex(int[] suffixes) {
+
+		int capacity = Integer.highestOneBit(Math.max(2, suffixes.length + suffixes.length / 2) - 1) << 1;
+		keys = new int[capacity];
+		heads = new int[capacity];
+		next = new int[suffixes.length];
+		mask = capacity - 1;
+		Arrays.fill(heads, EMPTY);
+
+		// Inserting from the last slot, thus the chains follow the slot order
+		for (int slot = suffixes.length - 1; slot >= 0; slot--) {
+			if (suffixes[slot] == RecordKey.NO_REFERENCE) {
+				next[slot] = EMPTY;
+				continue;
+			}
+			int position = position(suffixes[slot]);
+			next[slot] = heads[position];
+			keys[position] = suffixes[slot];
+			heads[position] = slot;
+		}
+	}
+
+	/**
+	 * Gets the table position of the suffix, either holding the suffix or empty
+	 * 
+	 * @param suffix The reference suffix
+	 * @return The position
+	 */
+	private int position(int suffix) {
+
+		int hash = suffix * 0x9E3779B9;
+		int position = (hash ^ hash >>> 16) & mask;
+		while (heads[position] != EMPTY && keys[position] != suffix) {
+			position = (position + 1) & mask;
+		}
+		return position;
+	}
+
+	/**
+	 * Gets the first slot of the suffix
+	 * 
+	 * @param suffix The reference suffix
+	 * @return The slot, or -1 if not found
+	 */
+	int first(int suffix) {
+		return suffix == RecordKey.NO_REFERENCE ? EMPTY : heads[position(suffix)];
+	}
+
+	/**
+	 * Gets the next slot sharing the suffix
+	 * 
+	 * @param slot The slot
+	 * @return The next slot, or -1 if none
+	 */
+	int next(int slot) {
+		return next[slot];
+	}
+}
@@ -0,0 +1,39 @@
+package com.manage.loader;
+
+import java.util.List;
+
+import com.manage.model.IELTS;
+import com.manage.model.School;
+
+/**
+ * The LoadListener. It is notified from the loader threads while the sheets are
+ * loaded.
+ */
+public interface LoadListener {
+
+	/**
+	 * Notifies the load progress
+	 * 
+	 * @param ieltsRows  The IELTS rows parsed so far
+	 * @param schoolRows The School rows parsed so far
+	 * @param percent    The overall progress, weighted by the file sizes
+	 */
+	default void progress(int ieltsRows, int schoolRows, int percent) {
+	}
+
+	/**
+	 * Notifies that the IELTS sheet is loaded
+	 * 
+	 * @param ieltsRecords The IELTS records
+	 */
+	default void ieltsLoaded(List<IELTS> ieltsRecords) {
+	}
+
+	/**
+	 * Notifies that the Schools sheet is loaded
+	 * 
+	 * @param schoolRecords The School records
+	 */
+	default void schoolsLoaded(List<School> schoolRecords) {
+	}
+}
@@ -0,0 +1,44 @@
+package com.manage.loader;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.manage.model.IELTS;
+import com.manage.model.School;
+
+/**
+ * The LoadResult. It holds the records loaded from the source sheets.
+ */
+public class LoadResult {
+
+	private List<IELTS> ieltsRecords = new ArrayList<>();
+	private List<School> schoolRecords = new ArrayList<>();
+	private long loadTime;
+
+	public List<IELTS> getIeltsRecords() {
+		return ieltsRecords;
+	}
+
+	public void setIeltsRecords(List<IELTS> ieltsRecords) {
+		this.ieltsRecords = ieltsRecords;
+	}
+
+	public List<School> getSchoolRecords() {
+		return schoolRecords;
+	}
+
+	public void setSchoolRecords(List<School> schoolRecords) {
+		this.schoolRecords = schoolRecords;
+	}
+
+	/**
+	 * Gets the combined load time in milliseconds
+	 */
+	public long getLoadTime() {
+		return loadTime;
+	}
+
+	public void setLoadTime(long loadTime) {
+		this.loadTime = loadTime;
+	}
+}
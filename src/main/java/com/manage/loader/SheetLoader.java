@@ -0,0 +1,164 @@
+package com.manage.loader;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import com.manage.model.IELTS;
+import com.manage.model.School;
+import com.manage.parser.IELTSSheetParser;
+import com.manage.parser.ParseProgress;
+import com.manage.parser.SchoolsSheetParser;
+import com.manage.store.IELTSTable;
+import com.manage.store.SchoolTable;
+
+/**
+ * The SheetLoader. It loads the IELTS and Schools sheets concurrently.
+ */
+public class SheetLoader {
+
+	/**
+	 * Whether the records are held in the columnar store. It is enabled with
+	 * -Dmanager.columnar=true.
+	 */
+	private static final boolean COLUMNAR = Boolean.getBoolean("manager.columnar");
+
+	private SheetLoader() {
+		// Its a utility class. Thus instantiation is not allowed.
+	}
+
+	/**
+	 * Loads the IELTS records, either as models or as views over a columnar table
+	 * 
+	 * @param filePath The IELTS sheet path
+	 * @param progress The parse progress
+	 * @return The IELTS records, or null if the sheet cannot be read
+	 */
+	static List<IELTS> loadIELTS(String filePath, ParseProgress progress) {
+
+		if (COLUMNAR) {
+			IELTSTable ieltsTable = new IELTSTable();
+			return IELTSSheetParser.parseRows(filePath, ieltsTable::add, progress) < 0 ? null : ieltsTable.views();
+		}
+		List<IELTS> ieltsRecords = new ArrayList<>();
+		return IELTSSheetParser.parse(filePath, ieltsRecords::add, progress) < 0 ? null : ieltsRecords;
+	}
+
+	/**
+	 * Loads the School records, either as models or as views over a columnar table
+	 * 
+	 * @param filePath The Schools sheet path
+	 * @param progress The parse progress
+	 * @return The School records, or null if the sheet cannot be read
+	 */
+	static List<School> loadSchools(String filePath, ParseProgress progress) {
+
+		if (COLUMNAR) {
+			SchoolTable schoolTable = new SchoolTable();
+			return SchoolsSheetParser.parseRows(filePath, schoolTable::add, progress) < 0 ? null
+					: schoolTable.views();
+		}
+		List<School> schoolRecords = new ArrayList<>();
+		return SchoolsSheetParser.parse(filePath, schoolRecords::add, progress) < 0 ? null : schoolRecords;
+	}
+
+	/**
+	 * Loads both sheets in parallel. Each sheet is streamed into its models on its
+	 * own thread, thus the total time is close to the time of the slower sheet.
+	 * 
+	 * @param ieltsFilePath   The IELTS sheet path
+	 * @param schoolsFilePath The Schools sheet path
+	 * @return The load result
+	 */
+	public static LoadResult load(String ieltsFilePath, String schoolsFilePath) {
+		try {
+			return loadAsync(ieltsFilePath, schoolsFilePath, new LoadListener() {
+			}).join();
+		} catch (CompletionException completionException) {
+			return new LoadResult(); // The failure is already reported by the loader
+		}
+	}
+
+	/**
+	 * Loads both sheets in parallel in the background. The listener is notified
+	 * from the loader threads as soon as each sheet is ready, thus the IELTS
+	 * records can be used while the Schools sheet is still loading.
+	 * 
+	 * @param ieltsFilePath   The IELTS sheet path
+	 * @param schoolsFilePath The Schools sheet path
+	 * @param listener        The load listener
+	 * @return The future load result
+	 */
+	public static CompletableFuture<LoadResult> loadAsync(String ieltsFilePath, String schoolsFilePath,
+			LoadListener listener) {
+
+		ExecutorService executor = Executors.newFixedThreadPool(2, runnable -> {
+			Thread thread = new Thread(runnable, "sheet-loader");
+			thread.setDaemon(true);
+			return thread;
+		});
+		long start = System.nanoTime();
+
+		// The progress of both sheets, weighted by their file sizes
+		long ieltsSize = new File(ieltsFilePath).length();
+		long schoolsSize = new File(schoolsFilePath).length();
+		int[] rows = new int[2];
+		double[] fractions = new double[2];
+		Runnable notifyProgress = () -> {
+			synchronized (rows) {
+				double weighted = ieltsSize + schoolsSize == 0 ? 0
+						: (ieltsSize * fractions[0] + schoolsSize * fractions[1]) / (ieltsSize + schoolsSize);
+				listener.progress(rows[0], rows[1], (int) (weighted * 100));
+			}
+		};
+
+		CompletableFuture<List<IELTS>> ieltsFuture = CompletableFuture.supplyAsync(() -> {
+			List<IELTS> ieltsRecords = loadIELTS(ieltsFilePath, (parsedRows, totalRows) -> {
+				synchronized (rows) {
+					rows[0] = parsedRows;
+					fractions[0] = totalRows == 0 ? 0 : (double) parsedRows / totalRows;
+				}
+				notifyProgress.run();
+			});
+			if (ieltsRecords == null) {
+				ieltsRecords = new ArrayList<>();
+			}
+			listener.ieltsLoaded(ieltsRecords);
+			return ieltsRecords;
+		}, executor);
+		CompletableFuture<List<School>> schoolFuture = CompletableFuture.supplyAsync(() -> {
+			List<School> schoolRecords = loadSchools(schoolsFilePath, (parsedRows, totalRows) -> {
+				synchronized (rows) {
+					rows[1] = parsedRows;
+					fractions[1] = totalRows == 0 ? 0 : (double) parsedRows / totalRows;
+				}
+				notifyProgress.run();
+			});
+			if (schoolRecords == null) {
+				schoolRecords = new ArrayList<>();
+			}
+			listener.schoolsLoaded(schoolRecords);
+			return schoolRecords;
+		}, executor);
+
+		return ieltsFuture.thenCombine(schoolFuture, (ieltsRecords, schoolRecords) -> {
+			LoadResult result = new LoadResult();
+			result.setIeltsRecords(ieltsRecords);
+			result.setSchoolRecords(schoolRecords);
+			result.setLoadTime(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+			System.out.println("Loaded " + ieltsRecords.size() + " IELTS and " + schoolRecords.size()
+					+ " School records in " + result.getLoadTime() + " ms");
+			return result;
+		}).whenComplete((result, exception) -> {
+			if (exception != null) {
+				System.out.println("Error: Loading the reports failed.");
+			}
+			executor.shutdown();
+		});
+	}
+}
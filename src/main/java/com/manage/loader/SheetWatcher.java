@@ -0,0 +1,157 @@
+package com.manage.loader;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import com.manage.model.IELTS;
+import com.manage.model.School;
+
+/**
+ * The SheetWatcher. It watches the IELTS and Schools sheets and reloads a sheet
+ * in the background once it is changed. The listener is only notified of a
+ * completely parsed sheet.
+ */
+public class SheetWatcher implements Closeable {
+
+	/**
+	 * The quiet period after the last change before a sheet is reloaded. Saving a
+	 * workbook fires several events.
+	 */
+	private static final long QUIET_PERIOD_MILLIS = 2000;
+
+	private final WatchService watchService;
+	private final ScheduledExecutorService reloader;
+	private final Map<Path, Runnable> reloads = new HashMap<>();
+	private final Map<Path, ScheduledFuture<?>> pendingReloads = new HashMap<>();
+
+	private SheetWatcher(WatchService watchService) {
+		this.watchService = watchService;
+		this.reloader = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "sheet-reloader");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * Starts watching the sheets
+	 * 
+	 * @param ieltsFilePath   The IELTS sheet path
+	 * @param schoolsFilePath The Schools sheet path
+	 * @param listener        The load listener
+	 * @return The started watcher
+	 * @throws IOException When the sheet directories cannot be watched
+	 */
+	public static SheetWatcher watch(String ieltsFilePath, String schoolsFilePath, LoadListener listener)
+			throws IOException {
+
+		SheetWatcher sheetWatcher = new SheetWatcher(FileSystems.getDefault().newWatchService());
+		sheetWatcher.register(ieltsFilePath, () -> {
+			List<IELTS> ieltsRecords = SheetLoader.loadIELTS(ieltsFilePath, (rows, totalRows) -> {
+			});
+			if (ieltsRecords != null) {
+				System.out.println("Reloaded " + ieltsRecords.size() + " IELTS records");
+				listener.ieltsLoaded(ieltsRecords);
+			}
+		});
+		sheetWatcher.register(schoolsFilePath, () -> {
+			List<School> schoolRecords = SheetLoader.loadSchools(schoolsFilePath, (rows, totalRows) -> {
+			});
+			if (schoolRecords != null) {
+				System.out.println("Reloaded " + schoolRecords.size() + " School records");
+				listener.schoolsLoaded(schoolRecords);
+			}
+		});
+
+		Thread thread = new Thread(sheetWatcher::run, "sheet-watcher");
+		thread.setDaemon(true);
+		thread.start();
+		return sheetWatcher;
+	}
+
+	/**
+	 * Registers the reload of a sheet
+	 * 
+	 * @param filePath The sheet path
+	 * @param reload   The reload
+	 * @throws IOException When the sheet directory cannot be watched
+	 */
+	private void register(String filePath, Runnable reload) throws IOException {
+
+		Path path = new File(filePath).getAbsoluteFile().toPath();
+		path.getParent().register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+				StandardWatchEventKinds.ENTRY_MODIFY);
+		reloads.put(path, reload);
+	}
+
+	/**
+	 * Dispatches the watch events until the watcher is closed
+	 */
+	private void run() {
+
+		try {
+			while (true) {
+				WatchKey watchKey = watchService.take();
+				Path directory = (Path) watchKey.watchable();
+
+				for (WatchEvent<?> event : watchKey.pollEvents()) {
+					if (event.kind() != StandardWatchEventKinds.OVERFLOW) {
+						scheduleReload(directory.resolve((Path) event.context()));
+					}
+				}
+				watchKey.reset();
+			}
+		} catch (InterruptedException | ClosedWatchServiceException exception) {
+			// The watcher is closed
+		}
+	}
+
+	/**
+	 * Schedules the reload of a changed sheet. A pending reload of the same sheet
+	 * is postponed, thus a sheet is reloaded once it is completely written. A
+	 * failed reload is reported, and the previous records are kept.
+	 * 
+	 * @param path The changed path
+	 */
+	private synchronized void scheduleReload(Path path) {
+
+		Runnable reload = reloads.get(path);
+		if (reload != null) {
+			ScheduledFuture<?> pendingReload = pendingReloads.get(path);
+			if (pendingReload != null) {
+				pendingReload.cancel(false);
+			}
+			pendingReloads.put(path, reloader.schedule(() -> {
+				try {
+					reload.run();
+				} catch (RuntimeException exception) {
+					System.out.println("Error: Reloading " + path.getFileName() + " failed. " + exception);
+				}
+			}, QUIET_PERIOD_MILLIS, TimeUnit.MILLISECONDS));
+		}
+	}
+
+	/**
+	 * Stops watching the sheets
+	 */
+	@Override
+	public void close() throws IOException {
+		reloader.shutdownNow();
+		watchService.close();
+	}
+}
@@ -0,0 +1,224 @@
+package com.manage.lookup;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import com.manage.index.RecordIndex;
+import com.manage.index.RecordType;
+import com.manage.loader.LoadResult;
+import com.manage.loader.SheetLoader;
+import com.manage.metrics.Metrics;
+import com.manage.model.IELTS;
+import com.manage.model.School;
+import com.manage.store.IELTSTable;
+import com.manage.store.SchoolTable;
+
+/**
+ * The LookupEngine. It holds the IELTS and School indexes and looks up the
+ * products of a search. The indexes are never modified once built, and an
+ * update swaps an index as a whole, thus any number of threads look up without
+ * locking while the sheets are reloaded. The user interface, the command line
+ * and the HTTP server are all clients of an engine.
+ */
+public class LookupEngine {
+
+	/**
+	 * The IELTS product type
+	 */
+	public static final String IELTS_PRODUCT = "IELTS";
+
+	/**
+	 * The School product type
+	 */
+	public static final String SCHOOL_PRODUCT = "School";
+
+	private volatile RecordIndex<IELTS> ieltsIndex = RecordIndex.empty(RecordType.IELTS_RECORD);
+	private volatile RecordIndex<School> schoolIndex = RecordIndex.empty(RecordType.SCHOOL_RECORD);
+	private volatile List<IELTS> ieltsRecords = Collections.emptyList();
+	private volatile List<School> schoolRecords = Collections.emptyList();
+	private volatile SortedSet<String> countries = Collections.unmodifiableSortedSet(new TreeSet<>());
+
+	/**
+	 * Creates the engine of the loaded sheets
+	 *
+	 * @param ieltsFilePath   The IELTS sheet path
+	 * @param schoolsFilePath The Schools sheet path
+	 * @return The engine
+	 */
+	public static LookupEngine load(String ieltsFilePath, String schoolsFilePath) {
+
+		LoadResult loadResult = SheetLoader.load(ieltsFilePath, schoolsFilePath);
+		LookupEngine lookupEngine = new LookupEngine();
+		lookupEngine.updateIELTS(loadResult.getIeltsRecords());
+		lookupEngine.updateSchools(loadResult.getSchoolRecords());
+		return lookupEngine;
+	}
+
+	/**
+	 * Updates the IELTS index with the loaded records
+	 *
+	 * @param ieltsRecords The loaded IELTS records
+	 */
+	public synchronized void updateIELTS(List<IELTS> ieltsRecords) {
+
+		long start = System.nanoTime();
+		ieltsIndex = ieltsIndex.update(ieltsRecords);
+		this.ieltsRecords = ieltsRecords;
+		Metrics.IELTS_SHEET.indexed(System.nanoTime() - start);
+		System.out.println("IELTS index: " + ieltsIndex.getDelta());
+		if (!ieltsIndex.getDuplicates().isEmpty()) {
+			System.out.println("IELTS duplicates: " + ieltsIndex.getDuplicates());
+		}
+		updateCountries();
+	}
+
+	/**
+	 * Updates the School index with the loaded records
+	 *
+	 * @param schoolRecords The loaded School records
+	 */
+	public synchronized void updateSchools(List<School> schoolRecords) {
+
+		long start = System.nanoTime();
+		schoolIndex = schoolIndex.update(schoolRecords);
+		this.schoolRecords = schoolRecords;
+		Metrics.SCHOOLS_SHEET.indexed(System.nanoTime() - start);
+		System.out.println("School index: " + schoolIndex.getDelta());
+		if (!schoolIndex.getDuplicates().isEmpty()) {
+			System.out.println("School duplicates: " + schoolIndex.getDuplicates());
+		}
+		updateCountries();
+	}
+
+	/**
+	 * Collects the countries of both indexes
+	 */
+	private void updateCountries() {
+		TreeSet<String> indexCountries = new TreeSet<>(ieltsIndex.getCountries());
+		indexCountries.addAll(schoolIndex.getCountries());
+		countries = Collections.unmodifiableSortedSet(indexCountries);
+	}
+
+	/**
+	 * Gets the index of the product type
+	 *
+	 * @param productType The product type
+	 * @return The index, or null if the product type is unknown
+	 */
+	private RecordIndex<?> index(String productType) {
+		if (IELTS_PRODUCT.equalsIgnoreCase(productType)) {
+			return ieltsIndex;
+		}
+		if (SCHOOL_PRODUCT.equalsIgnoreCase(productType)) {
+			return schoolIndex;
+		}
+		return null;
+	}
+
+	/**
+	 * Finds the products of the search. Every row sharing the country, name and
+	 * reference is returned. The latency is recorded in {@link Metrics#LOOKUPS}.
+	 *
+	 * @param productType The product type
+	 * @param country     The country, or null or blank for any country when
+	 *                    searching by the reference alone
+	 * @param name        The candidate name, empty to search by the reference alone
+	 * @param reference   The last 7 digits of the reference
+	 * @return The matching products, in the sheet order
+	 */
+	public List<?> find(String productType, String country, String name, String reference) {
+
+		long start = System.nanoTime();
+		RecordIndex<?> index = index(productType);
+		if (index == null) {
+			return Collections.emptyList();
+		}
+		List<?> matches = name.equals("") ? index.findByReference(anyCountry(country), reference)
+				: index.findAll(anyCountry(country), name, reference);
+		Metrics.LOOKUPS.recordSince(start);
+		return matches;
+	}
+
+	/**
+	 * Searches the products of the most similar names
+	 *
+	 * @param productType The product type
+	 * @param country     The country, or null or blank for any country
+	 * @param name        The searched name
+	 * @param limit       The maximum number of products
+	 * @return The matching products, the most similar first
+	 */
+	public List<?> searchByName(String productType, String country, String name, int limit) {
+		RecordIndex<?> index = index(productType);
+		return index == null ? Collections.emptyList() : index.searchByName(anyCountry(country), name, limit);
+	}
+
+	/**
+	 * Gets the searched country, a blank country searching any country
+	 *
+	 * @param country The country
+	 * @return The trimmed country, or null for any country
+	 */
+	private static String anyCountry(String country) {
+		return country == null || country.trim().isEmpty() ? null : country.trim();
+	}
+
+	/**
+	 * Sums the IELTS totals by country. The totals which are not numbers are
+	 * skipped.
+	 *
+	 * @return The totals by country
+	 */
+	public Map<String, BigDecimal> ieltsTotalsByCountry() {
+		return IELTSTable.totalsByCountry(ieltsRecords);
+	}
+
+	/**
+	 * Counts the IELTS records by exam format
+	 *
+	 * @return The counts by exam format
+	 */
+	public Map<String, Integer> ieltsCountsByExamFormat() {
+		return IELTSTable.countsByExamFormat(ieltsRecords);
+	}
+
+	/**
+	 * Sums the School total local fees by country. The fees which are not numbers
+	 * are skipped.
+	 *
+	 * @return The total local fees by country
+	 */
+	public Map<String, BigDecimal> schoolFeesByCountry() {
+		return SchoolTable.totalLocalFeesByCountry(schoolRecords);
+	}
+
+	/**
+	 * Counts the School records by centre name
+	 *
+	 * @return The counts by centre name
+	 */
+	public Map<String, Integer> schoolCountsByCentreName() {
+		return SchoolTable.countsByCentreName(schoolRecords);
+	}
+
+	/**
+	 * Gets the countries of both indexes
+	 *
+	 * @return The sorted countries
+	 */
+	public SortedSet<String> getCountries() {
+		return countries;
+	}
+
+	public RecordIndex<IELTS> getIeltsIndex() {
+		return ieltsIndex;
+	}
+
+	public RecordIndex<School> getSchoolIndex() {
+		return schoolIndex;
+	}
+}
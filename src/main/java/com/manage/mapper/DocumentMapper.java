@@ -0,0 +1,54 @@
+package com.manage.mapper;
+
+import org.bson.Document;
+
+import com.manage.model.IELTS;
+import com.manage.model.School;
+
+/**
+ * The DocumentMapper. It maps the models to JSON documents
+ */
+public class DocumentMapper {
+
+	private DocumentMapper() {
+		// Its a utility class. Thus instantiation is not allowed.
+	}
+
+	/**
+	 * Maps IELTS model to document
+	 * 
+	 * @param ielts The IELTS
+	 * @return The prepared document
+	 */
+	public static Document map(IELTS ielts) {
+		return new Document("country", ielts.getCountry()).append("location", ielts.getLocation())
+				.append("candidateName", ielts.getCandidateName()).append("reference", ielts.getReference())
+				.append("examFormat", ielts.getExamFormat()).append("registrationDate", ielts.getRegistrationDate())
+				.append("testDate", ielts.getTestDate()).append("paymentRef", ielts.getPaymentRef())
+				.append("total", ielts.getTotal()).append("paymentType", ielts.getPaymentType());
+	}
+
+	/**
+	 * Maps School model to document
+	 * 
+	 * @param school The School
+	 * @return The prepared document
+	 */
+	public static Document map(School school) {
+		return new Document("firstName", school.getFirstName()).append("lastName", school.getLastName())
+				.append("country", school.getCountry()).append("centreName", school.getCentreName())
+				.append("totalLocalFee", school.getTotalLocalFee()).append("numberOfExams", school.getNumberOfExams())
+				.append("registrationId", school.getRegistrationId())
+				.append("paymentReference", school.getPaymentReference());
+	}
+
+	/**
+	 * Maps IELTS or School model to document
+	 * 
+	 * @param record The IELTS or School
+	 * @return The prepared document
+	 */
+	public static Document map(Object record) {
+		return record instanceof IELTS ? map((IELTS) record) : map((School) record);
+	}
+}
@@ -1,14 +1,20 @@
 package com.manage.mapper;
 
-import org.bson.Document;
-
 import com.manage.model.IELTS;
+import com.manage.model.IELTSRecord;
 
 /**
  * The IELTSMapper. It maps row data to IELTS model
  */
 public class IELTSMapper {
 
+	/**
+	 * The headings of the mapped columns. The row values are expected in this
+	 * order.
+	 */
+	public static final String[] HEADINGS = { "Country", "Location", "Candidate Name", "Reference", "Exam Format",
+			"Registration Date", "Test Date", "Payment Ref", "Total", "Payment Type" };
+
 	private IELTSMapper() {
 		// Its a utility class. Thus instantiation is not allowed.
 	}
@@ -16,22 +22,23 @@ public class IELTSMapper {
 	/**
 	 * Maps row data to IELTS model
 	 * 
-	 * @param ieltsDocument The row document
+	 * @param values The row values in the order of {@link #HEADINGS}
 	 * @return The prepared IELTS
 	 */
-	public static IELTS map(Document ieltsDocument) {
+	public static IELTS map(String[] values) {
 
-		IELTS ielts = new IELTS();
-		ielts.setCountry(ieltsDocument.getString("Country"));
-		ielts.setLocation(ieltsDocument.getString("Location"));
-		ielts.setCandidateName(ieltsDocument.getString("Candidate Name"));
-		ielts.setReference(ieltsDocument.getString("Reference"));
-		ielts.setExamFormat(ieltsDocument.getString("Exam Format"));
-		ielts.setRegistrationDate(ieltsDocument.getString("Registration Date"));
-		ielts.setTestDate(ieltsDocument.getString("Test Date"));
-		ielts.setPaymentRef(ieltsDocument.getString("Payment Ref"));
-		ielts.setTotal(ieltsDocument.getString("Total"));
-		ielts.setPaymentType(ieltsDocument.getString("Payment Type"));
+		IELTS ielts = new IELTSRecord();
+		ielts.setCountry(values[0]);
+		ielts.setLocation(values[1]);
+		ielts.setCandidateName(values[2]);
+		ielts.setReference(values[3]);
+		ielts.setExamFormat(values[4]);
+		ielts.setRegistrationDate(values[5]);
+		ielts.setTestDate(values[6]);
+		ielts.setPaymentRef(values[7]);
+		ielts.setTotal(values[8]);
+		ielts.setPaymentType(values[9]);
+		ielts.setFingerprint(RowFingerprint.of(values));
 		return ielts;
 	}
 }
@@ -0,0 +1,38 @@
+package com.manage.mapper;
+
+/**
+ * The RowFingerprint. It hashes the values of a row, thus a changed row can be
+ * told apart from an unchanged one without comparing every value.
+ */
+public class RowFingerprint {
+
+	private static final long OFFSET_BASIS = 0xcbf29ce484222325L;
+	private static final long PRIME = 0x100000001b3L;
+
+	private RowFingerprint() {
+		// Its a utility class. Thus instantiation is not allowed.
+	}
+
+	/**
+	 * Computes the 64-bit FNV-1a hash of the row values. The values are separated,
+	 * and a missing value hashes differently from an empty one.
+	 * 
+	 * @param values The row values
+	 * @return The fingerprint
+	 */
+	public static long of(String[] values) {
+
+		long hash = OFFSET_BASIS;
+		for (String value : values) {
+			if (value == null) {
+				hash = (hash ^ 0xffff) * PRIME;
+			} else {
+				for (int i = 0; i < value.length(); i++) {
+					hash = (hash ^ value.charAt(i)) * PRIME;
+				}
+			}
+			hash = (hash ^ 0xfffe) * PRIME; // The value separator
+		}
+		return hash;
+	}
+}
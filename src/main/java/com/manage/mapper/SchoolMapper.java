@@ -1,14 +1,20 @@
 package com.manage.mapper;
 
-import org.bson.Document;
-
 import com.manage.model.School;
+import com.manage.model.SchoolRecord;
 
 /**
  * The model SchoolMapper. It holds the mandatory School fields.
  */
 public class SchoolMapper {
 
+	/**
+	 * The headings of the mapped columns. The row values are expected in this
+	 * order.
+	 */
+	public static final String[] HEADINGS = { "First Name", "Last Name", "School country", "Centre Name",
+			"Total Local Fee ($)", "No of Exams", "Registration ID", "Payment Reference" };
+
 	private SchoolMapper() {
 		// Its a utility class. Thus instantiation is not allowed.
 	}
@@ -16,20 +22,21 @@ public class SchoolMapper {
 	/**
 	 * Maps row data to School model
 	 * 
-	 * @param schoolDocument The row document
+	 * @param values The row values in the order of {@link #HEADINGS}
 	 * @return The prepared School
 	 */
-	public static School map(Document schoolDocument) {
+	public static School map(String[] values) {
 
-		School school = new School();
-		school.setFirstName(schoolDocument.getString("First Name"));
-		school.setLastName(schoolDocument.getString("Last Name"));
-		school.setCountry(schoolDocument.getString("School country"));
-		school.setCentreName(schoolDocument.getString("Centre Name"));
-		school.setTotalLocalFee(schoolDocument.getString("Total Local Fee ($)"));
-		school.setNumberOfExams(schoolDocument.getString("No of Exams"));
-		school.setRegistrationId(schoolDocument.getString("Registration ID"));
-		school.setPaymentReference(schoolDocument.getString("Payment Reference"));
+		School school = new SchoolRecord();
+		school.setFirstName(values[0]);
+		school.setLastName(values[1]);
+		school.setCountry(values[2]);
+		school.setCentreName(values[3]);
+		school.setTotalLocalFee(values[4]);
+		school.setNumberOfExams(values[5]);
+		school.setRegistrationId(values[6]);
+		school.setPaymentReference(values[7]);
+		school.setFingerprint(RowFingerprint.of(values));
 		return school;
 	}
 }
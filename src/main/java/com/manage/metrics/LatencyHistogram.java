@@ -0,0 +1,164 @@
+package com.manage.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The LatencyHistogram. It records latencies in log-linear buckets, as the
+ * HdrHistogram does, thus a percentile is off by at most 1/{@link #SUB_BUCKETS}
+ * of its value whatever the spread of the latencies. Recording is a few atomic
+ * increments without locking or allocation, thus it is left on in production.
+ */
+public class LatencyHistogram implements LatencyMXBean {
+
+	/**
+	 * The number of linear sub-buckets of every power of two
+	 */
+	private static final int SUB_BUCKET_BITS = 5;
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+	/**
+	 * The highest power of two of the recorded nanoseconds, about 18 minutes
+	 */
+	private static final int MAX_EXPONENT = 40;
+
+	private final AtomicLongArray buckets = new AtomicLongArray(bucket(Long.MAX_VALUE) + 1);
+	private final LongAdder count = new LongAdder();
+	private final LongAdder total = new LongAdder();
+	private final AtomicLong max = new AtomicLong();
+
+	/**
+	 * Gets the bucket of the value. The values below {@link #SUB_BUCKETS} have a
+	 * bucket each, and every further power of two is split in
+	 * {@link #SUB_BUCKETS} buckets.
+	 */
+	private static int bucket(long value) {
+		if (value < SUB_BUCKETS) {
+			return (int) Math.max(value, 0);
+		}
+		int exponent = Math.min(63 - Long.numberOfLeadingZeros(value), MAX_EXPONENT);
+		int subBucket = (int) (Math.min(value, (2L << MAX_EXPONENT) - 1) >>> (exponent - SUB_BUCKET_BITS))
+				& (SUB_BUCKETS - 1);
+		return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+	}
+
+	/**
+	 * Gets the highest value of the bucket
+	 */
+	private static long highestValue(int bucket) {
+		if (bucket < SUB_BUCKETS) {
+			return bucket;
+		}
+		int shift = bucket / SUB_BUCKETS - 1;
+		return ((long) (SUB_BUCKETS + bucket % SUB_BUCKETS + 1) << shift) - 1;
+	}
+
+	/**
+	 * Records the latency
+	 *
+	 * @param nanos The latency in nanoseconds
+	 */
+	public void record(long nanos) {
+		buckets.incrementAndGet(bucket(nanos));
+		count.increment();
+		total.add(nanos);
+		if (nanos > max.get()) {
+			max.accumulateAndGet(nanos, Math::max);
+		}
+	}
+
+	/**
+	 * Records the latency since the start
+	 *
+	 * @param startNanos The start, as given by {@link System#nanoTime()}
+	 */
+	public void recordSince(long startNanos) {
+		record(System.nanoTime() - startNanos);
+	}
+
+	/**
+	 * Gets the latency of the percentile. The latencies recorded meanwhile may
+	 * or may not be counted.
+	 *
+	 * @param percentile The percentile, from 0 to 100
+	 * @return The latency in nanoseconds, or 0 if none is recorded
+	 */
+	public long getPercentileNanos(double percentile) {
+
+		long[] counts = new long[buckets.length()];
+		long recorded = 0;
+		for (int bucket = 0; bucket < counts.length; bucket++) {
+			counts[bucket] = buckets.get(bucket);
+			recorded += counts[bucket];
+		}
+		if (recorded == 0) {
+			return 0;
+		}
+
+		long rank = Math.max(1, (long) Math.ceil(recorded * Math.min(Math.max(percentile, 0), 100) / 100));
+		long seen = 0;
+		for (int bucket = 0; bucket < counts.length; bucket++) {
+			seen += counts[bucket];
+			if (seen >= rank) {
+				return Math.min(highestValue(bucket), max.get());
+			}
+		}
+		return max.get();
+	}
+
+	@Override
+	public long getCount() {
+		return count.sum();
+	}
+
+	@Override
+	public double getMeanMicros() {
+		long recorded = count.sum();
+		return recorded == 0 ? 0 : total.sum() / 1000.0 / recorded;
+	}
+
+	@Override
+	public double getP50Micros() {
+		return getPercentileNanos(50) / 1000.0;
+	}
+
+	@Override
+	public double getP90Micros() {
+		return getPercentileNanos(90) / 1000.0;
+	}
+
+	@Override
+	public double getP99Micros() {
+		return getPercentileNanos(99) / 1000.0;
+	}
+
+	@Override
+	public double getP999Micros() {
+		return getPercentileNanos(99.9) / 1000.0;
+	}
+
+	@Override
+	public double getMaxMicros() {
+		return max.get() / 1000.0;
+	}
+
+	@Override
+	public void reset() {
+		for (int bucket = 0; bucket < buckets.length(); bucket++) {
+			buckets.set(bucket, 0);
+		}
+		count.reset();
+		total.reset();
+		max.set(0);
+	}
+
+	/**
+	 * Gets the string representation of the latencies in microseconds
+	 */
+	@Override
+	public String toString() {
+		return String.format("%d, p50 %.1f us, p99 %.1f us, p99.9 %.1f us, max %.1f us", getCount(), getP50Micros(),
+				getP99Micros(), getP999Micros(), getMaxMicros());
+	}
+}
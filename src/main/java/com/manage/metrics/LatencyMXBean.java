@@ -0,0 +1,26 @@
+package com.manage.metrics;
+
+/**
+ * The LatencyMXBean. It exposes the latencies of an operation through JMX.
+ */
+public interface LatencyMXBean {
+
+	long getCount();
+
+	double getMeanMicros();
+
+	double getP50Micros();
+
+	double getP90Micros();
+
+	double getP99Micros();
+
+	double getP999Micros();
+
+	double getMaxMicros();
+
+	/**
+	 * Clears the recorded latencies
+	 */
+	void reset();
+}
@@ -0,0 +1,90 @@
+package com.manage.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * The utility Metrics. It holds the load timings of the sheets and the
+ * latencies of the lookups and the bar-code slips. They are registered as
+ * MXBeans under the com.manage domain, and logged every given seconds with
+ * -Dmanager.metrics.interval=&lt;seconds&gt;.
+ */
+public class Metrics {
+
+	/**
+	 * The seconds between two metrics log lines, or 0 to log none
+	 */
+	private static final int LOG_INTERVAL = Integer.getInteger("manager.metrics.interval", 0);
+
+	/**
+	 * The loads of the IELTS sheet
+	 */
+	public static final SheetMetrics IELTS_SHEET = new SheetMetrics();
+
+	/**
+	 * The loads of the Schools sheet
+	 */
+	public static final SheetMetrics SCHOOLS_SHEET = new SheetMetrics();
+
+	/**
+	 * The latencies of the product lookups
+	 */
+	public static final LatencyHistogram LOOKUPS = new LatencyHistogram();
+
+	/**
+	 * The latencies of the bar-code slips, the cached slips included
+	 */
+	public static final LatencyHistogram BARCODES = new LatencyHistogram();
+
+	static {
+		register("com.manage:type=Sheet,name=IELTS", IELTS_SHEET);
+		register("com.manage:type=Sheet,name=Schools", SCHOOLS_SHEET);
+		register("com.manage:type=Latency,name=Lookup", LOOKUPS);
+		register("com.manage:type=Latency,name=Barcode", BARCODES);
+
+		if (LOG_INTERVAL > 0) {
+			ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+				Thread thread = new Thread(runnable, "metrics-log");
+				thread.setDaemon(true);
+				return thread;
+			});
+			executor.scheduleAtFixedRate(() -> System.out.println(summary()), LOG_INTERVAL, LOG_INTERVAL,
+					TimeUnit.SECONDS);
+		}
+	}
+
+	private Metrics() {
+		// Its a utility class. Thus the instantiation is not allowed.
+	}
+
+	/**
+	 * Registers the MXBean in the platform MBean server
+	 */
+	private static void register(String name, Object mxBean) {
+		try {
+			MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+			ObjectName objectName = new ObjectName(name);
+			if (!mBeanServer.isRegistered(objectName)) {
+				mBeanServer.registerMBean(mxBean, objectName);
+			}
+		} catch (JMException | RuntimeException exception) {
+			System.out.println("Error: Registering the metrics " + name + " failed.");
+		}
+	}
+
+	/**
+	 * Gets the metrics log line
+	 *
+	 * @return The summary of the metrics
+	 */
+	public static String summary() {
+		return "Metrics: IELTS " + IELTS_SHEET + "; Schools " + SCHOOLS_SHEET + "; lookups " + LOOKUPS
+				+ "; barcodes " + BARCODES;
+	}
+}
@@ -0,0 +1,24 @@
+package com.manage.metrics;
+
+/**
+ * The SheetMXBean. It exposes the last load of a sheet through JMX.
+ */
+public interface SheetMXBean {
+
+	int getRows();
+
+	long getParseMillis();
+
+	long getRowsPerSecond();
+
+	long getMappingMillis();
+
+	long getIndexMillis();
+
+	/**
+	 * Gets the number of times the sheet is loaded
+	 *
+	 * @return The number of loads
+	 */
+	long getLoads();
+}
@@ -0,0 +1,85 @@
+package com.manage.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The SheetMetrics. It holds the timings of the last load of a sheet.
+ */
+public class SheetMetrics implements SheetMXBean {
+
+	private volatile int rows;
+	private volatile long parseNanos;
+	private volatile long mappingNanos;
+	private volatile long indexNanos;
+	private volatile long loads;
+
+	/**
+	 * Records the parse of the sheet
+	 *
+	 * @param parsedRows The number of parsed rows
+	 * @param parseNanos The parse time in nanoseconds, the mapping included
+	 */
+	public synchronized void parsed(int parsedRows, long parseNanos) {
+		this.rows = parsedRows;
+		this.parseNanos = parseNanos;
+		this.mappingNanos = 0;
+		this.loads = loads + 1;
+	}
+
+	/**
+	 * Records the mapping of the parsed rows to the models
+	 *
+	 * @param mappingNanos The mapping time in nanoseconds
+	 */
+	public void mapped(long mappingNanos) {
+		this.mappingNanos = mappingNanos;
+	}
+
+	/**
+	 * Records the index build of the sheet
+	 *
+	 * @param indexNanos The index build time in nanoseconds
+	 */
+	public void indexed(long indexNanos) {
+		this.indexNanos = indexNanos;
+	}
+
+	@Override
+	public int getRows() {
+		return rows;
+	}
+
+	@Override
+	public long getParseMillis() {
+		return TimeUnit.NANOSECONDS.toMillis(parseNanos);
+	}
+
+	@Override
+	public long getRowsPerSecond() {
+		return parseNanos == 0 ? 0 : rows * 1_000_000_000L / parseNanos;
+	}
+
+	@Override
+	public long getMappingMillis() {
+		return TimeUnit.NANOSECONDS.toMillis(mappingNanos);
+	}
+
+	@Override
+	public long getIndexMillis() {
+		return TimeUnit.NANOSECONDS.toMillis(indexNanos);
+	}
+
+	@Override
+	public long getLoads() {
+		return loads;
+	}
+
+	/**
+	 * Gets the string representation of the last load
+	 */
+	@Override
+	public String toString() {
+		return rows + " rows parsed in " + getParseMillis() + " ms (" + getRowsPerSecond() + " rows/s, mapping "
+				+ getMappingMillis() + " ms), indexed in " + getIndexMillis() + " ms";
+	}
+}
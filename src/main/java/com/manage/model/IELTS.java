@@ -1,100 +1,57 @@
 package com.manage.model;
 
 /**
- * The model IELTS. It holds the mandatory IELTS fields.
+ * The model IELTS. It holds the mandatory IELTS fields. Its implementations
+ * decide how the fields are stored.
  */
-public class IELTS {
-
-	private String country;
-	private String location;
-	private String candidateName;
-	private String reference;
-	private String examFormat;
-	private String registrationDate;
-	private String testDate;
-	private String paymentRef;
-	private String total;
-	private String paymentType;
-
-	public String getCountry() {
-		return country;
-	}
+public abstract class IELTS {
 
-	public void setCountry(String country) {
-		this.country = country;
-	}
+	public abstract String getCountry();
 
-	public String getLocation() {
-		return location;
-	}
+	public abstract void setCountry(String country);
 
-	public void setLocation(String location) {
-		this.location = location;
-	}
+	public abstract String getLocation();
 
-	public String getCandidateName() {
-		return candidateName;
-	}
+	public abstract void setLocation(String location);
 
-	public void setCandidateName(String candidateName) {
-		this.candidateName = candidateName;
-	}
+	public abstract String getCandidateName();
 
-	public String getReference() {
-		return reference;
-	}
+	public abstract void setCandidateName(String candidateName);
 
-	public void setReference(String reference) {
-		this.reference = reference;
-	}
+	public abstract String getReference();
 
-	public String getExamFormat() {
-		return examFormat;
-	}
+	public abstract void setReference(String reference);
 
-	public void setExamFormat(String examFormat) {
-		this.examFormat = examFormat;
-	}
+	public abstract String getExamFormat();
 
-	public String getRegistrationDate() {
-		return registrationDate;
-	}
+	public abstract void setExamFormat(String examFormat);
 
-	public void setRegistrationDate(String registrationDate) {
-		this.registrationDate = registrationDate;
-	}
+	public abstract String getRegistrationDate();
 
-	public String getTestDate() {
-		return testDate;
-	}
+	public abstract void setRegistrationDate(String registrationDate);
 
-	public void setTestDate(String testDate) {
-		this.testDate = testDate;
-	}
+	public abstract String getTestDate();
 
-	public String getPaymentRef() {
-		return paymentRef;
-	}
+	public abstract void setTestDate(String testDate);
 
-	public void setPaymentRef(String paymentRef) {
-		this.paymentRef = paymentRef;
-	}
+	public abstract String getPaymentRef();
 
-	public String getTotal() {
-		return total;
-	}
+	public abstract void setPaymentRef(String paymentRef);
 
-	public void setTotal(String total) {
-		this.total = total;
-	}
+	public abstract String getTotal();
 
-	public String getPaymentType() {
-		return paymentType;
-	}
+	public abstract void setTotal(String total);
 
-	public void setPaymentType(String paymentType) {
-		this.paymentType = paymentType;
-	}
+	public abstract String getPaymentType();
+
+	public abstract void setPaymentType(String paymentType);
+
+	/**
+	 * Gets the fingerprint of the row the model is mapped from
+	 */
+	public abstract long getFingerprint();
+
+	public abstract void setFingerprint(long fingerprint);
 
 	/**
 	 * Gets the string representation of the IELTS model
@@ -102,13 +59,14 @@ public class IELTS {
 	public String toString() {
 
 		StringBuilder keyBuilder = new StringBuilder();
-		keyBuilder.append(this.country);
+		keyBuilder.append(getCountry());
 		keyBuilder.append(" ");
-		keyBuilder.append(this.candidateName);
+		keyBuilder.append(getCandidateName());
 		keyBuilder.append(" ");
 
-		if (!this.reference.equals("")) {
-			keyBuilder.append(this.reference.substring(this.reference.length() - 7));
+		String reference = getReference();
+		if (!reference.equals("")) {
+			keyBuilder.append(reference.substring(reference.length() - 7));
 		}
 		return keyBuilder.toString();
 	}
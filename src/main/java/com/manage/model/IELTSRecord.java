@@ -0,0 +1,123 @@
+package com.manage.model;
+
+import com.manage.util.CompactAmount;
+import com.manage.util.CompactDate;
+import com.manage.util.StringDictionary;
+
+/**
+ * The model IELTSRecord. It holds the IELTS fields read from a row. The
+ * repeating values are held as dictionary codes, the dates as epoch days and the
+ * total as minor units, while the getters give back the text of the sheet. A
+ * date or total which does not encode is kept as its text.
+ */
+public class IELTSRecord extends IELTS {
+
+	private int country = StringDictionary.NULL;
+	private int location = StringDictionary.NULL;
+	private String candidateName;
+	private String reference;
+	private int examFormat = StringDictionary.NULL;
+	private int registrationDate = CompactDate.NULL;
+	private String registrationDateText;
+	private int testDate = CompactDate.NULL;
+	private String testDateText;
+	private String paymentRef;
+	private long total = CompactAmount.NULL;
+	private String totalText;
+	private int paymentType = StringDictionary.NULL;
+	private long fingerprint;
+
+	public String getCountry() {
+		return StringDictionary.SHARED.value(country);
+	}
+
+	public void setCountry(String country) {
+		this.country = StringDictionary.SHARED.code(country);
+	}
+
+	public String getLocation() {
+		return StringDictionary.SHARED.value(location);
+	}
+
+	public void setLocation(String location) {
+		this.location = StringDictionary.SHARED.code(location);
+	}
+
+	public String getCandidateName() {
+		return candidateName;
+	}
+
+	public void setCandidateName(String candidateName) {
+		this.candidateName = candidateName;
+	}
+
+	public String getReference() {
+		return reference;
+	}
+
+	public void setReference(String reference) {
+		this.reference = reference;
+	}
+
+	public String getExamFormat() {
+		return StringDictionary.SHARED.value(examFormat);
+	}
+
+	public void setExamFormat(String examFormat) {
+		this.examFormat = StringDictionary.SHARED.code(examFormat);
+	}
+
+	public String getRegistrationDate() {
+		return registrationDateText != null ? registrationDateText : CompactDate.decode(registrationDate);
+	}
+
+	public void setRegistrationDate(String registrationDate) {
+		this.registrationDate = CompactDate.encode(registrationDate);
+		this.registrationDateText = this.registrationDate == CompactDate.TEXT ? registrationDate : null;
+	}
+
+	public String getTestDate() {
+		return testDateText != null ? testDateText : CompactDate.decode(testDate);
+	}
+
+	public void setTestDate(String testDate) {
+		this.testDate = CompactDate.encode(testDate);
+		this.testDateText = this.testDate == CompactDate.TEXT ? testDate : null;
+	}
+
+	public String getPaymentRef() {
+		return paymentRef;
+	}
+
+	public void setPaymentRef(String paymentRef) {
+		this.paymentRef = paymentRef;
+	}
+
+	public String getTotal() {
+		return totalText != null ? totalText : CompactAmount.decode(total);
+	}
+
+	public void setTotal(String total) {
+		this.total = CompactAmount.encode(total);
+		this.totalText = this.total == CompactAmount.TEXT ? total : null;
+	}
+
+	public String getPaymentType() {
+		return StringDictionary.SHARED.value(paymentType);
+	}
+
+	public void setPaymentType(String paymentType) {
+		this.paymentType = StringDictionary.SHARED.code(paymentType);
+	}
+
+	/**
+	 * Gets the fingerprint of the row the model is mapped from
+	 */
+	public long getFingerprint() {
+		return fingerprint;
+	}
+
+	public void setFingerprint(long fingerprint) {
+		this.fingerprint = fingerprint;
+	}
+}
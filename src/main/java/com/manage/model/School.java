@@ -1,82 +1,49 @@
 package com.manage.model;
 
 /**
- * The model School. It holds the mandatory School fields.
+ * The model School. It holds the mandatory School fields. Its implementations
+ * decide how the fields are stored.
  */
-public class School {
-
-	private String firstName;
-	private String lastName;
-	private String country;
-	private String centreName;
-	private String totalLocalFee;
-	private String numberOfExams;
-	private String registrationId;
-	private String paymentReference;
-
-	public String getFirstName() {
-		return firstName;
-	}
+public abstract class School {
 
-	public void setFirstName(String firstName) {
-		this.firstName = firstName;
-	}
+	public abstract String getFirstName();
 
-	public String getLastName() {
-		return lastName;
-	}
+	public abstract void setFirstName(String firstName);
 
-	public void setLastName(String lastName) {
-		this.lastName = lastName;
-	}
+	public abstract String getLastName();
 
-	public String getCountry() {
-		return country;
-	}
+	public abstract void setLastName(String lastName);
 
-	public void setCountry(String country) {
-		this.country = country;
-	}
+	public abstract String getCountry();
 
-	public String getCentreName() {
-		return centreName;
-	}
+	public abstract void setCountry(String country);
 
-	public void setCentreName(String centreName) {
-		this.centreName = centreName;
-	}
+	public abstract String getCentreName();
 
-	public String getTotalLocalFee() {
-		return totalLocalFee;
-	}
+	public abstract void setCentreName(String centreName);
 
-	public void setTotalLocalFee(String totalLocalFee) {
-		this.totalLocalFee = totalLocalFee;
-	}
+	public abstract String getTotalLocalFee();
 
-	public String getNumberOfExams() {
-		return numberOfExams;
-	}
+	public abstract void setTotalLocalFee(String totalLocalFee);
 
-	public void setNumberOfExams(String numberOfExams) {
-		this.numberOfExams = numberOfExams;
-	}
+	public abstract String getNumberOfExams();
 
-	public String getRegistrationId() {
-		return registrationId;
-	}
+	public abstract void setNumberOfExams(String numberOfExams);
 
-	public void setRegistrationId(String registrationId) {
-		this.registrationId = registrationId;
-	}
+	public abstract String getRegistrationId();
 
-	public String getPaymentReference() {
-		return paymentReference;
-	}
+	public abstract void setRegistrationId(String registrationId);
 
-	public void setPaymentReference(String paymentReference) {
-		this.paymentReference = paymentReference;
-	}
+	public abstract String getPaymentReference();
+
+	public abstract void setPaymentReference(String paymentReference);
+
+	/**
+	 * Gets the fingerprint of the row the model is mapped from
+	 */
+	public abstract long getFingerprint();
+
+	public abstract void setFingerprint(long fingerprint);
 
 	/**
 	 * Gets the string representation of the IELTS model
@@ -84,13 +51,14 @@ public class School {
 	public String toString() {
 
 		StringBuilder keyBuilder = new StringBuilder();
-		keyBuilder.append(this.country);
+		keyBuilder.append(getCountry());
 		keyBuilder.append(" ");
-		keyBuilder.append(this.lastName);
+		keyBuilder.append(getLastName());
 		keyBuilder.append(" ");
 
-		if (!this.registrationId.equals("")) {
-			keyBuilder.append(this.registrationId.substring(this.registrationId.length() - 7));
+		String registrationId = getRegistrationId();
+		if (!registrationId.equals("")) {
+			keyBuilder.append(registrationId.substring(registrationId.length() - 7));
 		}
 		return keyBuilder.toString();
 	}
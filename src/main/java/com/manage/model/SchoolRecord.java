@@ -0,0 +1,100 @@
+package com.manage.model;
+
+import com.manage.util.CompactAmount;
+import com.manage.util.StringDictionary;
+
+/**
+ * The model SchoolRecord. It holds the School fields read from a row. The
+ * repeating values are held as dictionary codes and the fee as minor units,
+ * while the getters give back the text of the sheet. A fee which does not
+ * encode is kept as its text.
+ */
+public class SchoolRecord extends School {
+
+	private String firstName;
+	private String lastName;
+	private int country = StringDictionary.NULL;
+	private int centreName = StringDictionary.NULL;
+	private long totalLocalFee = CompactAmount.NULL;
+	private String totalLocalFeeText;
+	private int numberOfExams = StringDictionary.NULL;
+	private String registrationId;
+	private String paymentReference;
+	private long fingerprint;
+
+	public String getFirstName() {
+		return firstName;
+	}
+
+	public void setFirstName(String firstName) {
+		this.firstName = firstName;
+	}
+
+	public String getLastName() {
+		return lastName;
+	}
+
+	public void setLastName(String lastName) {
+		this.lastName = lastName;
+	}
+
+	public String getCountry() {
+		return StringDictionary.SHARED.value(country);
+	}
+
+	public void setCountry(String country) {
+		this.country = StringDictionary.SHARED.code(country);
+	}
+
+	public String getCentreName() {
+		return StringDictionary.SHARED.value(centreName);
+	}
+
+	public void setCentreName(String centreName) {
+		this.centreName = StringDictionary.SHARED.code(centreName);
+	}
+
+	public String getTotalLocalFee() {
+		return totalLocalFeeText != null ? totalLocalFeeText : CompactAmount.decode(totalLocalFee);
+	}
+
+	public void setTotalLocalFee(String totalLocalFee) {
+		this.totalLocalFee = CompactAmount.encode(totalLocalFee);
+		this.totalLocalFeeText = this.totalLocalFee == CompactAmount.TEXT ? totalLocalFee : null;
+	}
+
+	public String getNumberOfExams() {
+		return StringDictionary.SHARED.value(numberOfExams);
+	}
+
+	public void setNumberOfExams(String numberOfExams) {
+		this.numberOfExams = StringDictionary.SHARED.code(numberOfExams);
+	}
+
+	public String getRegistrationId() {
+		return registrationId;
+	}
+
+	public void setRegistrationId(String registrationId) {
+		this.registrationId = registrationId;
+	}
+
+	public String getPaymentReference() {
+		return paymentReference;
+	}
+
+	public void setPaymentReference(String paymentReference) {
+		this.paymentReference = paymentReference;
+	}
+
+	/**
+	 * Gets the fingerprint of the row the model is mapped from
+	 */
+	public long getFingerprint() {
+		return fingerprint;
+	}
+
+	public void setFingerprint(long fingerprint) {
+		this.fingerprint = fingerprint;
+	}
+}
@@ -1,19 +1,14 @@
 package com.manage.parser;
 
-import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
-import org.apache.poi.ss.usermodel.Cell;
-import org.apache.poi.ss.usermodel.Row;
-import org.apache.poi.ss.usermodel.Sheet;
-import org.apache.poi.ss.usermodel.Workbook;
-import org.bson.Document;
-
-import com.monitorjbl.xlsx.StreamingReader;
+import com.manage.mapper.IELTSMapper;
+import com.manage.metrics.Metrics;
+import com.manage.model.IELTS;
 
 /**
  * The IELTSSheetParser. It holds implementation to parse the IELTS sheet.
@@ -25,57 +20,67 @@ public class IELTSSheetParser {
 	}
 
 	/**
-	 * Parses the IELTS Sheet
+	 * Parses the IELTS Sheet. Every row is mapped to the IELTS model as soon as it
+	 * is read, thus no intermediate row documents are held.
 	 * 
 	 * @param filePath The file path
-	 * @return The parsed document
+	 * @param consumer The IELTS consumer
+	 * @return The number of parsed records, or -1 if the sheet cannot be read
 	 */
-	public static Document parse(String filePath) {
-
-		Document ielts = new Document(); // It holds the final parsed document
-		List<Document> data = new ArrayList<>(); // It holds the list of IELTS records
-
-		try (Workbook workbook = StreamingReader.builder().rowCacheSize(100).bufferSize(4096)
-				.open(new File(filePath))) { // The file is read in chunks to avoid crashing in case of large sizes
-			Sheet sheet = workbook.getSheet("Unpaid");
-			Iterator<Row> iterator = sheet.iterator();
-
-			if (iterator.hasNext()) {
-//
-//				// Skipping the first empty row
-//				iterator.next();
-
-				// Parsing the column headings
-				List<String> headings = new ArrayList<>();
-				Row header = iterator.next();
-				Iterator<Cell> cellIterator = header.cellIterator();
+	public static int parse(String filePath, Consumer<IELTS> consumer) {
+		return parse(filePath, consumer, (rows, totalRows) -> {
+		});
+	}
 
-				while (cellIterator.hasNext()) {
-					headings.add(cellIterator.next().getStringCellValue().trim());
-				}
+	/**
+	 * Parses the IELTS Sheet and notifies the parse progress
+	 * 
+	 * @param filePath The file path
+	 * @param consumer The IELTS consumer
+	 * @param progress The parse progress
+	 * @return The number of parsed records, or -1 if the sheet cannot be read
+	 */
+	public static int parse(String filePath, Consumer<IELTS> consumer, ParseProgress progress) {
+		LongAdder mappingNanos = new LongAdder();
+		int rows = read(filePath, values -> {
+			long mappingStart = System.nanoTime();
+			IELTS ielts = IELTSMapper.map(values);
+			mappingNanos.add(System.nanoTime() - mappingStart);
+			return ielts;
+		}, consumer, progress);
+		Metrics.IELTS_SHEET.mapped(mappingNanos.sum());
+		return rows;
+	}
 
-				if (iterator.hasNext()) {
-					// Parsing the the column values from further rows
-					int totalColumns = headings.size();
+	/**
+	 * Parses the IELTS Sheet into the raw row values, in the order of
+	 * {@link IELTSMapper#HEADINGS}
+	 * 
+	 * @param filePath    The file path
+	 * @param rowConsumer The row values consumer
+	 * @param progress    The parse progress
+	 * @return The number of parsed rows, or -1 if the sheet cannot be read
+	 */
+	public static int parseRows(String filePath, Consumer<String[]> rowConsumer, ParseProgress progress) {
+		return read(filePath, Function.identity(), rowConsumer, progress);
+	}
 
-					while (iterator.hasNext()) {
-						Document rowDocument = new Document();
-						Row row = iterator.next();
+	/**
+	 * Reads the IELTS Sheet, mapping every row on the parsing threads
+	 */
+	private static <T> int read(String filePath, Function<String[], T> rowMapper, Consumer<? super T> consumer,
+			ParseProgress progress) {
 
-						for (int c = 0; c < totalColumns; c++) {
-							Cell cell = row.getCell(c, Row.MissingCellPolicy.CREATE_NULL_AS_BLANK);
-							rowDocument.append(headings.get(c), cell.getStringCellValue().trim());
-						}
-						data.add(rowDocument);
-					}
-				}
-			}
-			ielts.put("data", data);
+		try {
+			long start = System.nanoTime();
+			int rows = SheetReader.read(filePath, "Unpaid", IELTSMapper.HEADINGS, rowMapper, consumer, progress);
+			Metrics.IELTS_SHEET.parsed(rows, System.nanoTime() - start);
+			return rows;
 		} catch (FileNotFoundException fileNotFoundException) {
 			System.out.println("Error: The IELTS report not found.");
 		} catch (IOException ioException) {
 			System.out.println("Error: Reading IELTS report failed.");
 		}
-		return ielts;
+		return -1;
 	}
 }
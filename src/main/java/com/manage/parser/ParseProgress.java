@@ -0,0 +1,16 @@
+package com.manage.parser;
+
+/**
+ * The ParseProgress. It is notified while the rows of a sheet are parsed.
+ */
+@FunctionalInterface
+public interface ParseProgress {
+
+	/**
+	 * Notifies the parse progress
+	 * 
+	 * @param rows      The rows parsed so far
+	 * @param totalRows The total rows as declared by the sheet, 0 if unknown
+	 */
+	void progress(int rows, int totalRows);
+}
@@ -0,0 +1,168 @@
+package com.manage.parser;
+
+import java.util.Arrays;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * The SharedStrings. It holds the shared-strings table of a workbook in a
+ * single char array, thus a table of any size costs two arrays instead of a
+ * string per entry. A string is created only when a cell of a requested column
+ * refers to the entry. The table is never modified once read, and it is safe
+ * for concurrent use.
+ */
+class SharedStrings {
+
+	/**
+	 * The table of a workbook without shared strings
+	 */
+	static final SharedStrings EMPTY = new SharedStrings(new char[0], new int[1], 0);
+
+	private final char[] pool;
+	private final int[] offsets;
+	private final int size;
+
+	/**
+	 * Creates the table
+	 *
+	 * @param pool    The characters of all the entries
+	 * @param offsets The start of every entry in the pool, followed by the end of
+	 *                the last entry
+	 * @param size    The number of entries
+	 */
+	private SharedStrings(char[] pool, int[] offsets, int size) {
+		this.pool = pool;
+		this.offsets = offsets;
+		this.size = size;
+	}
+
+	/**
+	 * Reads the shared-strings table. The text of an entry is the text of its
+	 * runs, the phonetic runs excepted, as POI reads it.
+	 *
+	 * @param xmlReader The reader of the shared-strings XML
+	 * @return The table
+	 * @throws XMLStreamException When the XML is malformed
+	 */
+	static SharedStrings read(XMLStreamReader xmlReader) throws XMLStreamException {
+
+		char[] pool = new char[4096];
+		int length = 0;
+		int[] offsets = new int[1024];
+		int size = 0;
+		int phonetic = 0;
+		boolean text = false;
+
+		while (xmlReader.hasNext()) {
+			switch (xmlReader.next()) {
+			case XMLStreamConstants.START_ELEMENT:
+				String name = xmlReader.getLocalName();
+				if (name.equals("t")) {
+					text = phonetic == 0;
+				} else if (name.equals("rPh")) {
+					phonetic++;
+				} else if (name.equals("sst")) {
+					String uniqueCount = xmlReader.getAttributeValue(null, "uniqueCount");
+					if (uniqueCount != null && uniqueCount.matches("\\d{1,7}")) { // Presized, up to a sane count
+						offsets = new int[Integer.parseInt(uniqueCount) + 1];
+					}
+				}
+				break;
+			case XMLStreamConstants.CHARACTERS:
+			case XMLStreamConstants.CDATA:
+			case XMLStreamConstants.SPACE:
+				if (text) {
+					int textLength = xmlReader.getTextLength();
+					if (length + textLength > pool.length) {
+						pool = Arrays.copyOf(pool, Math.max(pool.length * 2, length + textLength));
+					}
+					System.arraycopy(xmlReader.getTextCharacters(), xmlReader.getTextStart(), pool, length, textLength);
+					length += textLength;
+				}
+				break;
+			case XMLStreamConstants.END_ELEMENT:
+				name = xmlReader.getLocalName();
+				if (name.equals("t")) {
+					text = false;
+				} else if (name.equals("rPh")) {
+					phonetic--;
+				} else if (name.equals("si")) {
+					if (size + 2 > offsets.length) {
+						offsets = Arrays.copyOf(offsets, offsets.length * 2);
+					}
+					length = decodeEscapes(pool, offsets[size], length);
+					offsets[++size] = length;
+				}
+				break;
+			default:
+				break;
+			}
+		}
+
+		// The spare capacity is released, as the table lives as long as the parse
+		return new SharedStrings(Arrays.copyOf(pool, length), Arrays.copyOf(offsets, size + 1), size);
+	}
+
+	/**
+	 * Decodes the _xHHHH_ escapes of the characters the XML cannot hold, in place
+	 *
+	 * @param chars The characters
+	 * @param start The start of the text
+	 * @param end   The end of the text
+	 * @return The end of the decoded text
+	 */
+	static int decodeEscapes(char[] chars, int start, int end) {
+
+		int decoded = start;
+		for (int c = start; c < end; c++) {
+			if (chars[c] == '_' && c + 6 < end && chars[c + 1] == 'x' && chars[c + 6] == '_') {
+				int code = 0;
+				for (int d = c + 2; d < c + 6 && code >= 0; d++) {
+					int digit = Character.digit(chars[d], 16);
+					code = digit < 0 ? -1 : code * 16 + digit;
+				}
+				if (code >= 0) {
+					chars[decoded++] = (char) code;
+					c += 6;
+					continue;
+				}
+			}
+			chars[decoded++] = chars[c];
+		}
+		return decoded;
+	}
+
+	/**
+	 * Gets the trimmed text of the entry. An index out of the table is an empty
+	 * text.
+	 *
+	 * @param index The entry index
+	 * @return The trimmed text
+	 */
+	String get(int index) {
+
+		if (index < 0 || index >= size) {
+			return "";
+		}
+		int start = offsets[index];
+		int end = offsets[index + 1];
+		while (start < end && pool[start] <= ' ') {
+			start++;
+		}
+		while (end > start && pool[end - 1] <= ' ') {
+			end--;
+		}
+		return new String(pool, start, end - start);
+	}
+
+	/**
+	 * Gets the number of entries
+	 *
+	 * @return The number of entries
+	 */
+	int size() {
+		return size;
+	}
+}
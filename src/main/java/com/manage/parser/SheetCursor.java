@@ -0,0 +1,470 @@
+package com.manage.parser;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.apache.poi.ooxml.POIXMLException;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JRuntimeException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.openxml4j.opc.PackagePart;
+import org.apache.poi.ss.usermodel.BuiltinFormats;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.apache.poi.xssf.usermodel.XSSFRelation;
+
+/**
+ * The SheetCursor. It reads the rows of a sheet straight from the sheet XML of
+ * the workbook. The shared strings are read once into {@link SharedStrings},
+ * the cells of the columns not selected are skipped without being decoded, and
+ * a shared-string cell is kept as its index in the table until its text is
+ * needed. The cells are read as {@link org.apache.poi.ss.usermodel.Cell}
+ * getStringCellValue() reads them, the numbers formatted by their style.
+ */
+class SheetCursor implements Closeable {
+
+	/**
+	 * The shared-string index of a cell which is not a shared string
+	 */
+	static final int NOT_SHARED = -1;
+
+	private final OPCPackage opcPackage;
+	private final InputStream sheetStream;
+	private final XMLStreamReader xmlReader;
+	private final SharedStrings sharedStrings;
+	private final StylesTable stylesTable;
+	private final DataFormatter dataFormatter = new DataFormatter();
+	private final StringBuilder text = new StringBuilder(64);
+	private String[] styleFormats = new String[0];
+	private short[] styleFormatIndexes = new short[0];
+	private int[] slotOfColumn = new int[0];
+	private int[] nextSlot = new int[0];
+	private int lastRowNum;
+	private boolean finished;
+
+	/**
+	 * Opens the sheet of the workbook
+	 */
+	private SheetCursor(OPCPackage opcPackage, String sheetName) throws IOException, XMLStreamException,
+			OpenXML4JException {
+
+		this.opcPackage = opcPackage;
+		XSSFReader xssfReader = new XSSFReader(opcPackage);
+		XMLInputFactory xmlInputFactory = XMLInputFactory.newInstance();
+		xmlInputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+		xmlInputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+
+		List<PackagePart> sharedStringsParts = opcPackage
+				.getPartsByContentType(XSSFRelation.SHARED_STRINGS.getContentType());
+		if (sharedStringsParts.isEmpty()) {
+			sharedStrings = SharedStrings.EMPTY;
+		} else {
+			try (InputStream sharedStringsStream = sharedStringsParts.get(0).getInputStream()) {
+				XMLStreamReader sharedStringsReader = xmlInputFactory.createXMLStreamReader(sharedStringsStream);
+				sharedStrings = SharedStrings.read(sharedStringsReader);
+				sharedStringsReader.close();
+			}
+		}
+		stylesTable = xssfReader.getStylesTable();
+
+		XSSFReader.SheetIterator sheetIterator = (XSSFReader.SheetIterator) xssfReader.getSheetsData();
+		InputStream namedSheetStream = null;
+		while (namedSheetStream == null && sheetIterator.hasNext()) {
+			InputStream nextSheetStream = sheetIterator.next();
+			if (sheetIterator.getSheetName().equalsIgnoreCase(sheetName)) {
+				namedSheetStream = nextSheetStream;
+			} else {
+				nextSheetStream.close();
+			}
+		}
+		if (namedSheetStream == null) {
+			throw new IOException("The sheet " + sheetName + " is not in the workbook.");
+		}
+		sheetStream = namedSheetStream;
+		xmlReader = xmlInputFactory.createXMLStreamReader(sheetStream);
+
+		// The declared size precedes the rows
+		while (xmlReader.hasNext()) {
+			if (xmlReader.next() == XMLStreamConstants.START_ELEMENT) {
+				String name = xmlReader.getLocalName();
+				if (name.equals("dimension")) {
+					lastRowNum = lastRowNum(xmlReader.getAttributeValue(null, "ref"));
+				} else if (name.equals("sheetData")) {
+					return;
+				}
+			}
+		}
+		finished = true;
+	}
+
+	/**
+	 * Opens the sheet of the workbook
+	 *
+	 * @param filePath  The file path
+	 * @param sheetName The sheet name
+	 * @return The cursor, before the first row
+	 * @throws IOException When the workbook cannot be read or the sheet is not in
+	 *                     the workbook
+	 */
+	static SheetCursor open(String filePath, String sheetName) throws IOException {
+
+		File file = new File(filePath);
+		if (!file.isFile()) {
+			throw new FileNotFoundException(filePath);
+		}
+
+		OPCPackage opcPackage;
+		try {
+			opcPackage = OPCPackage.open(file, PackageAccess.READ);
+		} catch (OpenXML4JException | RuntimeException exception) {
+			throw new IOException("The workbook " + filePath + " cannot be opened.", exception);
+		}
+
+		try {
+			return new SheetCursor(opcPackage, sheetName);
+		} catch (OpenXML4JException | OpenXML4JRuntimeException | POIXMLException | XMLStreamException exception) {
+			opcPackage.revert();
+			throw new IOException("The workbook " + filePath + " cannot be read.", exception);
+		} catch (IOException | RuntimeException exception) {
+			opcPackage.revert();
+			throw exception;
+		}
+	}
+
+	/**
+	 * Gets the last row number of the declared dimension, 0 if there is none
+	 */
+	private static int lastRowNum(String ref) {
+
+		if (ref == null) {
+			return 0;
+		}
+		int lastRow = 0;
+		for (int c = ref.indexOf(':') + 1; c < ref.length(); c++) {
+			char character = ref.charAt(c);
+			if (character >= '0' && character <= '9' && lastRow < 100_000_000) {
+				lastRow = lastRow * 10 + character - '0';
+			}
+		}
+		return Math.max(lastRow - 1, 0);
+	}
+
+	/**
+	 * Gets the last row number declared by the sheet. The first row is 0.
+	 *
+	 * @return The last row number, 0 if unknown
+	 */
+	int getLastRowNum() {
+		return lastRowNum;
+	}
+
+	SharedStrings getSharedStrings() {
+		return sharedStrings;
+	}
+
+	/**
+	 * Selects the columns of the next rows. The cell of a column is read to the
+	 * slot of every heading of the column.
+	 *
+	 * @param columns The column of every heading, -1 for a missing heading
+	 */
+	void select(int[] columns) {
+
+		int lastColumn = -1;
+		for (int column : columns) {
+			lastColumn = Math.max(lastColumn, column);
+		}
+		slotOfColumn = new int[lastColumn + 1];
+		Arrays.fill(slotOfColumn, -1);
+		nextSlot = new int[columns.length];
+		for (int h = columns.length - 1; h >= 0; h--) {
+			if (columns[h] >= 0) {
+				nextSlot[h] = slotOfColumn[columns[h]];
+				slotOfColumn[columns[h]] = h;
+			}
+		}
+	}
+
+	/**
+	 * Reads the text of every cell of the next row. A missing cell is an empty
+	 * text.
+	 *
+	 * @return The texts by column, or null when there are no more rows
+	 * @throws IOException When the sheet XML cannot be read
+	 */
+	String[] nextTexts() throws IOException {
+
+		List<String> texts = new ArrayList<>();
+		if (!readRow(null, null, 0, texts)) {
+			return null;
+		}
+		return texts.toArray(new String[0]);
+	}
+
+	/**
+	 * Reads the cells of the selected columns of the next row. A shared-string
+	 * cell is read as its index, any other cell as its text, while a missing
+	 * cell is {@link #NOT_SHARED} without a text.
+	 *
+	 * @param sharedCells The shared-string indexes, by slot from the offset
+	 * @param textCells   The texts, by slot from the offset
+	 * @param offset      The offset of the row slots
+	 * @return Whether a row was read
+	 * @throws IOException When the sheet XML cannot be read
+	 */
+	boolean nextRow(int[] sharedCells, String[] textCells, int offset) throws IOException {
+
+		Arrays.fill(sharedCells, offset, offset + nextSlot.length, NOT_SHARED);
+		Arrays.fill(textCells, offset, offset + nextSlot.length, null);
+		return readRow(sharedCells, textCells, offset, null);
+	}
+
+	/**
+	 * Reads the next row, either the selected cells or the text of every cell
+	 */
+	private boolean readRow(int[] sharedCells, String[] textCells, int offset, List<String> texts)
+			throws IOException {
+
+		if (finished) {
+			return false;
+		}
+
+		try {
+			// Moving to the next row, unless the sheet data is over
+			while (true) {
+				if (!xmlReader.hasNext()) {
+					finished = true;
+					return false;
+				}
+				int event = xmlReader.next();
+				if (event == XMLStreamConstants.START_ELEMENT && xmlReader.getLocalName().equals("row")) {
+					break;
+				}
+				if (event == XMLStreamConstants.END_ELEMENT && xmlReader.getLocalName().equals("sheetData")) {
+					finished = true;
+					return false;
+				}
+			}
+
+			int column = -1;
+			while (xmlReader.hasNext()) {
+				int event = xmlReader.next();
+				if (event == XMLStreamConstants.END_ELEMENT && xmlReader.getLocalName().equals("row")) {
+					return true;
+				}
+				if (event != XMLStreamConstants.START_ELEMENT || !xmlReader.getLocalName().equals("c")) {
+					continue;
+				}
+
+				column = column(xmlReader.getAttributeValue(null, "r"), column + 1);
+				if (texts != null) {
+					String type = xmlReader.getAttributeValue(null, "t");
+					String style = xmlReader.getAttributeValue(null, "s");
+					while (texts.size() < column) {
+						texts.add("");
+					}
+					texts.add(type != null && type.equals("s") ? sharedStrings.get(readSharedIndex())
+							: format(type, style, readText()));
+				} else if (column < slotOfColumn.length && slotOfColumn[column] >= 0) {
+					String type = xmlReader.getAttributeValue(null, "t");
+					if (type != null && type.equals("s")) {
+						int sharedIndex = readSharedIndex();
+						for (int slot = slotOfColumn[column]; slot >= 0; slot = nextSlot[slot]) {
+							sharedCells[offset + slot] = sharedIndex;
+						}
+					} else {
+						String cellText = format(type, xmlReader.getAttributeValue(null, "s"), readText());
+						for (int slot = slotOfColumn[column]; slot >= 0; slot = nextSlot[slot]) {
+							textCells[offset + slot] = cellText;
+						}
+					}
+				}
+				// The cells of the other columns are skipped without reading their value
+			}
+			finished = true;
+			return true;
+		} catch (XMLStreamException exception) {
+			throw new IOException("The sheet cannot be read.", exception);
+		}
+	}
+
+	/**
+	 * Gets the column of the cell reference, or the next column when the cell has
+	 * no reference
+	 */
+	private static int column(String reference, int nextColumn) {
+
+		if (reference == null) {
+			return nextColumn;
+		}
+		int column = 0;
+		for (int c = 0; c < reference.length(); c++) {
+			char character = reference.charAt(c);
+			if (character >= 'A' && character <= 'Z') {
+				column = column * 26 + character - 'A' + 1;
+			} else if (character >= 'a' && character <= 'z') {
+				column = column * 26 + character - 'a' + 1;
+			} else {
+				break;
+			}
+		}
+		return column > 0 ? column - 1 : nextColumn;
+	}
+
+	/**
+	 * Reads the shared-string index of the value of the cell, without creating a
+	 * string
+	 */
+	private int readSharedIndex() throws XMLStreamException {
+
+		int sharedIndex = NOT_SHARED;
+		boolean value = false;
+		while (xmlReader.hasNext()) {
+			int event = xmlReader.next();
+			if (event == XMLStreamConstants.START_ELEMENT) {
+				value = xmlReader.getLocalName().equals("v");
+			} else if (event == XMLStreamConstants.CHARACTERS && value) {
+				char[] characters = xmlReader.getTextCharacters();
+				int end = xmlReader.getTextStart() + xmlReader.getTextLength();
+				for (int c = xmlReader.getTextStart(); c < end; c++) {
+					if (characters[c] >= '0' && characters[c] <= '9') {
+						sharedIndex = (sharedIndex == NOT_SHARED ? 0 : sharedIndex * 10) + characters[c] - '0';
+					}
+				}
+			} else if (event == XMLStreamConstants.END_ELEMENT) {
+				value = false;
+				if (xmlReader.getLocalName().equals("c")) {
+					break;
+				}
+			}
+		}
+		return sharedIndex;
+	}
+
+	/**
+	 * Reads the text of the value of the cell, or of its inline string
+	 */
+	private String readText() throws XMLStreamException {
+
+		text.setLength(0);
+		boolean value = false;
+		int phonetic = 0;
+		while (xmlReader.hasNext()) {
+			int event = xmlReader.next();
+			if (event == XMLStreamConstants.START_ELEMENT) {
+				String name = xmlReader.getLocalName();
+				if (name.equals("rPh")) {
+					phonetic++;
+				}
+				value = phonetic == 0 && (name.equals("v") || name.equals("t"));
+			} else if ((event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA
+					|| event == XMLStreamConstants.SPACE) && value) {
+				text.append(xmlReader.getTextCharacters(), xmlReader.getTextStart(), xmlReader.getTextLength());
+			} else if (event == XMLStreamConstants.END_ELEMENT) {
+				value = false;
+				String name = xmlReader.getLocalName();
+				if (name.equals("rPh")) {
+					phonetic--;
+				} else if (name.equals("c")) {
+					break;
+				}
+			}
+		}
+		return text.toString();
+	}
+
+	/**
+	 * Formats the text of a cell which is not a shared string, by its type
+	 */
+	private String format(String type, String style, String cellText) {
+
+		if (type == null || type.equals("n")) {
+			return formatNumber(style, cellText);
+		}
+		switch (type) {
+		case "inlineStr":
+			char[] characters = cellText.toCharArray();
+			return new String(characters, 0, SharedStrings.decodeEscapes(characters, 0, characters.length));
+		case "e":
+			return "ERROR:  " + cellText;
+		default:
+			return cellText;
+		}
+	}
+
+	/**
+	 * Formats the number by the data format of the cell style. A cell without a
+	 * style has the default style.
+	 */
+	private String formatNumber(String style, String cellText) {
+
+		if (cellText.isEmpty() || stylesTable == null || stylesTable.getNumCellStyles() == 0) {
+			return cellText;
+		}
+
+		int styleIndex;
+		try {
+			styleIndex = style == null ? 0 : Integer.parseInt(style);
+		} catch (NumberFormatException exception) {
+			styleIndex = 0;
+		}
+		if (styleIndex < 0 || styleIndex >= stylesTable.getNumCellStyles()) {
+			styleIndex = 0;
+		}
+
+		if (styleIndex >= styleFormats.length) {
+			int styles = stylesTable.getNumCellStyles();
+			styleFormats = Arrays.copyOf(styleFormats, styles);
+			styleFormatIndexes = Arrays.copyOf(styleFormatIndexes, styles);
+		}
+		if (styleFormats[styleIndex] == null) {
+			XSSFCellStyle cellStyle = stylesTable.getStyleAt(styleIndex);
+			styleFormatIndexes[styleIndex] = cellStyle.getDataFormat();
+			String dataFormat = cellStyle.getDataFormatString();
+			if (dataFormat == null) {
+				dataFormat = BuiltinFormats.getBuiltinFormat(styleFormatIndexes[styleIndex]);
+			}
+			styleFormats[styleIndex] = dataFormat == null ? "" : dataFormat;
+		}
+
+		if (styleFormats[styleIndex].isEmpty()) {
+			return cellText;
+		}
+		try {
+			return dataFormatter.formatRawCellContents(Double.parseDouble(cellText),
+					styleFormatIndexes[styleIndex], styleFormats[styleIndex]);
+		} catch (NumberFormatException exception) {
+			return cellText;
+		}
+	}
+
+	/**
+	 * Closes the sheet and the workbook
+	 */
+	@Override
+	public void close() throws IOException {
+
+		try {
+			xmlReader.close();
+		} catch (XMLStreamException exception) {
+			// The sheet stream is closed anyway
+		} finally {
+			sheetStream.close();
+			opcPackage.revert();
+		}
+	}
+}
@@ -0,0 +1,322 @@
+package com.manage.parser;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import com.manage.cache.SnapshotCache;
+
+/**
+ * The SheetReader. It streams the rows of a sheet as values of the requested
+ * columns only. The cells of the other columns are never decoded, and the
+ * shared strings are read once per workbook. The rows are decoded and mapped on
+ * every core, while the consumer still receives them in the sheet order.
+ */
+public class SheetReader {
+
+	/**
+	 * The number of rows between two progress notifications
+	 */
+	private static final int PROGRESS_INTERVAL = 1000;
+
+	/**
+	 * Whether the parsed rows are kept in a snapshot. It is disabled with
+	 * -Dmanager.snapshot=false, thus every read parses the workbook.
+	 */
+	private static final boolean SNAPSHOT = !"false".equals(System.getProperty("manager.snapshot"));
+
+	/**
+	 * The number of threads decoding and mapping the rows. It is set with
+	 * -Dmanager.parser.threads=&lt;threads&gt;, and a single thread parses the
+	 * sheet sequentially.
+	 */
+	private static final int THREADS = Integer.getInteger("manager.parser.threads",
+			Runtime.getRuntime().availableProcessors());
+
+	/**
+	 * The number of rows of a batch handed over to a parsing thread
+	 */
+	private static final int BATCH_ROWS = 256;
+
+	/**
+	 * The maximum number of batches decoded ahead of the consumer
+	 */
+	private static final int IN_FLIGHT = Math.max(THREADS, 1) * 2;
+
+	private SheetReader() {
+		// Its a utility class. Thus instantiation is not allowed.
+	}
+
+	/**
+	 * Resolves the column index of every requested heading from the header row.
+	 * When a heading repeats, the last column wins. Missing headings resolve to -1.
+	 * 
+	 * @param header   The texts of the header row, by column
+	 * @param headings The requested headings
+	 * @return The column indexes in the order of the requested headings
+	 */
+	private static int[] resolveColumns(String[] header, String[] headings) {
+
+		int[] columns = new int[headings.length];
+		for (int h = 0; h < headings.length; h++) {
+			columns[h] = -1;
+		}
+
+		for (int c = 0; c < header.length; c++) {
+			String heading = header[c].trim();
+			for (int h = 0; h < headings.length; h++) {
+				if (headings[h].equals(heading)) {
+					columns[h] = c;
+				}
+			}
+		}
+		return columns;
+	}
+
+	/**
+	 * Reads the sheet row by row. The column indexes are resolved once from the
+	 * header row, and every further row is handed over as the trimmed values of
+	 * the requested headings. A value is null when its heading is not present.
+	 * 
+	 * @param filePath    The file path
+	 * @param sheetName   The sheet name
+	 * @param headings    The requested headings
+	 * @param rowConsumer The row consumer
+	 * @return The number of rows read
+	 * @throws IOException When reading the file fails
+	 */
+	public static int read(String filePath, String sheetName, String[] headings, Consumer<String[]> rowConsumer)
+			throws IOException {
+		return read(filePath, sheetName, headings, rowConsumer, (rows, totalRows) -> {
+		});
+	}
+
+	/**
+	 * Reads the sheet row by row and notifies the progress every
+	 * {@link #PROGRESS_INTERVAL} rows and once the sheet is completed. The rows
+	 * are read from the snapshot of the sheet when the sheet is unchanged since
+	 * the last parse, otherwise a new snapshot is written while parsing, unless
+	 * the snapshots are disabled.
+	 * 
+	 * @param filePath    The file path
+	 * @param sheetName   The sheet name
+	 * @param headings    The requested headings
+	 * @param rowConsumer The row consumer
+	 * @param progress    The parse progress
+	 * @return The number of rows read
+	 * @throws IOException When reading the file fails
+	 */
+	public static int read(String filePath, String sheetName, String[] headings, Consumer<String[]> rowConsumer,
+			ParseProgress progress) throws IOException {
+		return read(filePath, sheetName, headings, Function.identity(), rowConsumer, progress);
+	}
+
+	/**
+	 * Reads the sheet row by row, mapping every row. When the workbook is parsed
+	 * on several threads, the rows are mapped on the parsing threads too, thus
+	 * the mapper must be safe for concurrent use. The consumer is always called
+	 * on the calling thread, in the sheet order.
+	 * 
+	 * @param <T>       The mapped row type
+	 * @param filePath  The file path
+	 * @param sheetName The sheet name
+	 * @param headings  The requested headings
+	 * @param rowMapper The row mapper, of the values in the order of the headings
+	 * @param consumer  The mapped row consumer
+	 * @param progress  The parse progress
+	 * @return The number of rows read
+	 * @throws IOException When reading the file fails
+	 */
+	public static <T> int read(String filePath, String sheetName, String[] headings, Function<String[], T> rowMapper,
+			Consumer<? super T> consumer, ParseProgress progress) throws IOException {
+
+		if (!SNAPSHOT) {
+			return parse(filePath, sheetName, headings, rowMapper, (values, row) -> consumer.accept(row), progress);
+		}
+
+		// An unchanged sheet is read from its snapshot. The snapshot is checked as a
+		// whole first, thus a rejected snapshot has consumed no row and the sheet is
+		// parsed instead.
+		int cachedRows = SnapshotCache.read(filePath, sheetName, headings,
+				values -> consumer.accept(rowMapper.apply(values)), progress);
+		if (cachedRows >= 0) {
+			return cachedRows;
+		}
+
+		SnapshotCache.Writer snapshotWriter = SnapshotCache.writer(filePath, sheetName, headings);
+		BiConsumer<String[], T> rowSink = snapshotWriter == null ? (values, row) -> consumer.accept(row)
+				: (values, row) -> {
+					snapshotWriter.write(values);
+					consumer.accept(row);
+				};
+
+		try {
+			int rows = parse(filePath, sheetName, headings, rowMapper, rowSink, progress);
+			if (snapshotWriter != null) {
+				snapshotWriter.commit(rows);
+			}
+			return rows;
+		} catch (IOException | RuntimeException exception) {
+			if (snapshotWriter != null) {
+				snapshotWriter.abort();
+			}
+			throw exception;
+		}
+	}
+
+	/**
+	 * Parses the rows of the sheet from the workbook. The XML of the sheet is
+	 * read on the calling thread, keeping the shared-string cells as indexes, and
+	 * with more than one {@link #THREADS} the rows are decoded and mapped in
+	 * batches on the other threads, while the batches are handed over in the
+	 * sheet order.
+	 * 
+	 * @param filePath  The file path
+	 * @param sheetName The sheet name
+	 * @param headings  The requested headings
+	 * @param rowMapper The row mapper
+	 * @param rowSink   The consumer of the values and the mapped row
+	 * @param progress  The parse progress
+	 * @return The number of rows read
+	 * @throws IOException When reading the file fails
+	 */
+	private static <T> int parse(String filePath, String sheetName, String[] headings,
+			Function<String[], T> rowMapper, BiConsumer<String[], T> rowSink, ParseProgress progress)
+			throws IOException {
+
+		int rows = 0;
+		ExecutorService executor = THREADS > 1 ? Executors.newFixedThreadPool(THREADS, runnable -> {
+			Thread thread = new Thread(runnable, "sheet-parser");
+			thread.setDaemon(true);
+			return thread;
+		}) : null;
+
+		try (SheetCursor sheetCursor = SheetCursor.open(filePath, sheetName)) {
+			int totalRows = sheetCursor.getLastRowNum(); // The header row is not counted
+			String[] header = sheetCursor.nextTexts();
+
+			if (header != null) {
+				int[] columns = resolveColumns(header, headings);
+				sheetCursor.select(columns);
+				SharedStrings sharedStrings = sheetCursor.getSharedStrings();
+				ArrayDeque<Future<RowBatch<T>>> decoding = new ArrayDeque<>(IN_FLIGHT);
+				RowBatch<T> batch = new RowBatch<>(columns);
+
+				boolean more = true;
+				while (more) {
+					more = sheetCursor.nextRow(batch.sharedCells, batch.textCells, batch.size * columns.length);
+					if (more) {
+						batch.size++;
+						if (++rows % PROGRESS_INTERVAL == 0) {
+							progress.progress(rows, totalRows);
+						}
+					}
+					if (batch.size == BATCH_ROWS || !more && batch.size > 0) {
+						if (executor == null) {
+							batch.decode(sharedStrings, rowMapper).handOver(rowSink);
+						} else {
+							// Handing over the oldest batch once enough batches are decoded ahead
+							if (decoding.size() == IN_FLIGHT) {
+								await(decoding.poll()).handOver(rowSink);
+							}
+							RowBatch<T> submittedBatch = batch;
+							decoding.add(executor.submit(() -> submittedBatch.decode(sharedStrings, rowMapper)));
+						}
+						batch = new RowBatch<>(columns);
+					}
+				}
+				while (!decoding.isEmpty()) {
+					await(decoding.poll()).handOver(rowSink);
+				}
+			}
+			progress.progress(rows, Math.max(rows, totalRows));
+		} finally {
+			if (executor != null) {
+				executor.shutdownNow();
+			}
+		}
+		return rows;
+	}
+
+	/**
+	 * Waits for the batch to be decoded
+	 */
+	private static <T> RowBatch<T> await(Future<RowBatch<T>> batch) throws IOException {
+		try {
+			return batch.get();
+		} catch (InterruptedException exception) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("The sheet parse was interrupted.");
+		} catch (ExecutionException exception) {
+			if (exception.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) exception.getCause();
+			}
+			throw new IOException("A row could not be decoded.", exception.getCause());
+		}
+	}
+
+	/**
+	 * A batch of rows. The cells are read into flat arrays of
+	 * {@link #BATCH_ROWS} rows, and are decoded and mapped at once.
+	 *
+	 * @param <T> The mapped row type
+	 */
+	private static class RowBatch<T> {
+
+		private final int[] columns;
+		private final int[] sharedCells;
+		private final String[] textCells;
+		private int size;
+		private String[][] values;
+		private List<T> mappedRows;
+
+		private RowBatch(int[] columns) {
+			this.columns = columns;
+			this.sharedCells = new int[BATCH_ROWS * columns.length];
+			this.textCells = new String[BATCH_ROWS * columns.length];
+		}
+
+		/**
+		 * Decodes the trimmed values of the cells and maps the rows
+		 */
+		private RowBatch<T> decode(SharedStrings sharedStrings, Function<String[], T> rowMapper) {
+
+			values = new String[size][];
+			mappedRows = new ArrayList<>(size);
+			for (int r = 0; r < size; r++) {
+				String[] rowValues = new String[columns.length];
+				for (int h = 0, cell = r * columns.length; h < columns.length; h++, cell++) {
+					if (columns[h] < 0) {
+						continue;
+					}
+					if (sharedCells[cell] != SheetCursor.NOT_SHARED) {
+						rowValues[h] = sharedStrings.get(sharedCells[cell]);
+					} else {
+						rowValues[h] = textCells[cell] == null ? "" : textCells[cell].trim();
+					}
+				}
+				values[r] = rowValues;
+				mappedRows.add(rowMapper.apply(rowValues));
+			}
+			return this;
+		}
+
+		/**
+		 * Hands the rows over to the sink, in the sheet order
+		 */
+		private void handOver(BiConsumer<String[], T> rowSink) {
+			for (int r = 0; r < size; r++) {
+				rowSink.accept(values[r], mappedRows.get(r));
+			}
+		}
+	}
+}
@@ -0,0 +1,168 @@
+package com.manage.store;
+
+import java.math.BigDecimal;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+import com.manage.util.CompactAmount;
+import com.manage.util.StringDictionary;
+
+/**
+ * The utility Columns. It holds the aggregations over the dictionary coded
+ * columns of the tables, and the same aggregations over the records of any
+ * other list.
+ */
+class Columns {
+
+	static final String READ_ONLY = "The row view is read-only";
+
+	private Columns() {
+		// Its a utility class. Thus instantiation is not allowed.
+	}
+
+	/**
+	 * Counts the rows by the value of the coded column
+	 * 
+	 * @param codes The coded column
+	 * @param size  The number of rows
+	 * @return The counts by value
+	 */
+	static Map<String, Integer> countByCode(int[] codes, int size) {
+
+		int[] counts = new int[StringDictionary.SHARED.size()];
+		for (int row = 0; row < size; row++) {
+			if (codes[row] != StringDictionary.NULL) {
+				counts[codes[row]]++;
+			}
+		}
+
+		Map<String, Integer> countsByValue = new TreeMap<>();
+		for (int code = 0; code < counts.length; code++) {
+			if (counts[code] > 0) {
+				countsByValue.put(StringDictionary.SHARED.value(code), counts[code]);
+			}
+		}
+		return countsByValue;
+	}
+
+	/**
+	 * Sums the amount column by the value of the coded column. The amounts which
+	 * are not numbers are skipped.
+	 * 
+	 * @param codes   The coded column
+	 * @param amounts The encoded amount column
+	 * @param size    The number of rows
+	 * @param scale   The scale of the sums
+	 * @return The sums by value
+	 */
+	static Map<String, BigDecimal> sumByCode(int[] codes, long[] amounts, int size, int scale) {
+
+		int dictionarySize = StringDictionary.SHARED.size();
+		long[] sums = new long[dictionarySize];
+		boolean[] present = new boolean[dictionarySize];
+		for (int row = 0; row < size; row++) {
+			long minorUnits = CompactAmount.toMinorUnits(amounts[row], scale);
+			if (codes[row] != StringDictionary.NULL && minorUnits != CompactAmount.NULL) {
+				sums[codes[row]] += minorUnits;
+				present[codes[row]] = true;
+			}
+		}
+
+		Map<String, BigDecimal> sumsByValue = new TreeMap<>();
+		for (int code = 0; code < sums.length; code++) {
+			if (present[code]) {
+				sumsByValue.put(StringDictionary.SHARED.value(code), BigDecimal.valueOf(sums[code], scale));
+			}
+		}
+		return sumsByValue;
+	}
+
+	/**
+	 * Counts the records by the value of the column
+	 * 
+	 * @param records The records
+	 * @param column  The column of a record
+	 * @return The counts by value
+	 */
+	static <T> Map<String, Integer> countBy(List<? extends T> records, Function<T, String> column) {
+
+		Map<String, Integer> countsByValue = new TreeMap<>();
+		for (T record : records) {
+			String value = column.apply(record);
+			if (value != null) {
+				countsByValue.merge(value, 1, Integer::sum);
+			}
+		}
+		return countsByValue;
+	}
+
+	/**
+	 * Sums the amounts of the records by the value of the column, as
+	 * {@link #sumByCode(int[], long[], int, int)} sums the coded columns
+	 * 
+	 * @param records The records
+	 * @param column  The column of a record
+	 * @param amount  The amount of a record
+	 * @param scale   The scale of the sums
+	 * @return The sums by value
+	 */
+	static <T> Map<String, BigDecimal> sumBy(List<? extends T> records, Function<T, String> column,
+			Function<T, String> amount, int scale) {
+
+		Map<String, Long> sums = new TreeMap<>();
+		for (T record : records) {
+			String value = column.apply(record);
+			long minorUnits = CompactAmount.toMinorUnits(CompactAmount.encode(amount.apply(record)), scale);
+			if (value != null && minorUnits != CompactAmount.NULL) {
+				sums.merge(value, minorUnits, Long::sum);
+			}
+		}
+
+		Map<String, BigDecimal> sumsByValue = new TreeMap<>();
+		sums.forEach((value, sum) -> sumsByValue.put(value, BigDecimal.valueOf(sum, scale)));
+		return sumsByValue;
+	}
+
+	/**
+	 * The views of all rows of a table. They are aggregated by scanning the columns
+	 * of the table rather than the views.
+	 */
+	static class Views<T> extends AbstractList<T> implements RandomAccess {
+
+		private final Object table;
+		private final List<T> rows;
+
+		Views(Object table, List<T> rows) {
+			this.table = table;
+			this.rows = rows;
+		}
+
+		/**
+		 * Gets the table of the views
+		 * 
+		 * @param records The records
+		 * @param type    The table type
+		 * @return The table, or null if the records are not the views of a table of
+		 *         the type
+		 */
+		static <S> S tableOf(List<?> records, Class<S> type) {
+			return records instanceof Views && type.isInstance(((Views<?>) records).table)
+					? type.cast(((Views<?>) records).table)
+					: null;
+		}
+
+		@Override
+		public T get(int index) {
+			return rows.get(index);
+		}
+
+		@Override
+		public int size() {
+			return rows.size();
+		}
+	}
+}
@@ -0,0 +1,298 @@
+package com.manage.store;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import com.manage.mapper.RowFingerprint;
+import com.manage.model.IELTS;
+import com.manage.util.CompactAmount;
+import com.manage.util.CompactDate;
+import com.manage.util.StringDictionary;
+
+/**
+ * The IELTSTable. It is the columnar store of the IELTS records, holding one
+ * array per column. The records are read-only views over a row of the table.
+ */
+public class IELTSTable {
+
+	/**
+	 * The scale of the aggregated totals
+	 */
+	private static final int TOTAL_SCALE = 2;
+
+	/**
+	 * The texts which are not dates or amounts, held as long as the table
+	 */
+	private final StringDictionary texts = new StringDictionary();
+
+	private int size;
+	private int[] country = new int[1024];
+	private int[] location = new int[1024];
+	private String[] candidateName = new String[1024];
+	private String[] reference = new String[1024];
+	private int[] examFormat = new int[1024];
+	private int[] registrationDate = new int[1024];
+	private int[] testDate = new int[1024];
+	private String[] paymentRef = new String[1024];
+	private long[] total = new long[1024];
+	private int[] paymentType = new int[1024];
+	private long[] fingerprint = new long[1024];
+
+	/**
+	 * Grows the columns
+	 */
+	private void grow() {
+
+		int capacity = size * 2;
+		country = Arrays.copyOf(country, capacity);
+		location = Arrays.copyOf(location, capacity);
+		candidateName = Arrays.copyOf(candidateName, capacity);
+		reference = Arrays.copyOf(reference, capacity);
+		examFormat = Arrays.copyOf(examFormat, capacity);
+		registrationDate = Arrays.copyOf(registrationDate, capacity);
+		testDate = Arrays.copyOf(testDate, capacity);
+		paymentRef = Arrays.copyOf(paymentRef, capacity);
+		total = Arrays.copyOf(total, capacity);
+		paymentType = Arrays.copyOf(paymentType, capacity);
+		fingerprint = Arrays.copyOf(fingerprint, capacity);
+	}
+
+	/**
+	 * Adds a row
+	 * 
+	 * @param values The row values in the order of
+	 *               {@link com.manage.mapper.IELTSMapper#HEADINGS}
+	 */
+	public void add(String[] values) {
+
+		if (size == country.length) {
+			grow();
+		}
+		country[size] = StringDictionary.SHARED.code(values[0]);
+		location[size] = StringDictionary.SHARED.code(values[1]);
+		candidateName[size] = values[2];
+		reference[size] = values[3];
+		examFormat[size] = StringDictionary.SHARED.code(values[4]);
+		registrationDate[size] = CompactDate.encode(values[5], texts);
+		testDate[size] = CompactDate.encode(values[6], texts);
+		paymentRef[size] = values[7];
+		total[size] = CompactAmount.encode(values[8], texts);
+		paymentType[size] = StringDictionary.SHARED.code(values[9]);
+		fingerprint[size] = RowFingerprint.of(values);
+		size++;
+	}
+
+	/**
+	 * Gets the number of rows
+	 * 
+	 * @return The size
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Gets the view of a row
+	 * 
+	 * @param row The row index
+	 * @return The IELTS view
+	 */
+	public IELTS view(int row) {
+		return new Row(this, row);
+	}
+
+	/**
+	 * Gets the views of all rows
+	 * 
+	 * @return The IELTS views
+	 */
+	public List<IELTS> views() {
+
+		List<IELTS> views = new ArrayList<>(size);
+		for (int row = 0; row < size; row++) {
+			views.add(new Row(this, row));
+		}
+		return new Columns.Views<>(this, views);
+	}
+
+	/**
+	 * Sums the totals by country, scanning the country and total columns only.
+	 * The totals which are not numbers are skipped.
+	 * 
+	 * @return The totals by country
+	 */
+	public Map<String, BigDecimal> totalsByCountry() {
+		return Columns.sumByCode(country, total, size, TOTAL_SCALE);
+	}
+
+	/**
+	 * Counts the rows by exam format, scanning the exam format column only
+	 * 
+	 * @return The counts by exam format
+	 */
+	public Map<String, Integer> countsByExamFormat() {
+		return Columns.countByCode(examFormat, size);
+	}
+
+	/**
+	 * Sums the totals of the records by country. The views of a whole table are
+	 * summed by scanning its columns, and any other records one by one.
+	 * 
+	 * @param records The IELTS records
+	 * @return The totals by country
+	 */
+	public static Map<String, BigDecimal> totalsByCountry(List<IELTS> records) {
+
+		IELTSTable table = Columns.Views.tableOf(records, IELTSTable.class);
+		return table != null ? table.totalsByCountry()
+				: Columns.sumBy(records, IELTS::getCountry, IELTS::getTotal, TOTAL_SCALE);
+	}
+
+	/**
+	 * Counts the records by exam format. The views of a whole table are counted
+	 * by scanning its column, and any other records one by one.
+	 * 
+	 * @param records The IELTS records
+	 * @return The counts by exam format
+	 */
+	public static Map<String, Integer> countsByExamFormat(List<IELTS> records) {
+
+		IELTSTable table = Columns.Views.tableOf(records, IELTSTable.class);
+		return table != null ? table.countsByExamFormat() : Columns.countBy(records, IELTS::getExamFormat);
+	}
+
+	/**
+	 * The read-only IELTS view over a row of the table
+	 */
+	public static class Row extends IELTS {
+
+		private final IELTSTable table;
+		private final int row;
+
+		private Row(IELTSTable table, int row) {
+			this.table = table;
+			this.row = row;
+		}
+
+		public IELTSTable getTable() {
+			return table;
+		}
+
+		public int getRow() {
+			return row;
+		}
+
+		@Override
+		public String getCountry() {
+			return StringDictionary.SHARED.value(table.country[row]);
+		}
+
+		@Override
+		public String getLocation() {
+			return StringDictionary.SHARED.value(table.location[row]);
+		}
+
+		@Override
+		public String getCandidateName() {
+			return table.candidateName[row];
+		}
+
+		@Override
+		public String getReference() {
+			return table.reference[row];
+		}
+
+		@Override
+		public String getExamFormat() {
+			return StringDictionary.SHARED.value(table.examFormat[row]);
+		}
+
+		@Override
+		public String getRegistrationDate() {
+			return CompactDate.decode(table.registrationDate[row], table.texts);
+		}
+
+		@Override
+		public String getTestDate() {
+			return CompactDate.decode(table.testDate[row], table.texts);
+		}
+
+		@Override
+		public String getPaymentRef() {
+			return table.paymentRef[row];
+		}
+
+		@Override
+		public String getTotal() {
+			return CompactAmount.decode(table.total[row], table.texts);
+		}
+
+		@Override
+		public String getPaymentType() {
+			return StringDictionary.SHARED.value(table.paymentType[row]);
+		}
+
+		@Override
+		public long getFingerprint() {
+			return table.fingerprint[row];
+		}
+
+		@Override
+		public void setCountry(String country) {
+			throw new UnsupportedOperationException(Columns.READ_ONLY);
+		}
+
+		@Override
+		public void setLocation(String location) {
+			throw new UnsupportedOperationException(Columns.READ_ONLY);
+		}
+
+		@Override
+		public void setCandidateName(String candidateName) {
+			throw new UnsupportedOperationException(Columns.READ_ONLY);
+		}
+
+		@Override
+		public void setReference(String reference) {
+			throw new UnsupportedOperationException(Columns.READ_ONLY);
+		}
+
+		@Override
+		public void setExamFormat(String examFormat) {
+			throw new UnsupportedOperationException(Columns.READ_ONLY);
+		}
+
+		@Override
+		public void setRegistrationDate(String registrationDate) {
+			throw new UnsupportedOperationException(Columns.READ_ONLY);
+		}
+
+		@Override
+		public void setTestDate(String testDate) {
+			throw new UnsupportedOperationException(Columns.READ_ONLY);
+		}
+
+		@Override
+		public void setPaymentRef(String paymentRef) {
+			throw new UnsupportedOperationException(Columns.READ_ONLY);
+		}
+
+		@Override
+		public void setTotal(String total) {
+			throw new UnsupportedOperationException(Columns.READ_ONLY);
+		}
+
+		@Override
+		public void setPaymentType(String paymentType) {
+			throw new UnsupportedOperationException(Columns.READ_ONLY);
+		}
+
+		@Override
+		public void setFingerprint(long fingerprint) {
+			throw new UnsupportedOperationException(Columns.READ_ONLY);
+		}
+	}
+}
@@ -0,0 +1,271 @@
+package com.manage.store;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import com.manage.mapper.RowFingerprint;
+import com.manage.model.School;
+import com.manage.util.CompactAmount;
+import com.manage.util.StringDictionary;
+
+/**
+ * The SchoolTable. It is the columnar store of the School records, holding one
+ * array per column. The records are read-only views over a row of the table.
+ */
+public class SchoolTable {
+
+	/**
+	 * The scale of the aggregated fees
+	 */
+	private static final int FEE_SCALE = 2;
+
+	/**
+	 * The texts which are not dates or amounts, held as long as the table
+	 */
+	private final StringDictionary texts = new StringDictionary();
+
+	private int size;
+	private String[] firstName = new String[1024];
+	private String[] lastName = new String[1024];
+	private int[] country = new int[1024];
+	private int[] centreName = new int[1024];
+	private long[] totalLocalFee = new long[1024];
+	private int[] numberOfExams = new int[1024];
+	private String[] registrationId = new String[1024];
+	private String[] paymentReference = new String[1024];
+	private long[] fingerprint = new long[1024];
+
+	/**
+	 * Grows the columns
+	 */
+	private void grow() {
+
+		int capacity = size * 2;
+		firstName = Arrays.copyOf(firstName, capacity);
+		lastName = Arrays.copyOf(lastName, capacity);
+		country = Arrays.copyOf(country, capacity);
+		centreName = Arrays.copyOf(centreName, capacity);
+		totalLocalFee = Arrays.copyOf(totalLocalFee, capacity);
+		numberOfExams = Arrays.copyOf(numberOfExams, capacity);
+		registrationId = Arrays.copyOf(registrationId, capacity);
+		paymentReference = Arrays.copyOf(paymentReference, capacity);
+		fingerprint = Arrays.copyOf(fingerprint, capacity);
+	}
+
+	/**
+	 * Adds a row
+	 * 
+	 * @param values The row values in the order of
+	 *               {@link com.manage.mapper.SchoolMapper#HEADINGS}
+	 */
+	public void add(String[] values) {
+
+		if (size == country.length) {
+			grow();
+		}
+		firstName[size] = values[0];
+		lastName[size] = values[1];
+		country[size] = StringDictionary.SHARED.code(values[2]);
+		centreName[size] = StringDictionary.SHARED.code(values[3]);
+		totalLocalFee[size] = CompactAmount.encode(values[4], texts);
+		numberOfExams[size] = StringDictionary.SHARED.code(values[5]);
+		registrationId[size] = values[6];
+		paymentReference[size] = values[7];
+		fingerprint[size] = RowFingerprint.of(values);
+		size++;
+	}
+
+	/**
+	 * Gets the number of rows
+	 * 
+	 * @return The size
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Gets the view of a row
+	 * 
+	 * @param row The row index
+	 * @return The School view
+	 */
+	public School view(int row) {
+		return new Row(this, row);
+	}
+
+	/**
+	 * Gets the views of all rows
+	 * 
+	 * @return The School views
+	 */
+	public List<School> views() {
+
+		List<School> views = new ArrayList<>(size);
+		for (int row = 0; row < size; row++) {
+			views.add(new Row(this, row));
+		}
+		return new Columns.Views<>(this, views);
+	}
+
+	/**
+	 * Sums the total local fees by country, scanning the country and fee columns
+	 * only. The fees which are not numbers are skipped.
+	 * 
+	 * @return The total local fees by country
+	 */
+	public Map<String, BigDecimal> totalLocalFeesByCountry() {
+		return Columns.sumByCode(country, totalLocalFee, size, FEE_SCALE);
+	}
+
+	/**
+	 * Counts the rows by centre name, scanning the centre name column only
+	 * 
+	 * @return The counts by centre name
+	 */
+	public Map<String, Integer> countsByCentreName() {
+		return Columns.countByCode(centreName, size);
+	}
+
+	/**
+	 * Sums the total local fees of the records by country. The views of a whole
+	 * table are summed by scanning its columns, and any other records one by one.
+	 * 
+	 * @param records The School records
+	 * @return The total local fees by country
+	 */
+	public static Map<String, BigDecimal> totalLocalFeesByCountry(List<School> records) {
+
+		SchoolTable table = Columns.Views.tableOf(records, SchoolTable.class);
+		return table != null ? table.totalLocalFeesByCountry()
+				: Columns.sumBy(records, School::getCountry, School::getTotalLocalFee, FEE_SCALE);
+	}
+
+	/**
+	 * Counts the records by centre name. The views of a whole table are counted
+	 * by scanning its column, and any other records one by one.
+	 * 
+	 * @param records The School records
+	 * @return The counts by centre name
+	 */
+	public static Map<String, Integer> countsByCentreName(List<School> records) {
+
+		SchoolTable table = Columns.Views.tableOf(records, SchoolTable.class);
+		return table != null ? table.countsByCentreName() : Columns.countBy(records, School::getCentreName);
+	}
+
+	/**
+	 * The read-only School view over a row of the table
+	 */
+	public static class Row extends School {
+
+		private final SchoolTable table;
+		private final int row;
+
+		private Row(SchoolTable table, int row) {
+			this.table = table;
+			this.row = row;
+		}
+
+		public SchoolTable getTable() {
+			return table;
+		}
+
+		public int getRow() {
+			return row;
+		}
+
+		@Override
+		public String getFirstName() {
+			return table.firstName[row];
+		}
+
+		@Override
+		public String getLastName() {
+			return table.lastName[row];
+		}
+
+		@Override
+		public String getCountry() {
+			return StringDictionary.SHARED.value(table.country[row]);
+		}
+
+		@Override
+		public String getCentreName() {
+			return StringDictionary.SHARED.value(table.centreName[row]);
+		}
+
+		@Override
+		public String getTotalLocalFee() {
+			return CompactAmount.decode(table.totalLocalFee[row], table.texts);
+		}
+
+		@Override
+		public String getNumberOfExams() {
+			return StringDictionary.SHARED.value(table.numberOfExams[row]);
+		}
+
+		@Override
+		public String getRegistrationId() {
+			return table.registrationId[row];
+		}
+
+		@Override
+		public String getPaymentReference() {
+			return table.paymentReference[row];
+		}
+
+		@Override
+		public long getFingerprint() {
+			return table.fingerprint[row];
+		}
+
+		@Override
+		public void setFirstName(String firstName) {
+			throw new UnsupportedOperationException(Columns.READ_ONLY);
+		}
+
+		@Override
+		public void setLastName(String lastName) {
+			throw new UnsupportedOperationException(Columns.READ_ONLY);
+		}
+
+		@Override
+		public void setCountry(String country) {
+			throw new UnsupportedOperationException(Columns.READ_ONLY);
+		}
+
+		@Override
+		public void setCentreName(String centreName) {
+			throw new UnsupportedOperationException(Columns.READ_ONLY);
+		}
+
+		@Override
+		public void setTotalLocalFee(String totalLocalFee) {
+			throw new UnsupportedOperationException(Columns.READ_ONLY);
+		}
+
+		@Override
+		public void setNumberOfExams(String numberOfExams) {
+			throw new UnsupportedOperationException(Columns.READ_ONLY);
+		}
+
+		@Override
+		public void setRegistrationId(String registrationId) {
+			throw new UnsupportedOperationException(Columns.READ_ONLY);
+		}
+
+		@Override
+		public void setPaymentReference(String paymentReference) {
+			throw new UnsupportedOperationException(Columns.READ_ONLY);
+		}
+
+		@Override
+		public void setFingerprint(long fingerprint) {
+			throw new UnsupportedOperationException(Columns.READ_ONLY);
+		}
+	}
+}
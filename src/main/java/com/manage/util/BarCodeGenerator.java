@@ -2,75 +2,262 @@ package com.manage.util;
 
 import java.awt.Color;
 import java.awt.Font;
+import java.awt.FontMetrics;
 import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
-import java.io.ByteArrayOutputStream;
-
-import javax.swing.JEditorPane;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import org.krysalis.barcode4j.TextAlignment;
 import org.krysalis.barcode4j.impl.code39.Code39Bean;
 import org.krysalis.barcode4j.output.bitmap.BitmapCanvasProvider;
 
+import com.manage.metrics.Metrics;
+
 /**
  * The utility BarCodeGenerator. It holds implementation to generate barcodes.
+ * The search result is laid out with Java 2D alone, thus no Swing component is
+ * needed and the slips are drawn on any thread, also when headless. The
+ * configured bean is reused, and the recently generated slips are cached by
+ * their reference, thus a reprint is not drawn again. It is safe for concurrent
+ * use.
  */
 public class BarCodeGenerator {
 
+	/**
+	 * The maximum number of cached slips
+	 */
+	private static final int CACHE_SIZE = 64;
+
+	/**
+	 * The code 39 bean, of which the configuration is never changed
+	 */
+	private static final Code39Bean CODE39_BEAN = new Code39Bean();
+
+	static {
+		CODE39_BEAN.setHeight(10f);
+		CODE39_BEAN.setModuleWidth(0.1);
+		CODE39_BEAN.setQuietZone(1);
+		CODE39_BEAN.doQuietZone(true);
+	}
+
+	/**
+	 * The search result fonts
+	 */
+	private static final Font PLAIN_FONT = new Font(Font.SERIF, Font.PLAIN, 14);
+	private static final Font BOLD_FONT = PLAIN_FONT.deriveFont(Font.BOLD);
+
+	/**
+	 * The search result area of the slip
+	 */
+	private static final int TEXT_X = 10;
+	private static final int TEXT_Y = 30;
+	private static final int TEXT_WIDTH = 400;
+	private static final int TEXT_HEIGHT = 100;
+	private static final int TEXT_MARGIN = 3;
+
+	/**
+	 * The recently generated slips, the least recently used evicted first
+	 */
+	private static final Map<String, Slip> SLIPS = new LinkedHashMap<String, Slip>(CACHE_SIZE * 4 / 3 + 1, 0.75f,
+			true) {
+
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, Slip> eldest) {
+			return size() > CACHE_SIZE;
+		}
+	};
+
 	private BarCodeGenerator() {
 		// Its a utility class. Thus the instantiation is not allowed.
 	}
 
 	/**
-	 * Generates the bar-code
-	 * 
+	 * Generates the bar-code. The image of a cached slip is shared, thus it must
+	 * not be modified.
+	 *
 	 * @param referenceNumber The bar-code data
 	 * @param searchResult    The search result
 	 * @return The bar-code image
 	 */
 	public static BufferedImage generateBarCode(String referenceNumber, String searchResult) {
+		return generateBarCode(referenceNumber, searchResult, true);
+	}
 
+	/**
+	 * Generates the bar-code. A batch of slips is not cached, thus it does not
+	 * evict the slips of the operators. The latency is recorded in
+	 * {@link Metrics#BARCODES}.
+	 *
+	 * @param referenceNumber The bar-code data
+	 * @param searchResult    The search result
+	 * @param cached          Whether the slip is cached
+	 * @return The bar-code image
+	 */
+	public static BufferedImage generateBarCode(String referenceNumber, String searchResult, boolean cached) {
+
+		long start = System.nanoTime();
 		try {
-			// Initializing code 39 bean
-			Code39Bean code39Bean = new Code39Bean();
-			code39Bean.setHeight(10f);
-			code39Bean.setModuleWidth(0.1);
-			code39Bean.setQuietZone(1);
-			code39Bean.doQuietZone(true);
-
-			// Preparing the canvas
-			ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-			BitmapCanvasProvider bitmapCanvasProvider = new BitmapCanvasProvider(outputStream, "image/x-png", 350,
-					BufferedImage.TYPE_BYTE_BINARY, false, 0);
-			code39Bean.generateBarcode(bitmapCanvasProvider, referenceNumber);
-			bitmapCanvasProvider.deviceText(searchResult, 1, 1, 400, Font.SERIF, 10, TextAlignment.TA_LEFT);
-			bitmapCanvasProvider.finish();
-
-			// Barcode buffered image
-			BufferedImage barcodeImage = bitmapCanvasProvider.getBufferedImage();
-
-			// Search result image
-			BufferedImage resultImage = new BufferedImage(500, 100, BufferedImage.TYPE_INT_ARGB);
-			Graphics2D resultGraphics = resultImage.createGraphics();
-			JEditorPane jEditorPane = new JEditorPane("text/html", searchResult);
-			jEditorPane.setSize(400, 200);
-			jEditorPane.paint(resultGraphics);
-			resultGraphics.dispose();
-
-			// Combining both images
-			BufferedImage combined = new BufferedImage(600, 480, BufferedImage.TYPE_INT_ARGB);
-			Graphics2D graphics = combined.createGraphics();
-			graphics.setColor(Color.white);
-			graphics.fillRect(0, 0, 600, 480);
-			graphics.drawImage(resultImage, 10, 30, null);
-			graphics.drawImage(barcodeImage, 300 - (barcodeImage.getWidth() / 2), 141, null);
-			graphics.dispose();
-
-			// Converting the output stream to byte array
+			return generate(referenceNumber, searchResult, cached);
+		} finally {
+			Metrics.BARCODES.recordSince(start);
+		}
+	}
+
+	/**
+	 * Generates the bar-code, reusing the cached slip if any
+	 */
+	private static BufferedImage generate(String referenceNumber, String searchResult, boolean cached) {
+
+		Slip slip = null;
+		if (cached) {
+			synchronized (SLIPS) {
+				slip = SLIPS.get(referenceNumber);
+			}
+		}
+		if (slip != null && slip.searchResult.equals(searchResult)) {
+			return slip.image;
+		}
+
+		try {
+			BufferedImage combined = draw(referenceNumber, searchResult);
+			if (cached) {
+				synchronized (SLIPS) {
+					SLIPS.put(referenceNumber, new Slip(searchResult, combined));
+				}
+			}
 			return combined;
 		} catch (Exception exception) {
 			System.out.println("Error generating barcode");
 		}
 		return new BufferedImage(400, 280, BufferedImage.TYPE_INT_ARGB);
 	}
+
+	/**
+	 * Draws the bar-code and the search result
+	 *
+	 * @param referenceNumber The bar-code data
+	 * @param searchResult    The search result
+	 * @return The bar-code image
+	 * @throws Exception If the bar-code cannot be drawn
+	 */
+	private static BufferedImage draw(String referenceNumber, String searchResult) throws Exception {
+
+		// Preparing the canvas, which is never encoded
+		BitmapCanvasProvider bitmapCanvasProvider = new BitmapCanvasProvider(350, BufferedImage.TYPE_BYTE_BINARY,
+				false, 0);
+		CODE39_BEAN.generateBarcode(bitmapCanvasProvider, referenceNumber);
+		bitmapCanvasProvider.deviceText(searchResult, 1, 1, 400, Font.SERIF, 10, TextAlignment.TA_LEFT);
+		bitmapCanvasProvider.finish();
+
+		// Barcode buffered image
+		BufferedImage barcodeImage = bitmapCanvasProvider.getBufferedImage();
+
+		// Combining both images
+		BufferedImage combined = new BufferedImage(600, 480, BufferedImage.TYPE_INT_ARGB);
+		Graphics2D graphics = combined.createGraphics();
+		graphics.setColor(Color.white);
+		graphics.fillRect(0, 0, 600, 480);
+		graphics.drawImage(barcodeImage, 300 - (barcodeImage.getWidth() / 2), 141, null);
+		graphics.setClip(TEXT_X, TEXT_Y, TEXT_WIDTH, TEXT_HEIGHT);
+		drawText(graphics, searchResult);
+		graphics.dispose();
+		return combined;
+	}
+
+	/**
+	 * Draws the search result. Its markup is the simple one of the slip text, thus
+	 * only the bold text and the line breaks are laid out, and the lines are
+	 * wrapped at the word boundaries.
+	 *
+	 * @param graphics     The graphics
+	 * @param searchResult The search result
+	 */
+	private static void drawText(Graphics2D graphics, String searchResult) {
+
+		graphics.setColor(Color.black);
+		int left = TEXT_X + TEXT_MARGIN;
+		int right = TEXT_X + TEXT_WIDTH - TEXT_MARGIN;
+		int lineHeight = Math.max(graphics.getFontMetrics(PLAIN_FONT).getHeight(),
+				graphics.getFontMetrics(BOLD_FONT).getHeight());
+		int x = left;
+		int baseline = TEXT_Y + TEXT_MARGIN + graphics.getFontMetrics(BOLD_FONT).getAscent();
+		boolean bold = false;
+		boolean space = false; // Whether a space is pending before the next word
+
+		int position = 0;
+		while (position < searchResult.length()) {
+			char c = searchResult.charAt(position);
+
+			if (c == '<') {
+				int end = searchResult.indexOf('>', position);
+				if (end < 0) {
+					end = searchResult.length() - 1;
+				}
+				String tag = searchResult.substring(position + 1, end).trim().toLowerCase();
+				if (tag.equals("strong") || tag.equals("b")) {
+					bold = true;
+				} else if (tag.equals("/strong") || tag.equals("/b")) {
+					bold = false;
+				} else if (tag.startsWith("br") || tag.startsWith("hr")) {
+					x = left;
+					baseline += lineHeight;
+					space = false;
+				}
+				position = end + 1;
+			} else if (Character.isWhitespace(c)) {
+				space = x > left;
+				position++;
+			} else {
+				// Drawing the word, wrapped to the next line if it does not fit
+				int end = position;
+				while (end < searchResult.length() && searchResult.charAt(end) != '<'
+						&& !Character.isWhitespace(searchResult.charAt(end))) {
+					end++;
+				}
+				String word = unescape(searchResult.substring(position, end));
+				Font font = bold ? BOLD_FONT : PLAIN_FONT;
+				FontMetrics fontMetrics = graphics.getFontMetrics(font);
+				int spaceWidth = space ? fontMetrics.charWidth(' ') : 0;
+				int wordWidth = fontMetrics.stringWidth(word);
+				if (x > left && x + spaceWidth + wordWidth > right) {
+					x = left;
+					baseline += lineHeight;
+					spaceWidth = 0;
+				}
+				graphics.setFont(font);
+				graphics.drawString(word, x + spaceWidth, baseline);
+				x += spaceWidth + wordWidth;
+				space = false;
+				position = end;
+			}
+		}
+	}
+
+	/**
+	 * Unescapes the character entities of the text
+	 */
+	private static String unescape(String text) {
+		if (text.indexOf('&') < 0) {
+			return text;
+		}
+		return text.replace("&lt;", "<").replace("&gt;", ">").replace("&quot;", "\"").replace("&nbsp;", " ")
+				.replace("&amp;", "&");
+	}
+
+	/**
+	 * A generated slip
+	 */
+	private static class Slip {
+
+		private final String searchResult;
+		private final BufferedImage image;
+
+		private Slip(String searchResult, BufferedImage image) {
+			this.searchResult = searchResult;
+			this.image = image;
+		}
+	}
 }
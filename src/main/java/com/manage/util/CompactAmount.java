@@ -0,0 +1,159 @@
+package com.manage.util;
+
+import java.math.BigDecimal;
+
+/**
+ * The utility CompactAmount. It encodes the amounts of the sheets to a long
+ * holding the amount in minor units along with its scale, thus 25100.00 and
+ * 25100 decode to their own text. Any other text is either kept as a code of
+ * the dictionary of its owner or left to its owner to keep, never in the shared
+ * dictionary.
+ */
+public class CompactAmount {
+
+	private static final int SCALE_BITS = 3;
+	private static final int MAX_SCALE = (1 << SCALE_BITS) - 1;
+	private static final int MAX_DIGITS = 15;
+
+	/**
+	 * The encoded null amount
+	 */
+	public static final long NULL = Long.MIN_VALUE;
+
+	/**
+	 * The encoded text which is not an amount. With a dictionary, the encoded text
+	 * codes start here, far below any amount.
+	 */
+	public static final long TEXT = Long.MIN_VALUE + 1;
+	private static final long TEXT_LIMIT = Long.MIN_VALUE / 2;
+
+	private CompactAmount() {
+		// Its a utility class. Thus instantiation is not allowed.
+	}
+
+	/**
+	 * Parses the plain decimal text
+	 * 
+	 * @param text The amount text
+	 * @return The encoded amount, or TEXT if the text is not a plain decimal
+	 */
+	private static long parse(String text) {
+
+		int length = text.length();
+		int start = length > 0 && text.charAt(0) == '-' ? 1 : 0;
+		long minorUnits = 0;
+		int digits = 0;
+		int scale = -1;
+
+		for (int i = start; i < length; i++) {
+			char c = text.charAt(i);
+			if (c == '.' && scale < 0) {
+				scale = 0;
+			} else if (c >= '0' && c <= '9' && digits < MAX_DIGITS) {
+				minorUnits = minorUnits * 10 + (c - '0');
+				digits++;
+				if (scale >= 0) {
+					scale++;
+				}
+			} else {
+				return TEXT;
+			}
+		}
+
+		if (digits == 0 || scale > MAX_SCALE || scale == 0) {
+			return TEXT;
+		}
+		long encoded = ((start == 1 ? -minorUnits : minorUnits) << SCALE_BITS) | Math.max(scale, 0);
+
+		// Only the amounts decoding to the very same text are encoded
+		return format(encoded).equals(text) ? encoded : TEXT;
+	}
+
+	/**
+	 * Formats the encoded amount
+	 * 
+	 * @param encoded The encoded amount
+	 * @return The amount text
+	 */
+	private static String format(long encoded) {
+		return BigDecimal.valueOf(encoded >> SCALE_BITS, (int) (encoded & MAX_SCALE)).toPlainString();
+	}
+
+	/**
+	 * Encodes the amount text. Any other text is left to the caller to keep.
+	 * 
+	 * @param text The amount text
+	 * @return The encoded amount, {@link #NULL} for a null text or {@link #TEXT}
+	 *         for a text which is not an amount
+	 */
+	public static long encode(String text) {
+		return text == null ? NULL : parse(text);
+	}
+
+	/**
+	 * Encodes the amount text, keeping any other text in the dictionary
+	 * 
+	 * @param text  The amount text
+	 * @param texts The dictionary of the texts which are not amounts
+	 * @return The encoded amount
+	 */
+	public static long encode(String text, StringDictionary texts) {
+
+		long encoded = encode(text);
+		return encoded == TEXT ? TEXT + texts.code(text) : encoded;
+	}
+
+	/**
+	 * Decodes the amount text
+	 * 
+	 * @param encoded The encoded amount
+	 * @return The amount text, or null if the text is not an amount
+	 */
+	public static String decode(long encoded) {
+		return encoded < TEXT_LIMIT ? null : format(encoded);
+	}
+
+	/**
+	 * Decodes the amount text, taking any other text from the dictionary
+	 * 
+	 * @param encoded The encoded amount
+	 * @param texts   The dictionary of the texts which are not amounts
+	 * @return The amount text
+	 */
+	public static String decode(long encoded, StringDictionary texts) {
+		return encoded < TEXT_LIMIT ? texts.value((int) (encoded - TEXT)) : format(encoded);
+	}
+
+	/**
+	 * Gets the amount of the encoded amount
+	 * 
+	 * @param encoded The encoded amount
+	 * @return The amount, or null if the text is not an amount
+	 */
+	public static BigDecimal toBigDecimal(long encoded) {
+		return encoded < TEXT_LIMIT ? null : BigDecimal.valueOf(encoded >> SCALE_BITS, (int) (encoded & MAX_SCALE));
+	}
+
+	/**
+	 * Gets the encoded amount in minor units of the given scale. Extra fraction
+	 * digits are truncated.
+	 * 
+	 * @param encoded The encoded amount
+	 * @param scale   The scale of the minor units
+	 * @return The minor units, or {@link #NULL} if the text is not an amount
+	 */
+	public static long toMinorUnits(long encoded, int scale) {
+
+		if (encoded < TEXT_LIMIT) {
+			return NULL;
+		}
+		long minorUnits = encoded >> SCALE_BITS;
+		for (int s = (int) (encoded & MAX_SCALE); s < scale; s++) {
+			minorUnits *= 10;
+		}
+		for (int s = (int) (encoded & MAX_SCALE); s > scale; s--) {
+			minorUnits /= 10;
+		}
+		return minorUnits;
+	}
+}
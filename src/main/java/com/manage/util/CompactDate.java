@@ -0,0 +1,113 @@
+package com.manage.util;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
+
+/**
+ * The utility CompactDate. It encodes the dd/MM/yyyy dates of the sheets to an
+ * int holding the epoch day. Any other text is either kept as a code of the
+ * dictionary of its owner, thus decoding always gives back the original text,
+ * or left to its owner to keep. No text is ever held by the shared dictionary,
+ * as the text of the edited sheets would then pile up on every reload.
+ */
+public class CompactDate {
+
+	private static final DateTimeFormatter FORMAT = DateTimeFormatter.ofPattern("dd/MM/uuuu")
+			.withResolverStyle(ResolverStyle.STRICT);
+
+	/**
+	 * The encoded null date
+	 */
+	public static final int NULL = Integer.MIN_VALUE;
+
+	/**
+	 * The encoded text which is not a date. With a dictionary, the encoded text
+	 * codes start here, far below any epoch day.
+	 */
+	public static final int TEXT = Integer.MIN_VALUE + 1;
+	private static final int TEXT_LIMIT = Integer.MIN_VALUE / 2;
+
+	private CompactDate() {
+		// Its a utility class. Thus instantiation is not allowed.
+	}
+
+	/**
+	 * Parses the date text
+	 * 
+	 * @param text The date text
+	 * @return The date, or null if the text is not a dd/MM/yyyy date
+	 */
+	public static LocalDate parse(String text) {
+
+		if (text != null && text.length() == 10) {
+			try {
+				return LocalDate.parse(text, FORMAT);
+			} catch (DateTimeParseException dateTimeParseException) {
+				// Not a date
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Encodes the date text. Any other text is left to the caller to keep.
+	 * 
+	 * @param text The date text
+	 * @return The encoded date, {@link #NULL} for a null text or {@link #TEXT}
+	 *         for a text which is not a date
+	 */
+	public static int encode(String text) {
+
+		if (text == null) {
+			return NULL;
+		}
+		LocalDate date = parse(text);
+		return date == null ? TEXT : (int) date.toEpochDay();
+	}
+
+	/**
+	 * Encodes the date text, keeping any other text in the dictionary
+	 * 
+	 * @param text  The date text
+	 * @param texts The dictionary of the texts which are not dates
+	 * @return The encoded date
+	 */
+	public static int encode(String text, StringDictionary texts) {
+
+		int encoded = encode(text);
+		return encoded == TEXT ? TEXT + texts.code(text) : encoded;
+	}
+
+	/**
+	 * Decodes the date text
+	 * 
+	 * @param encoded The encoded date
+	 * @return The date text, or null if the text is not a date
+	 */
+	public static String decode(int encoded) {
+		return encoded < TEXT_LIMIT ? null : FORMAT.format(LocalDate.ofEpochDay(encoded));
+	}
+
+	/**
+	 * Decodes the date text, taking any other text from the dictionary
+	 * 
+	 * @param encoded The encoded date
+	 * @param texts   The dictionary of the texts which are not dates
+	 * @return The date text
+	 */
+	public static String decode(int encoded, StringDictionary texts) {
+		return encoded < TEXT_LIMIT ? texts.value(encoded - TEXT) : decode(encoded);
+	}
+
+	/**
+	 * Gets the date of the encoded date
+	 * 
+	 * @param encoded The encoded date
+	 * @return The date, or null if the text is not a date
+	 */
+	public static LocalDate toLocalDate(int encoded) {
+		return encoded < TEXT_LIMIT ? null : LocalDate.ofEpochDay(encoded);
+	}
+}
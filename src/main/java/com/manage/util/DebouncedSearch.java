@@ -0,0 +1,94 @@
+package com.manage.util;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+
+/**
+ * The DebouncedSearch. It runs the query of the latest input on a background
+ * thread once the input has been quiet for the delay, and delivers its result
+ * on the event dispatch thread. A query superseded by a newer input is
+ * cancelled, and its result is never delivered.
+ *
+ * @param <R> The query result type
+ */
+public class DebouncedSearch<R> {
+
+	/**
+	 * The query thread, shared by all searches
+	 */
+	private static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "live-search");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	private final Timer timer;
+	private Supplier<R> query;
+	private Consumer<R> resultConsumer;
+	private Future<?> running;
+	private int generation; // Incremented on every input, read on the event dispatch thread
+
+	/**
+	 * Creates the search
+	 *
+	 * @param delay The quiet period in milliseconds
+	 */
+	public DebouncedSearch(int delay) {
+		this.timer = new Timer(delay, event -> submit());
+		this.timer.setRepeats(false);
+	}
+
+	/**
+	 * Schedules the query of the input, superseding the previous one. To be
+	 * called on the event dispatch thread.
+	 *
+	 * @param query          The query, run on the background thread
+	 * @param resultConsumer The result consumer, run on the event dispatch thread
+	 */
+	public void schedule(Supplier<R> query, Consumer<R> resultConsumer) {
+		cancel();
+		this.query = query;
+		this.resultConsumer = resultConsumer;
+		timer.restart();
+	}
+
+	/**
+	 * Cancels the scheduled or running query. To be called on the event dispatch
+	 * thread.
+	 */
+	public void cancel() {
+		generation++;
+		timer.stop();
+		if (running != null) {
+			running.cancel(true);
+			running = null;
+		}
+	}
+
+	/**
+	 * Submits the scheduled query to the background thread
+	 */
+	private void submit() {
+
+		int submittedGeneration = generation;
+		Supplier<R> submittedQuery = query;
+		Consumer<R> submittedConsumer = resultConsumer;
+
+		running = EXECUTOR.submit(() -> {
+			R result = submittedQuery.get();
+			SwingUtilities.invokeLater(() -> {
+				// Dropping the result of a superseded query
+				if (submittedGeneration == generation) {
+					running = null;
+					submittedConsumer.accept(result);
+				}
+			});
+		});
+	}
+}
@@ -0,0 +1,68 @@
+package com.manage.util;
+
+import com.manage.model.IELTS;
+import com.manage.model.School;
+
+/**
+ * The utility SlipText. It holds the text printed on the bar-code slips.
+ */
+public class SlipText {
+
+	/**
+	 * The number of reference digits encoded in the bar-code
+	 */
+	private static final int BARCODE_DIGITS = 7;
+
+	private SlipText() {
+		// Its a utility class. Thus the instantiation is not allowed.
+	}
+
+	/**
+	 * Gets the slip text of the IELTS record
+	 * 
+	 * @param ielts The IELTS record
+	 * @return The slip text
+	 */
+	public static String of(IELTS ielts) {
+		return of(ielts.getCandidateName(), ielts.getReference(), ielts.getTotal(), ielts.getCountry());
+	}
+
+	/**
+	 * Gets the slip text of the School record
+	 * 
+	 * @param school The School record
+	 * @return The slip text
+	 */
+	public static String of(School school) {
+		return of((school.getFirstName() + " " + school.getLastName()).trim(), school.getRegistrationId(),
+				school.getTotalLocalFee(), school.getCountry());
+	}
+
+	private static String of(String candidateName, String reference, String totalAmount, String country) {
+
+		StringBuilder slipText = new StringBuilder();
+		slipText.append("<strong>Candidate Name: </strong>" + candidateName);
+		slipText.append("<br>");
+		slipText.append("<strong>Reference ID: </strong>" + reference);
+		slipText.append("<br>");
+		slipText.append("<strong>Total Amount: </strong>" + totalAmount);
+		slipText.append("<br>");
+		slipText.append("<strong>Country: </strong>" + country);
+		return slipText.toString();
+	}
+
+	/**
+	 * Gets the bar-code data of the reference, which is its last 7 characters as
+	 * typed in the search
+	 * 
+	 * @param reference The reference
+	 * @return The bar-code data
+	 */
+	public static String barcodeData(String reference) {
+		if (reference == null) {
+			return "";
+		}
+		return reference.length() > BARCODE_DIGITS ? reference.substring(reference.length() - BARCODE_DIGITS)
+				: reference;
+	}
+}
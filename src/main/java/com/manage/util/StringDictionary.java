@@ -0,0 +1,91 @@
+package com.manage.util;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The StringDictionary. It encodes repeating strings to small int codes, thus
+ * every distinct value is held once. Codes are never reassigned, and the
+ * dictionary is safe for concurrent use.
+ */
+public class StringDictionary {
+
+	/**
+	 * The dictionary shared by the low-cardinality columns of the models
+	 */
+	public static final StringDictionary SHARED = new StringDictionary();
+
+	/**
+	 * The code of the null value
+	 */
+	public static final int NULL = -1;
+
+	private final ConcurrentHashMap<String, Integer> codes = new ConcurrentHashMap<>();
+	private volatile String[] values = new String[64];
+	private int size;
+
+	/**
+	 * Gets the code of the value, assigning a new code to an unseen value
+	 * 
+	 * @param value The value
+	 * @return The code
+	 */
+	public int code(String value) {
+
+		if (value == null) {
+			return NULL;
+		}
+
+		Integer code = codes.get(value);
+		if (code != null) {
+			return code;
+		}
+
+		synchronized (this) {
+			code = codes.get(value);
+			if (code != null) {
+				return code;
+			}
+
+			String[] currentValues = values;
+			if (size == currentValues.length) {
+				currentValues = Arrays.copyOf(currentValues, size * 2);
+			}
+			currentValues[size] = value;
+			values = currentValues; // The value is published before its code
+			codes.put(value, size);
+			return size++;
+		}
+	}
+
+	/**
+	 * Finds the code of the value without assigning a new code
+	 * 
+	 * @param value The value
+	 * @return The code, or {@link #NULL} if the value is unseen
+	 */
+	public int find(String value) {
+
+		Integer code = value == null ? null : codes.get(value);
+		return code == null ? NULL : code;
+	}
+
+	/**
+	 * Gets the value of the code
+	 * 
+	 * @param code The code
+	 * @return The value
+	 */
+	public String value(int code) {
+		return code == NULL ? null : values[code];
+	}
+
+	/**
+	 * Gets the number of distinct values
+	 * 
+	 * @return The size
+	 */
+	public synchronized int size() {
+		return size;
+	}
+}
@@ -0,0 +1,111 @@
+package com.manage.cache;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.manage.generator.WorkbookGenerator;
+import com.manage.mapper.IELTSMapper;
+import com.manage.parser.SheetReader;
+
+import junit.framework.TestCase;
+
+/**
+ * The SnapshotCache tests, of the snapshots written and read by the
+ * SheetReader
+ */
+public class SnapshotCacheTest extends TestCase {
+
+	private static final int ROWS = 665;
+
+	private File directory;
+	private File workbook;
+	private File snapshot;
+
+	@Override
+	protected void setUp() throws IOException {
+
+		directory = Files.createTempDirectory("snapshot-test").toFile();
+		workbook = new File(directory, "ORS.xlsx");
+		snapshot = new File(directory, "ORS.xlsx.snapshot");
+		WorkbookGenerator workbookGenerator = new WorkbookGenerator();
+		workbookGenerator.setRows(ROWS);
+		workbookGenerator.writeIELTS(workbook);
+	}
+
+	@Override
+	protected void tearDown() {
+
+		for (File file : directory.listFiles()) {
+			file.delete();
+		}
+		directory.delete();
+	}
+
+	public void testSnapshotReadsParsedRows() throws IOException {
+
+		List<String[]> parsedRows = read();
+		assertEquals(ROWS, parsedRows.size());
+		assertTrue(snapshot.isFile());
+
+		List<String[]> snapshotRows = new ArrayList<>();
+		assertEquals(ROWS, SnapshotCache.read(workbook.getPath(), "Unpaid", IELTSMapper.HEADINGS, snapshotRows::add,
+				(rows, totalRows) -> {
+				}));
+		for (int row = 0; row < ROWS; row++) {
+			assertEquals(String.join("|", parsedRows.get(row)), String.join("|", snapshotRows.get(row)));
+		}
+	}
+
+	public void testTruncatedSnapshotIsParsedOnce() throws IOException {
+
+		read();
+		try (RandomAccessFile file = new RandomAccessFile(snapshot, "rw")) {
+			file.setLength(file.length() * 2 / 3);
+		}
+		assertEquals(-1, SnapshotCache.read(workbook.getPath(), "Unpaid", IELTSMapper.HEADINGS, values -> fail(),
+				(rows, totalRows) -> {
+				}));
+		assertEquals(ROWS, read().size());
+
+		// The snapshot is written again
+		assertEquals(ROWS, SnapshotCache.read(workbook.getPath(), "Unpaid", IELTSMapper.HEADINGS, values -> {
+		}, (rows, totalRows) -> {
+		}));
+	}
+
+	public void testCorruptSnapshotIsParsedOnce() throws IOException {
+
+		read();
+		try (RandomAccessFile file = new RandomAccessFile(snapshot, "rw")) {
+			file.seek(file.length() / 2);
+			int value = file.read();
+			file.seek(file.length() / 2);
+			file.write(value ^ 0x01);
+		}
+		assertEquals(ROWS, read().size());
+	}
+
+	public void testSnapshotOfOtherHeadingsIsIgnored() throws IOException {
+
+		read();
+		String[] headings = { "Country", "Candidate Name" };
+		assertEquals(-1, SnapshotCache.read(workbook.getPath(), "Unpaid", headings, values -> fail(),
+				(rows, totalRows) -> {
+				}));
+	}
+
+	/**
+	 * Reads the rows of the workbook, from its snapshot if valid
+	 */
+	private List<String[]> read() throws IOException {
+
+		List<String[]> rows = new ArrayList<>();
+		assertEquals(ROWS, SheetReader.read(workbook.getPath(), "Unpaid", IELTSMapper.HEADINGS, rows::add));
+		assertEquals(ROWS, rows.size());
+		return rows;
+	}
+}
@@ -0,0 +1,124 @@
+package com.manage.cli;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.List;
+
+import org.bson.Document;
+
+import com.manage.lookup.LookupEngine;
+import com.manage.mapper.IELTSMapper;
+import com.manage.mapper.SchoolMapper;
+
+import junit.framework.TestCase;
+
+/**
+ * The LookupCli tests
+ */
+public class LookupCliTest extends TestCase {
+
+	private static final String CSV_HEADER = "productType,country,name,reference,matches,matchedName,"
+			+ "matchedReference,amount,paymentReference";
+
+	private LookupEngine lookupEngine;
+
+	@Override
+	protected void setUp() {
+
+		lookupEngine = new LookupEngine();
+		lookupEngine.updateIELTS(Arrays.asList(
+				IELTSMapper.map(new String[] { "Sri Lanka", "Colombo", "Ram Thapa", "A3-LK001-S-2983126",
+						"Paper Based", "01/02/2024", "15/03/2024", "PR-1", "25100.00", "Offline" }),
+				IELTSMapper.map(new String[] { "Sri Lanka", "Kandy", "O'Neil, \"Jo\"", "A3-LK001-S-1234567",
+						"Paper Based", "01/02/2024", "15/03/2024", "PR-2", "25100.00", "Offline" })));
+
+		String[] school = new String[SchoolMapper.HEADINGS.length];
+		Arrays.fill(school, "");
+		school[0] = "Asha";
+		school[1] = "Rao";
+		school[2] = "India";
+		school[Arrays.asList(SchoolMapper.HEADINGS).indexOf("Registration ID")] = "A2IN-G0000000007654321";
+		lookupEngine.updateSchools(Arrays.asList(SchoolMapper.map(school)));
+	}
+
+	public void testCsvRoundTrip() throws IOException {
+
+		String output = lookup("IELTS,Sri Lanka,Ram Thapa,2983126\nSchool,India,Rao,7654321\n", false);
+		assertEquals(CSV_HEADER + "\n" //
+				+ "IELTS,Sri Lanka,Ram Thapa,2983126,1,Ram Thapa,A3-LK001-S-2983126,25100.00,PR-1\n"
+				+ "School,India,Rao,7654321,1,Asha Rao,A2IN-G0000000007654321,,\n", output);
+	}
+
+	public void testCsvHeaderIsSkipped() throws IOException {
+
+		String output = lookup("productType,country,name,reference\nIELTS,Sri Lanka,,2983126\n", false);
+		assertEquals(CSV_HEADER + "\n" //
+				+ "IELTS,Sri Lanka,,2983126,1,Ram Thapa,A3-LK001-S-2983126,25100.00,PR-1\n", output);
+	}
+
+	public void testCsvQuoting() throws IOException {
+
+		String output = lookup("IELTS,\"Sri Lanka\",\"O'Neil, \"\"Jo\"\"\",1234567\n", false);
+		assertEquals(CSV_HEADER + "\n" //
+				+ "IELTS,Sri Lanka,\"O'Neil, \"\"Jo\"\"\",1234567,1,\"O'Neil, \"\"Jo\"\"\",A3-LK001-S-1234567,"
+				+ "25100.00,PR-2\n", output);
+	}
+
+	public void testCsvBlankCountry() throws IOException {
+
+		String output = lookup("IELTS,,,2983126\nIELTS, ,,2983126\n", false);
+		assertEquals(CSV_HEADER + "\n" //
+				+ "IELTS,,,2983126,1,Ram Thapa,A3-LK001-S-2983126,25100.00,PR-1\n"
+				+ "IELTS,,,2983126,1,Ram Thapa,A3-LK001-S-2983126,25100.00,PR-1\n", output);
+	}
+
+	public void testCsvInvalidAndUnmatchedLines() throws IOException {
+
+		String output = lookup("IELTS,Sri Lanka\n\nIELTS,Sri Lanka,Ram Thapa,1111111\nExam,,,2983126\n", false);
+		assertEquals(CSV_HEADER + "\n" //
+				+ "IELTS,Sri Lanka,Ram Thapa,1111111,0,,,,\n" //
+				+ "Exam,,,2983126,0,,,,\n", output);
+	}
+
+	public void testJsonlRoundTrip() throws IOException {
+
+		String output = lookup("{\"productType\": \"IELTS\", \"country\": \"Sri Lanka\", \"name\": \"Ram Thapa\","
+				+ " \"reference\": \"2983126\"}\n" //
+				+ "{\"productType\": \"IELTS\", \"reference\": \"2983126\"}\n" //
+				+ "not json\n" //
+				+ "{\"productType\": \"School\", \"country\": \"India\", \"name\": \"\", \"reference\": \"7654321\"}\n",
+				true);
+
+		String[] lines = output.split("\n");
+		assertEquals(3, lines.length);
+
+		Document result = Document.parse(lines[0]);
+		assertEquals("Sri Lanka", result.getString("country"));
+		assertEquals("Ram Thapa", result.getString("name"));
+		List<?> matches = result.get("matches", List.class);
+		assertEquals(1, matches.size());
+		assertEquals("A3-LK001-S-2983126", ((Document) matches.get(0)).getString("reference"));
+
+		result = Document.parse(lines[1]);
+		assertEquals("", result.getString("country"));
+		assertEquals(1, result.get("matches", List.class).size());
+
+		result = Document.parse(lines[2]);
+		assertEquals("School", result.getString("productType"));
+		assertEquals(1, result.get("matches", List.class).size());
+	}
+
+	/**
+	 * Looks up the input tuples
+	 */
+	private String lookup(String input, boolean jsonl) throws IOException {
+
+		StringWriter writer = new StringWriter();
+		long lookups = LookupCli.lookup(lookupEngine, new BufferedReader(new StringReader(input)), writer, jsonl);
+		assertEquals(writer.toString().split("\n").length - (jsonl ? 0 : 1), lookups);
+		return writer.toString();
+	}
+}
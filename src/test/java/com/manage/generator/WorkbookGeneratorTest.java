@@ -0,0 +1,104 @@
+package com.manage.generator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import junit.framework.TestCase;
+
+/**
+ * The WorkbookGenerator tests
+ */
+public class WorkbookGeneratorTest extends TestCase {
+
+	private static final int ROWS = 20_000;
+	private static final double DUPLICATE_RATE = 0.2;
+
+	public void testIELTSDuplicateRate() {
+
+		WorkbookGenerator workbookGenerator = generator(7);
+		List<String[]> rows = new ArrayList<>();
+		workbookGenerator.generateIELTS(rows::add);
+		assertDuplicateRate(rows, column(WorkbookGenerator.IELTS_HEADINGS, "Country"),
+				column(WorkbookGenerator.IELTS_HEADINGS, "Candidate Name"),
+				column(WorkbookGenerator.IELTS_HEADINGS, "Reference"));
+	}
+
+	public void testSchoolsDuplicateRate() {
+
+		WorkbookGenerator workbookGenerator = generator(7);
+		List<String[]> rows = new ArrayList<>();
+		workbookGenerator.generateSchools(rows::add);
+		assertDuplicateRate(rows, column(WorkbookGenerator.SCHOOL_HEADINGS, "School country"),
+				column(WorkbookGenerator.SCHOOL_HEADINGS, "First Name"),
+				column(WorkbookGenerator.SCHOOL_HEADINGS, "Last Name"),
+				column(WorkbookGenerator.SCHOOL_HEADINGS, "Registration ID"));
+	}
+
+	public void testSameSeedGeneratesSameRows() {
+
+		List<String[]> ieltsRows = new ArrayList<>();
+		List<String[]> schoolRows = new ArrayList<>();
+		generator(7).generateIELTS(ieltsRows::add);
+		generator(7).generateSchools(schoolRows::add);
+
+		List<String[]> sameIeltsRows = new ArrayList<>();
+		List<String[]> sameSchoolRows = new ArrayList<>();
+		generator(7).generateIELTS(sameIeltsRows::add);
+		generator(7).generateSchools(sameSchoolRows::add);
+		assertRows(ieltsRows, sameIeltsRows);
+		assertRows(schoolRows, sameSchoolRows);
+
+		List<String[]> otherRows = new ArrayList<>();
+		generator(8).generateSchools(otherRows::add);
+		assertFalse(Arrays.equals(schoolRows.get(0), otherRows.get(0)));
+	}
+
+	private static WorkbookGenerator generator(long seed) {
+
+		WorkbookGenerator workbookGenerator = new WorkbookGenerator();
+		workbookGenerator.setRows(ROWS);
+		workbookGenerator.setDuplicateRate(DUPLICATE_RATE);
+		workbookGenerator.setSeed(seed);
+		return workbookGenerator;
+	}
+
+	/**
+	 * Asserts that the rows repeating the key of an earlier row are near the
+	 * duplicate rate
+	 */
+	private static void assertDuplicateRate(List<String[]> rows, int... keyColumns) {
+
+		assertEquals(ROWS, rows.size());
+		Set<List<String>> keys = new HashSet<>();
+		int duplicates = 0;
+		for (String[] row : rows) {
+			List<String> key = new ArrayList<>(keyColumns.length);
+			for (int keyColumn : keyColumns) {
+				key.add(row[keyColumn]);
+			}
+			if (!keys.add(key)) {
+				duplicates++;
+			}
+		}
+		double rate = (double) duplicates / ROWS;
+		assertTrue("The duplicate rate is " + rate, Math.abs(rate - DUPLICATE_RATE) < 0.015);
+	}
+
+	private static void assertRows(List<String[]> expectedRows, List<String[]> rows) {
+
+		assertEquals(expectedRows.size(), rows.size());
+		for (int row = 0; row < rows.size(); row++) {
+			assertTrue("Row " + (row + 1), Arrays.equals(expectedRows.get(row), rows.get(row)));
+		}
+	}
+
+	private static int column(String[] headings, String heading) {
+
+		int column = Arrays.asList(headings).indexOf(heading);
+		assertTrue(heading, column >= 0);
+		return column;
+	}
+}
@@ -0,0 +1,96 @@
+package com.manage.http;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import org.bson.Document;
+
+import com.manage.lookup.LookupEngine;
+import com.manage.mapper.IELTSMapper;
+
+import junit.framework.TestCase;
+
+/**
+ * The LookupServer tests
+ */
+public class LookupServerTest extends TestCase {
+
+	private LookupServer lookupServer;
+
+	@Override
+	protected void setUp() throws IOException {
+
+		LookupEngine lookupEngine = new LookupEngine();
+		lookupEngine.updateIELTS(Arrays.asList(
+				IELTSMapper.map(new String[] { "Nepal", "Kathmandu", "Ram Thapa", "A3-NP001-S-1234567",
+						"Paper Based", "01/02/2024", "15/03/2024", "12345678", "25100.00", "Offline" }),
+				IELTSMapper.map(new String[] { "India", "Delhi", "Sita Sharma", "A3-IN001-S-7654321",
+						"Computer Delivered", "01/02/2024", "15/03/2024", "87654321", "25100.00", "Offline" })));
+
+		lookupServer = new LookupServer(0, lookupEngine);
+		lookupServer.start();
+	}
+
+	@Override
+	protected void tearDown() {
+		lookupServer.stop(0);
+	}
+
+	public void testLookupByReferenceAlone() throws IOException {
+
+		List<?> matches = matches("/ielts?reference=7654321");
+		assertEquals(1, matches.size());
+		assertEquals("Sita Sharma", ((Document) matches.get(0)).getString("candidateName"));
+	}
+
+	public void testLookupByReferenceWithBlankCountry() throws IOException {
+
+		List<?> matches = matches("/ielts?country=+&name=&reference=1234567");
+		assertEquals(1, matches.size());
+		assertEquals("Ram Thapa", ((Document) matches.get(0)).getString("candidateName"));
+	}
+
+	public void testLookupByReferenceOfCountry() throws IOException {
+
+		assertEquals(1, matches("/ielts?country=Nepal&reference=1234567").size());
+		assertEquals(0, matches("/ielts?country=India&reference=1234567").size());
+	}
+
+	public void testLookupByNameOfCountry() throws IOException {
+		assertEquals(1, matches("/ielts?country=Nepal&name=Ram+Thapa&reference=1234567").size());
+	}
+
+	public void testEmptyReference() throws IOException {
+		assertEquals(400, connect("/ielts?country=Nepal").getResponseCode());
+	}
+
+	/**
+	 * Gets the matches of the lookup
+	 */
+	private List<?> matches(String path) throws IOException {
+
+		HttpURLConnection connection = connect(path);
+		assertEquals(200, connection.getResponseCode());
+		ByteArrayOutputStream body = new ByteArrayOutputStream();
+		try (InputStream inputStream = connection.getInputStream()) {
+			byte[] buffer = new byte[4096];
+			for (int read; (read = inputStream.read(buffer)) > 0;) {
+				body.write(buffer, 0, read);
+			}
+		}
+		return Document.parse(new String(body.toByteArray(), StandardCharsets.UTF_8)).get("matches", List.class);
+	}
+
+	/**
+	 * Opens the connection of the request path
+	 */
+	private HttpURLConnection connect(String path) throws IOException {
+		return (HttpURLConnection) new URL("http://localhost:" + lookupServer.getPort() + path).openConnection();
+	}
+}
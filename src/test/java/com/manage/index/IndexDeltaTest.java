@@ -0,0 +1,88 @@
+package com.manage.index;
+
+import java.util.Arrays;
+import java.util.List;
+
+import com.manage.mapper.IELTSMapper;
+import com.manage.model.IELTS;
+
+import junit.framework.TestCase;
+
+/**
+ * The IndexDelta tests, of the deltas of the index updates
+ */
+public class IndexDeltaTest extends TestCase {
+
+	private static final IELTS RAM = ielts("Nepal", "Ram Thapa", "1234567", "25100.00");
+	private static final IELTS SITA = ielts("Nepal", "Sita Sharma", "2345678", "25100.00");
+	private static final IELTS HARI = ielts("Nepal", "Hari Rai", "3456789", "25100.00");
+	private static final IELTS ASHA = ielts("India", "Asha Rao", "4567890", "24000.00");
+	private static final IELTS RAJ = ielts("India", "Raj Rao", "5678901", "24000.00");
+	private static final IELTS KARMA = ielts("Bhutan", "Karma Dorji", "6789012", "23000.00");
+
+	public void testBuildInsertsAll() {
+
+		IndexDelta delta = RecordIndex.build(RecordType.IELTS_RECORD, Arrays.asList(RAM, SITA, ASHA)).getDelta();
+		assertEquals(3, delta.getInserted());
+		assertEquals(0, delta.getUpdated());
+		assertEquals(0, delta.getRemoved());
+		assertEquals(0, delta.getUnchanged());
+	}
+
+	public void testUnchangedUpdate() {
+
+		List<IELTS> records = Arrays.asList(RAM, SITA, ASHA);
+		IndexDelta delta = RecordIndex.build(RecordType.IELTS_RECORD, records).update(records).getDelta();
+		assertTrue(delta.isEmpty());
+		assertEquals(3, delta.getUnchanged());
+	}
+
+	public void testChangedRows() {
+
+		RecordIndex<IELTS> index = RecordIndex.build(RecordType.IELTS_RECORD, Arrays.asList(RAM, SITA, HARI, ASHA));
+
+		// Sita is paid less, Hari is removed and Raj is added
+		IELTS paidLess = ielts("Nepal", "Sita Sharma", "2345678", "20080.00");
+		IndexDelta delta = index.update(Arrays.asList(RAM, paidLess, ASHA, RAJ)).getDelta();
+		assertEquals(1, delta.getInserted());
+		assertEquals(1, delta.getUpdated());
+		assertEquals(1, delta.getRemoved());
+		assertEquals(2, delta.getUnchanged());
+		assertFalse(delta.isEmpty());
+	}
+
+	public void testChangedCountries() {
+
+		RecordIndex<IELTS> index = RecordIndex.build(RecordType.IELTS_RECORD, Arrays.asList(RAM, SITA, ASHA, RAJ));
+
+		// India is removed and Bhutan is added
+		RecordIndex<IELTS> updatedIndex = index.update(Arrays.asList(RAM, SITA, KARMA));
+		IndexDelta delta = updatedIndex.getDelta();
+		assertEquals(1, delta.getInserted());
+		assertEquals(0, delta.getUpdated());
+		assertEquals(2, delta.getRemoved());
+		assertEquals(2, delta.getUnchanged());
+		assertEquals(Arrays.asList("Bhutan", "Nepal"), Arrays.asList(updatedIndex.getCountries().toArray()));
+		assertEquals(3, updatedIndex.size());
+	}
+
+	public void testDuplicateRows() {
+
+		RecordIndex<IELTS> index = RecordIndex.build(RecordType.IELTS_RECORD, Arrays.asList(RAM, RAM, SITA));
+
+		// One of the duplicates is removed
+		IndexDelta delta = index.update(Arrays.asList(RAM, SITA)).getDelta();
+		assertEquals(0, delta.getInserted());
+		assertEquals(0, delta.getUpdated());
+		assertEquals(1, delta.getRemoved());
+		assertEquals(2, delta.getUnchanged());
+	}
+
+	/**
+	 * Maps the IELTS row
+	 */
+	private static IELTS ielts(String country, String name, String reference, String total) {
+		return IELTSMapper.map(new String[] { country, "Centre", name, "A3-XX001-S-" + reference, "Paper Based",
+				"01/02/2024", "15/03/2024", "12345678", total, "Offline" });
+	}
+}
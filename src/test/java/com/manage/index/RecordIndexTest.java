@@ -0,0 +1,56 @@
+package com.manage.index;
+
+import java.util.Arrays;
+
+import com.manage.mapper.IELTSMapper;
+import com.manage.model.IELTS;
+
+import junit.framework.TestCase;
+
+/**
+ * The RecordIndex tests, of the lookups across the index updates
+ */
+public class RecordIndexTest extends TestCase {
+
+	private static final IELTS RAM = ielts("Nepal", "Ram Thapa", "1234567", "25100.00");
+	private static final IELTS SITA = ielts("Nepal", "Sita Sharma", "2345678", "25100.00");
+	private static final IELTS ASHA = ielts("India", "Asha Rao", "4567890", "24000.00");
+
+	public void testLookupsOfUpdatedIndex() {
+
+		RecordIndex<IELTS> index = RecordIndex.build(RecordType.IELTS_RECORD, Arrays.asList(RAM, ASHA));
+		assertSame(RAM, index.find("Nepal", " ram thapa ", "1234567"));
+
+		// Nepal is changed while India is not, the India lookup is first built after the update
+		IELTS paidLess = ielts("Nepal", "Ram Thapa", "1234567", "20080.00");
+		RecordIndex<IELTS> updatedIndex = index.update(Arrays.asList(paidLess, SITA, ASHA));
+		assertSame(paidLess, updatedIndex.find("Nepal", "Ram Thapa", "1234567"));
+		assertSame(SITA, updatedIndex.find("Nepal", "Sita Sharma", "2345678"));
+		assertSame(ASHA, updatedIndex.find("India", "Asha Rao", "4567890"));
+		assertEquals(Arrays.asList(ASHA), updatedIndex.findByReference(null, "4567890"));
+
+		// The previous index is left as is
+		assertSame(RAM, index.find("Nepal", "Ram Thapa", "1234567"));
+		assertNull(index.find("Nepal", "Sita Sharma", "2345678"));
+	}
+
+	public void testUnchangedCountryKeepsItsLookup() {
+
+		RecordIndex<IELTS> index = RecordIndex.build(RecordType.IELTS_RECORD, Arrays.asList(RAM, ASHA));
+		assertSame(ASHA, index.find("India", "Asha Rao", "4567890"));
+
+		RecordIndex<IELTS> updatedIndex = index.update(Arrays.asList(RAM, SITA, ASHA));
+		assertEquals(1, updatedIndex.getDelta().getInserted());
+		assertEquals(2, updatedIndex.getDelta().getUnchanged());
+		assertSame(ASHA, updatedIndex.find("India", "Asha Rao", "4567890"));
+		assertSame(SITA, updatedIndex.find("Nepal", "Sita Sharma", "2345678"));
+	}
+
+	/**
+	 * Maps the IELTS row
+	 */
+	private static IELTS ielts(String country, String name, String reference, String total) {
+		return IELTSMapper.map(new String[] { country, "Centre", name, "A3-XX001-S-" + reference, "Paper Based",
+				"01/02/2024", "15/03/2024", "12345678", total, "Offline" });
+	}
+}
@@ -0,0 +1,80 @@
+package com.manage.index;
+
+import java.util.HashMap;
+
+import com.manage.util.StringDictionary;
+
+import junit.framework.TestCase;
+
+/**
+ * The RecordKey tests
+ */
+public class RecordKeyTest extends TestCase {
+
+	public void testKeysOfNormalizedNamesAreEqual() {
+
+		RecordKey key = RecordKey.of("Nepal", "Ram Thapa", "A3-NP001-S-1234567");
+		RecordKey other = RecordKey.of("Nepal", "  ram   THAPA ", "1234567");
+		assertEquals(key, other);
+		assertEquals(key.hashCode(), other.hashCode());
+		assertEquals("RAM THAPA", other.getName());
+		assertEquals(1234567, other.getReference());
+	}
+
+	public void testKeysDiffer() {
+
+		RecordKey key = RecordKey.of("Nepal", "Ram Thapa", "1234567");
+		assertFalse(key.equals(RecordKey.of("India", "Ram Thapa", "1234567")));
+		assertFalse(key.equals(RecordKey.of("Nepal", "Ram Thap", "1234567")));
+		assertFalse(key.equals(RecordKey.of("Nepal", "RamThapa", "1234567")));
+		assertFalse(key.equals(RecordKey.of("Nepal", "Ram Thapa", "1234568")));
+	}
+
+	public void testProbeMatchesKey() {
+
+		RecordKey key = RecordKey.of("Nepal", "Ram Thapa", "1234567");
+		int country = StringDictionary.SHARED.find("Nepal");
+		for (String name : new String[] { "Ram Thapa", "ram thapa", " Ram \t Thapa  ", "RAM THAPA" }) {
+			RecordKey.Probe probe = new RecordKey.Probe().set(country, name, 1234567);
+			assertTrue(name, probe.equals(key));
+			assertEquals(name, key.hashCode(), probe.hashCode());
+		}
+	}
+
+	public void testProbeDiffersFromKey() {
+
+		RecordKey key = RecordKey.of("Nepal", "Ram Thapa", "1234567");
+		int country = StringDictionary.SHARED.find("Nepal");
+		assertFalse(new RecordKey.Probe().set(country, "Ram Thap", 1234567).equals(key));
+		assertFalse(new RecordKey.Probe().set(country, "Ram Thapas", 1234567).equals(key));
+		assertFalse(new RecordKey.Probe().set(country, "RamThapa", 1234567).equals(key));
+		assertFalse(new RecordKey.Probe().set(country, "Ram Thapa", 7654321).equals(key));
+		assertFalse(new RecordKey.Probe().set(StringDictionary.SHARED.code("India"), "Ram Thapa", 1234567)
+				.equals(key));
+		assertFalse(new RecordKey.Probe().set(country, "Ram Thapa", 1234567).equals("Ram Thapa"));
+	}
+
+	public void testProbeLooksUpKey() {
+
+		HashMap<RecordKey, String> records = new HashMap<>();
+		records.put(RecordKey.of("Nepal", "Ram Thapa", "1234567"), "Ram");
+		records.put(RecordKey.of("Nepal", "Sita Sharma", "1234567"), "Sita");
+
+		RecordKey.Probe probe = new RecordKey.Probe();
+		int country = StringDictionary.SHARED.find("Nepal");
+		assertEquals("Ram", records.get(probe.set(country, " ram  thapa", 1234567)));
+		assertEquals("Sita", records.get(probe.set(country, "SITA SHARMA", 1234567)));
+		assertNull(records.get(probe.set(country, "Sita Sharma", 1234566)));
+		probe.clear();
+	}
+
+	public void testReferenceSuffix() {
+
+		assertEquals(1234567, RecordKey.referenceSuffix("A3-NP001-S-1234567"));
+		assertEquals(1234567, RecordKey.referenceSuffix("1234567"));
+		assertEquals(7, RecordKey.referenceSuffix("0000007"));
+		assertEquals(RecordKey.NO_REFERENCE, RecordKey.referenceSuffix("123456"));
+		assertEquals(RecordKey.NO_REFERENCE, RecordKey.referenceSuffix("A3-NP001-S-123456X"));
+		assertEquals(RecordKey.NO_REFERENCE, RecordKey.referenceSuffix(null));
+	}
+}
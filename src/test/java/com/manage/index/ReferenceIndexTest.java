@@ -0,0 +1,80 @@
+package com.manage.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+/**
+ * The ReferenceIndex tests
+ */
+public class ReferenceIndexTest extends TestCase {
+
+	public void testSlotsOfSuffix() {
+
+		ReferenceIndex referenceIndex = new ReferenceIndex(
+				new int[] { 1234567, 7654321, 1234567, RecordKey.NO_REFERENCE, 1234567 });
+		assertEquals(Arrays.asList(0, 2, 4), slots(referenceIndex, 1234567));
+		assertEquals(Arrays.asList(1), slots(referenceIndex, 7654321));
+		assertEquals(Arrays.asList(), slots(referenceIndex, 1111111));
+		assertEquals(Arrays.asList(), slots(referenceIndex, RecordKey.NO_REFERENCE));
+	}
+
+	public void testEmptyIndex() {
+		assertEquals(Arrays.asList(), slots(new ReferenceIndex(new int[0]), 1234567));
+	}
+
+	public void testCollisionsWrapAround() {
+
+		// Five slots make a table of 8 positions. The suffixes all hash to the last
+		// position, thus the later ones wrap around to the first positions.
+		int[] colliding = suffixesAt(7, 8, 4);
+		ReferenceIndex referenceIndex = new ReferenceIndex(
+				new int[] { colliding[0], colliding[1], colliding[2], colliding[0], RecordKey.NO_REFERENCE });
+		assertEquals(Arrays.asList(0, 3), slots(referenceIndex, colliding[0]));
+		assertEquals(Arrays.asList(1), slots(referenceIndex, colliding[1]));
+		assertEquals(Arrays.asList(2), slots(referenceIndex, colliding[2]));
+		assertEquals(Arrays.asList(), slots(referenceIndex, colliding[3]));
+	}
+
+	public void testManySuffixes() {
+
+		int[] suffixes = new int[10_000];
+		for (int slot = 0; slot < suffixes.length; slot++) {
+			suffixes[slot] = (slot * 7919 + 1234567) % 10_000_000 / 2 * 2; // Every suffix is even
+		}
+		ReferenceIndex referenceIndex = new ReferenceIndex(suffixes);
+		for (int slot = 0; slot < suffixes.length; slot++) {
+			assertEquals(Arrays.asList(slot), slots(referenceIndex, suffixes[slot]));
+			assertEquals(Arrays.asList(), slots(referenceIndex, suffixes[slot] + 1));
+		}
+	}
+
+	/**
+	 * Gets the slots of the suffix, in order
+	 */
+	private static List<Integer> slots(ReferenceIndex referenceIndex, int suffix) {
+
+		List<Integer> slots = new ArrayList<>();
+		for (int slot = referenceIndex.first(suffix); slot >= 0; slot = referenceIndex.next(slot)) {
+			slots.add(slot);
+		}
+		return slots;
+	}
+
+	/**
+	 * Finds the suffixes of the table position, hashed as the index does
+	 */
+	private static int[] suffixesAt(int position, int capacity, int count) {
+
+		int[] suffixes = new int[count];
+		for (int suffix = 0, found = 0; found < count; suffix++) {
+			int hash = suffix * 0x9E3779B9;
+			if (((hash ^ hash >>> 16) & (capacity - 1)) == position) {
+				suffixes[found++] = suffix;
+			}
+		}
+		return suffixes;
+	}
+}
@@ -0,0 +1,138 @@
+package com.manage.lookup;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.manage.mapper.IELTSMapper;
+import com.manage.mapper.SchoolMapper;
+import com.manage.model.IELTS;
+import com.manage.model.School;
+import com.manage.store.IELTSTable;
+import com.manage.store.SchoolTable;
+
+import junit.framework.TestCase;
+
+/**
+ * The LookupEngine aggregate tests. The aggregates of the columnar tables are
+ * compared to the aggregates of the row models of the same rows.
+ */
+public class LookupEngineTest extends TestCase {
+
+	private static final String[][] IELTS_ROWS = {
+			{ "Nepal", "Kathmandu", "Ram Thapa", "A3-NP001-S-1234567", "Paper Based", "01/02/2024", "15/03/2024",
+					"12345678", "25100.00", "Offline" },
+			{ "Nepal", "Pokhara", "Hari Gurung", "A3-NP001-S-1234568", "Computer Delivered", "01/02/2024",
+					"15/03/2024", "12345679", "25100.5", "Offline" },
+			{ "Nepal", "Kathmandu", "Gita Rai", "A3-NP001-S-1234569", "Paper Based", "01/02/2024", "15/03/2024",
+					"12345680", "Waived", "Offline" },
+			{ "India", "Delhi", "Sita Sharma", "A3-IN001-S-7654321", "Computer Delivered", "01/02/2024",
+					"15/03/2024", "87654321", "16000", "Online" },
+			{ "India", "Delhi", "Anil Kumar", "A3-IN001-S-7654322", "Paper Based", "01/02/2024", "15/03/2024",
+					"87654322", "-1000.257", "Online" } };
+
+	private static final String[][] SCHOOL_ROWS = {
+			{ "Ram", "Thapa", "Nepal", "Kathmandu Centre", "120.50", "2", "A2NP-G0000000001234567", "P1" },
+			{ "Hari", "Gurung", "Nepal", "Pokhara Centre", "80", "1", "A2NP-G0000000001234568", "P2" },
+			{ "Sita", "Sharma", "India", "Delhi Centre", "", "1", "A2IN-G0000000007654321", "P3" },
+			{ "Anil", "Kumar", "India", "Delhi Centre", "99.999", "3", "A2IN-G0000000007654322", "P4" } };
+
+	public void testIELTSAggregates() {
+
+		LookupEngine tableEngine = new LookupEngine();
+		tableEngine.updateIELTS(ieltsTable().views());
+		LookupEngine modelEngine = new LookupEngine();
+		modelEngine.updateIELTS(ieltsModels());
+
+		Map<String, BigDecimal> totals = new TreeMap<>();
+		totals.put("India", new BigDecimal("14999.75"));
+		totals.put("Nepal", new BigDecimal("50200.50"));
+		assertEquals(totals, tableEngine.ieltsTotalsByCountry());
+		assertEquals(totals, modelEngine.ieltsTotalsByCountry());
+
+		Map<String, Integer> counts = new TreeMap<>();
+		counts.put("Computer Delivered", 2);
+		counts.put("Paper Based", 3);
+		assertEquals(counts, tableEngine.ieltsCountsByExamFormat());
+		assertEquals(counts, modelEngine.ieltsCountsByExamFormat());
+	}
+
+	public void testSchoolAggregates() {
+
+		LookupEngine tableEngine = new LookupEngine();
+		tableEngine.updateSchools(schoolTable().views());
+		LookupEngine modelEngine = new LookupEngine();
+		modelEngine.updateSchools(schoolModels());
+
+		Map<String, BigDecimal> fees = new TreeMap<>();
+		fees.put("India", new BigDecimal("99.99"));
+		fees.put("Nepal", new BigDecimal("200.50"));
+		assertEquals(fees, tableEngine.schoolFeesByCountry());
+		assertEquals(fees, modelEngine.schoolFeesByCountry());
+
+		Map<String, Integer> counts = new TreeMap<>();
+		counts.put("Delhi Centre", 2);
+		counts.put("Kathmandu Centre", 1);
+		counts.put("Pokhara Centre", 1);
+		assertEquals(counts, tableEngine.schoolCountsByCentreName());
+		assertEquals(counts, modelEngine.schoolCountsByCentreName());
+	}
+
+	public void testPartOfTableIsAggregatedByRecord() {
+
+		List<IELTS> views = new ArrayList<>(ieltsTable().views().subList(3, 5));
+		assertEquals(IELTSTable.totalsByCountry(ieltsModels().subList(3, 5)), IELTSTable.totalsByCountry(views));
+		assertEquals(1, IELTSTable.countsByExamFormat(views).get("Paper Based").intValue());
+
+		List<School> schoolViews = new ArrayList<>(schoolTable().views().subList(0, 1));
+		assertEquals(new BigDecimal("120.50"), SchoolTable.totalLocalFeesByCountry(schoolViews).get("Nepal"));
+	}
+
+	public void testReloadReplacesAggregates() {
+
+		LookupEngine lookupEngine = new LookupEngine();
+		lookupEngine.updateIELTS(ieltsTable().views());
+		lookupEngine.updateIELTS(ieltsModels().subList(0, 1));
+		assertEquals(1, lookupEngine.ieltsTotalsByCountry().size());
+		assertEquals(new BigDecimal("25100.00"), lookupEngine.ieltsTotalsByCountry().get("Nepal"));
+		assertTrue(new LookupEngine().schoolCountsByCentreName().isEmpty());
+	}
+
+	private static IELTSTable ieltsTable() {
+
+		IELTSTable table = new IELTSTable();
+		for (String[] values : IELTS_ROWS) {
+			table.add(values);
+		}
+		return table;
+	}
+
+	private static List<IELTS> ieltsModels() {
+
+		List<IELTS> models = new ArrayList<>();
+		for (String[] values : IELTS_ROWS) {
+			models.add(IELTSMapper.map(values));
+		}
+		return models;
+	}
+
+	private static SchoolTable schoolTable() {
+
+		SchoolTable table = new SchoolTable();
+		for (String[] values : SCHOOL_ROWS) {
+			table.add(values);
+		}
+		return table;
+	}
+
+	private static List<School> schoolModels() {
+
+		List<School> models = new ArrayList<>();
+		for (String[] values : SCHOOL_ROWS) {
+			models.add(SchoolMapper.map(values));
+		}
+		return models;
+	}
+}
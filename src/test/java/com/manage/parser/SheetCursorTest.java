@@ -0,0 +1,284 @@
+package com.manage.parser;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+
+import junit.framework.TestCase;
+
+/**
+ * The SheetCursor and SharedStrings tests, of small workbooks holding the cell
+ * kinds the exported reports may hold
+ */
+public class SheetCursorTest extends TestCase {
+
+	private static final String MAIN_NAMESPACE = "http://schemas.openxmlformats.org/spreadsheetml/2006/main";
+	private static final String RELATIONSHIPS = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+
+	/**
+	 * The styles: 0 General, 1 "0.00", 2 "#,##0.00", 3 the "dd/mm/yyyy" custom
+	 * format and 4 the "m/d/yy" built-in date format
+	 */
+	private static final String STYLES = "<styleSheet xmlns=\"" + MAIN_NAMESPACE + "\">"
+			+ "<numFmts count=\"1\"><numFmt numFmtId=\"164\" formatCode=\"dd/mm/yyyy\"/></numFmts>"
+			+ "<fonts count=\"1\"><font><sz val=\"11\"/><name val=\"Calibri\"/></font></fonts>"
+			+ "<fills count=\"1\"><fill><patternFill patternType=\"none\"/></fill></fills>"
+			+ "<borders count=\"1\"><border/></borders>"
+			+ "<cellStyleXfs count=\"1\"><xf numFmtId=\"0\" fontId=\"0\" fillId=\"0\" borderId=\"0\"/></cellStyleXfs>"
+			+ "<cellXfs count=\"5\"><xf numFmtId=\"0\" xfId=\"0\"/><xf numFmtId=\"2\" xfId=\"0\"/>"
+			+ "<xf numFmtId=\"4\" xfId=\"0\"/><xf numFmtId=\"164\" xfId=\"0\"/><xf numFmtId=\"14\" xfId=\"0\"/>"
+			+ "</cellXfs></styleSheet>";
+
+	private File directory;
+	private File workbookRead;
+
+	@Override
+	protected void setUp() throws IOException {
+		directory = Files.createTempDirectory("sheet-cursor-test").toFile();
+	}
+
+	@Override
+	protected void tearDown() {
+
+		for (File file : directory.listFiles()) {
+			file.delete();
+		}
+		directory.delete();
+	}
+
+	public void testSharedStringEscapes() throws XMLStreamException {
+
+		SharedStrings sharedStrings = sharedStrings("<si><t>A_x0042_C</t></si>" // An escaped letter
+				+ "<si><t>Tab_x0009_Stop</t></si>" // An escaped control character
+				+ "<si><t>_x005F_x0041_</t></si>" // An escaped underscore, thus no escape
+				+ "<si><t>_xZZZZ_ and _x004</t></si>"); // Not escapes
+		assertEquals(4, sharedStrings.size());
+		assertEquals("ABC", sharedStrings.get(0));
+		assertEquals("Tab\tStop", sharedStrings.get(1));
+		assertEquals("_x0041_", sharedStrings.get(2));
+		assertEquals("_xZZZZ_ and _x004", sharedStrings.get(3));
+	}
+
+	public void testSharedStringRuns() throws XMLStreamException {
+
+		SharedStrings sharedStrings = sharedStrings("<si><r><rPr><b/></rPr><t xml:space=\"preserve\">Ram </t></r>"
+				+ "<r><t>Thapa</t></r></si>" // Rich-text runs
+				+ "<si><t>漢字</t><rPh sb=\"0\" eb=\"2\"><t>かんじ</t></rPh>"
+				+ "<phoneticPr fontId=\"0\"/></si>" // A phonetic run
+				+ "<si><t xml:space=\"preserve\">  Padded  </t></si>" // Trimmed once read
+				+ "<si><t/></si>");
+		assertEquals("Ram Thapa", sharedStrings.get(0));
+		assertEquals("漢字", sharedStrings.get(1));
+		assertEquals("Padded", sharedStrings.get(2));
+		assertEquals("", sharedStrings.get(3));
+		assertEquals("", sharedStrings.get(4));
+		assertEquals("", sharedStrings.get(-1));
+	}
+
+	public void testInlineStrings() throws IOException {
+
+		List<String[]> rows = read(new String[] { "Name", "Note" }, "<row r=\"1\">" + shared("A1", 0)
+				+ shared("B1", 1) + "</row><row r=\"2\"><c r=\"A2\" t=\"inlineStr\"><is><t>Inline_x0041_</t></is></c>"
+				+ "<c r=\"B2\" t=\"inlineStr\"><is><r><t>Rich </t></r><r><t>inline</t></r>"
+				+ "<rPh sb=\"0\" eb=\"1\"><t>phonetic</t></rPh></is></c></row>", "Name", "Note");
+		assertEquals(1, rows.size());
+		assertEquals("InlineA", rows.get(0)[0]);
+
+		// The runs are read as POI reads them, where the baseline reader kept the last
+		// text element alone, the phonetic one here
+		assertEquals("Rich inline", rows.get(0)[1]);
+	}
+
+	public void testCellsWithoutReference() throws IOException {
+
+		// The cells without a reference follow the previous cell, where the baseline
+		// reader counted the cells alone, thus read "d" to the column C
+		List<String[]> rows = read(new String[] { "A", "B", "C", "D" },
+				"<row><c t=\"s\"><v>0</v></c><c t=\"s\"><v>1</v></c><c t=\"s\"><v>2</v></c><c t=\"s\"><v>3</v></c>"
+						+ "</row><row><c t=\"str\"><v>a</v></c><c r=\"C2\" t=\"str\"><v>c</v></c>"
+						+ "<c t=\"str\"><v>d</v></c></row>",
+				"A", "B", "C", "D");
+		assertEquals(1, rows.size());
+		assertEquals("a||c|d", String.join("|", rows.get(0)));
+	}
+
+	public void testColumnSelection() throws IOException {
+
+		// The heading of the last column wins, the missing heading is null, and the
+		// cells of the unmapped columns are left out
+		List<String[]> rows = read(new String[] { "Country", "Skipped", "Name", "Reference", "Name" },
+				"<row r=\"1\">" + shared("A1", 0) + shared("B1", 1) + shared("C1", 2) + shared("D1", 3)
+						+ shared("E1", 4) + "</row><row r=\"2\">" + text("A2", "Nepal") + text("B2", "x")
+						+ text("C2", "First") + text("D2", "1234567") + text("E2", "Last") + "</row>"
+						+ "<row r=\"3\">" + text("A3", "India") + text("F3", "Beyond") + "</row>",
+				"Reference", "Name", "Missing", "Country", "Reference");
+		assertEquals(2, rows.size());
+		assertEquals("1234567", rows.get(0)[0]);
+		assertEquals("Last", rows.get(0)[1]);
+		assertNull(rows.get(0)[2]);
+		assertEquals("Nepal", rows.get(0)[3]);
+		assertEquals("1234567", rows.get(0)[4]);
+		assertEquals(Arrays.asList("", "", null, "India", ""), Arrays.asList(rows.get(1)));
+		assertBaseline(rows, "Reference", "Name", "Missing", "Country", "Reference");
+	}
+
+	public void testNumberFormats() throws IOException {
+
+		List<String[]> rows = read(new String[] { "General", "Fixed", "Grouped", "Custom Date", "Date", "Bare" },
+				"<row r=\"1\">" + shared("A1", 0) + shared("B1", 1) + shared("C1", 2) + shared("D1", 3)
+						+ shared("E1", 4) + shared("F1", 5) + "</row><row r=\"2\">"
+						+ "<c r=\"A2\" s=\"0\"><v>25100.5</v></c><c r=\"B2\" s=\"1\"><v>25100</v></c>"
+						+ "<c r=\"C2\" s=\"2\"><v>1234567.891</v></c><c r=\"D2\" s=\"3\"><v>43862</v></c>"
+						+ "<c r=\"E2\" s=\"4\"><v>43862</v></c><c r=\"F2\"><v>7</v></c></row>"
+						+ "<row r=\"3\"><c r=\"A3\" t=\"e\"><v>#N/A</v></c><c r=\"B3\" t=\"b\"><v>1</v></c>"
+						+ "<c r=\"C3\" s=\"9\"><v>12.5</v></c><c r=\"D3\" s=\"3\" t=\"str\"><v>Pending</v></c></row>",
+				"General", "Fixed", "Grouped", "Custom Date", "Date", "Bare");
+		assertEquals(2, rows.size());
+		assertEquals("25100.5|25100.00|1,234,567.89|01/02/2020|2/1/20|7", String.join("|", rows.get(0)));
+		assertEquals("ERROR:  #N/A|1|12.5|Pending||", String.join("|", rows.get(1)));
+		assertBaseline(rows, "General", "Fixed", "Grouped", "Custom Date", "Date", "Bare");
+	}
+
+	public void testLastRowNum() throws IOException {
+
+		File workbook = workbook("<dimension ref=\"A1:B3\"/>", "<row r=\"1\">" + shared("A1", 0) + "</row>");
+		try (SheetCursor sheetCursor = SheetCursor.open(workbook.getPath(), "unpaid")) {
+			assertEquals(2, sheetCursor.getLastRowNum());
+			assertEquals("Name", String.join("|", sheetCursor.nextTexts()));
+			assertNull(sheetCursor.nextTexts());
+		}
+	}
+
+	public void testMissingSheet() throws IOException {
+
+		File workbook = workbook("", "");
+		try (SheetCursor sheetCursor = SheetCursor.open(workbook.getPath(), "Paid")) {
+			fail();
+		} catch (IOException exception) {
+			assertEquals("The sheet Paid is not in the workbook.", exception.getMessage());
+		}
+	}
+
+	/**
+	 * Asserts that the rows are the rows of the baseline reader, of the last read
+	 * workbook
+	 */
+	private void assertBaseline(List<String[]> rows, String... headings) throws IOException {
+
+		List<String[]> baselineRows = SheetReaderParityTest.readBaseline(workbookRead, headings);
+		assertEquals(baselineRows.size(), rows.size());
+		for (int row = 0; row < rows.size(); row++) {
+			assertEquals(Arrays.asList(baselineRows.get(row)), Arrays.asList(rows.get(row)));
+		}
+	}
+
+	/**
+	 * Reads the shared strings of the entries
+	 */
+	private static SharedStrings sharedStrings(String entries) throws XMLStreamException {
+		return SharedStrings.read(XMLInputFactory.newInstance().createXMLStreamReader(
+				new StringReader("<sst xmlns=\"" + MAIN_NAMESPACE + "\">" + entries + "</sst>")));
+	}
+
+	/**
+	 * Reads the rows of a workbook of the shared strings and the sheet data
+	 */
+	private List<String[]> read(String[] strings, String sheetData, String... headings) throws IOException {
+
+		File workbook = workbook(strings, "", sheetData);
+		List<String[]> rows = new ArrayList<>();
+		assertEquals(sheetData.split("<row").length - 2,
+				SheetReader.read(workbook.getPath(), "Unpaid", headings, rows::add));
+		workbookRead = workbook;
+		return rows;
+	}
+
+	/**
+	 * Gets the cell of the shared string
+	 */
+	private static String shared(String reference, int index) {
+		return "<c r=\"" + reference + "\" t=\"s\"><v>" + index + "</v></c>";
+	}
+
+	/**
+	 * Gets the cell of the formula string
+	 */
+	private static String text(String reference, String value) {
+		return "<c r=\"" + reference + "\" t=\"str\"><f>\"" + value + "\"</f><v>" + value + "</v></c>";
+	}
+
+	/**
+	 * Writes the workbook of the header "Name" and the sheet data
+	 */
+	private File workbook(String dimension, String sheetData) throws IOException {
+		return workbook(new String[] { "Name" }, dimension, sheetData);
+	}
+
+	/**
+	 * Writes the workbook of the shared strings and the sheet data
+	 */
+	private File workbook(String[] strings, String dimension, String sheetData) throws IOException {
+
+		StringBuilder sharedStrings = new StringBuilder("<sst xmlns=\"" + MAIN_NAMESPACE + "\" count=\""
+				+ strings.length + "\" uniqueCount=\"" + strings.length + "\">");
+		for (String string : strings) {
+			sharedStrings.append("<si><t>").append(string).append("</t></si>");
+		}
+
+		File workbook = new File(directory, "workbook" + directory.list().length + ".xlsx");
+		try (ZipOutputStream zipOutputStream = new ZipOutputStream(new FileOutputStream(workbook))) {
+			write(zipOutputStream, "[Content_Types].xml",
+					"<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">"
+							+ "<Default Extension=\"rels\" ContentType=\""
+							+ "application/vnd.openxmlformats-package.relationships+xml\"/>"
+							+ "<Default Extension=\"xml\" ContentType=\"application/xml\"/>"
+							+ "<Override PartName=\"/xl/workbook.xml\" ContentType=\""
+							+ "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml\"/>"
+							+ "<Override PartName=\"/xl/worksheets/sheet1.xml\" ContentType=\""
+							+ "application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml\"/>"
+							+ "<Override PartName=\"/xl/styles.xml\" ContentType=\""
+							+ "application/vnd.openxmlformats-officedocument.spreadsheetml.styles+xml\"/>"
+							+ "<Override PartName=\"/xl/sharedStrings.xml\" ContentType=\""
+							+ "application/vnd.openxmlformats-officedocument.spreadsheetml.sharedStrings+xml\"/>"
+							+ "</Types>");
+			write(zipOutputStream, "_rels/.rels",
+					"<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">"
+							+ "<Relationship Id=\"rId1\" Type=\"" + RELATIONSHIPS
+							+ "/officeDocument\" Target=\"xl/workbook.xml\"/></Relationships>");
+			write(zipOutputStream, "xl/workbook.xml", "<workbook xmlns=\"" + MAIN_NAMESPACE + "\" xmlns:r=\""
+					+ RELATIONSHIPS + "\"><sheets><sheet name=\"Unpaid\" sheetId=\"1\" r:id=\"rId1\"/></sheets>"
+					+ "</workbook>");
+			write(zipOutputStream, "xl/_rels/workbook.xml.rels",
+					"<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">"
+							+ "<Relationship Id=\"rId1\" Type=\"" + RELATIONSHIPS
+							+ "/worksheet\" Target=\"worksheets/sheet1.xml\"/><Relationship Id=\"rId2\" Type=\""
+							+ RELATIONSHIPS + "/styles\" Target=\"styles.xml\"/><Relationship Id=\"rId3\" Type=\""
+							+ RELATIONSHIPS + "/sharedStrings\" Target=\"sharedStrings.xml\"/></Relationships>");
+			write(zipOutputStream, "xl/styles.xml", STYLES);
+			write(zipOutputStream, "xl/sharedStrings.xml", sharedStrings.append("</sst>").toString());
+			write(zipOutputStream, "xl/worksheets/sheet1.xml", "<worksheet xmlns=\"" + MAIN_NAMESPACE + "\">"
+					+ dimension + "<sheetData>" + sheetData + "</sheetData></worksheet>");
+		}
+		return workbook;
+	}
+
+	/**
+	 * Writes a whole entry of the workbook
+	 */
+	private static void write(ZipOutputStream zipOutputStream, String name, String content) throws IOException {
+		zipOutputStream.putNextEntry(new ZipEntry(name));
+		zipOutputStream.write(content.getBytes(StandardCharsets.UTF_8));
+		zipOutputStream.closeEntry();
+	}
+}
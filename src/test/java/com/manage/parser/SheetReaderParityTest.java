@@ -0,0 +1,135 @@
+package com.manage.parser;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+
+import com.manage.generator.WorkbookGenerator;
+import com.manage.mapper.IELTSMapper;
+import com.manage.mapper.SchoolMapper;
+import com.monitorjbl.xlsx.StreamingReader;
+
+import junit.framework.TestCase;
+
+/**
+ * The SheetReader parity tests. The rows read are compared to the rows of the
+ * baseline reader, xlsx-streamer, which the SheetReader replaced.
+ */
+public class SheetReaderParityTest extends TestCase {
+
+	private File directory;
+
+	@Override
+	protected void setUp() throws IOException {
+		directory = Files.createTempDirectory("sheet-reader-test").toFile();
+	}
+
+	@Override
+	protected void tearDown() {
+
+		for (File file : directory.listFiles()) {
+			file.delete();
+		}
+		directory.delete();
+	}
+
+	public void testShippedIELTSSheet() throws IOException {
+		assertParity(copy(new File("ORS.xlsx")), IELTSMapper.HEADINGS);
+	}
+
+	public void testShippedSchoolsSheet() throws IOException {
+		assertParity(copy(new File("schools.xlsx")), SchoolMapper.HEADINGS);
+	}
+
+	public void testGeneratedSheets() throws IOException {
+
+		WorkbookGenerator workbookGenerator = new WorkbookGenerator();
+		workbookGenerator.setRows(2000);
+		workbookGenerator.setDuplicateRate(0.1);
+		File ieltsWorkbook = new File(directory, "ORS.xlsx");
+		File schoolsWorkbook = new File(directory, "schools.xlsx");
+		workbookGenerator.writeIELTS(ieltsWorkbook);
+		workbookGenerator.writeSchools(schoolsWorkbook);
+
+		assertParity(ieltsWorkbook, IELTSMapper.HEADINGS);
+		assertParity(schoolsWorkbook, SchoolMapper.HEADINGS);
+		assertParity(schoolsWorkbook, WorkbookGenerator.SCHOOL_HEADINGS);
+	}
+
+	/**
+	 * Asserts that the rows read are the baseline rows
+	 */
+	private static void assertParity(File workbook, String[] headings) throws IOException {
+
+		List<String[]> baselineRows = readBaseline(workbook, headings);
+		List<String[]> rows = new ArrayList<>();
+		assertEquals(baselineRows.size(), SheetReader.read(workbook.getPath(), "Unpaid", headings, rows::add));
+		assertFalse(rows.isEmpty());
+		for (int row = 0; row < rows.size(); row++) {
+			for (int h = 0; h < headings.length; h++) {
+				assertEquals(workbook.getName() + " row " + (row + 1) + " " + headings[h], baselineRows.get(row)[h],
+						rows.get(row)[h]);
+			}
+		}
+	}
+
+	/**
+	 * Reads the rows as the baseline reader reads them, the cells of the requested
+	 * headings read by getStringCellValue() and trimmed
+	 */
+	static List<String[]> readBaseline(File workbook, String[] headings) throws IOException {
+
+		List<String[]> rows = new ArrayList<>();
+		try (Workbook streamingWorkbook = StreamingReader.builder().rowCacheSize(100).bufferSize(4096)
+				.open(workbook)) {
+			Sheet sheet = streamingWorkbook.getSheet("Unpaid");
+			Iterator<Row> iterator = sheet.iterator();
+
+			int[] columns = new int[headings.length];
+			for (int h = 0; h < headings.length; h++) {
+				columns[h] = -1;
+			}
+			Iterator<Cell> cellIterator = iterator.next().cellIterator();
+			for (int c = 0; cellIterator.hasNext(); c++) {
+				String heading = cellIterator.next().getStringCellValue().trim();
+				for (int h = 0; h < headings.length; h++) {
+					if (headings[h].equals(heading)) {
+						columns[h] = c;
+					}
+				}
+			}
+
+			while (iterator.hasNext()) {
+				Row row = iterator.next();
+				String[] values = new String[headings.length];
+				for (int h = 0; h < headings.length; h++) {
+					if (columns[h] >= 0) {
+						values[h] = row.getCell(columns[h], Row.MissingCellPolicy.CREATE_NULL_AS_BLANK)
+								.getStringCellValue().trim();
+					}
+				}
+				rows.add(values);
+			}
+		}
+		return rows;
+	}
+
+	/**
+	 * Copies the workbook to the test directory, thus it is parsed rather than
+	 * read from a snapshot
+	 */
+	private File copy(File workbook) throws IOException {
+
+		File copy = new File(directory, workbook.getName());
+		Files.copy(workbook.toPath(), copy.toPath());
+		return copy;
+	}
+}
@@ -0,0 +1,70 @@
+package com.manage.util;
+
+import java.math.BigDecimal;
+
+import junit.framework.TestCase;
+
+/**
+ * The CompactAmount tests
+ */
+public class CompactAmountTest extends TestCase {
+
+	public void testAmountsRoundTrip() {
+
+		for (String amount : new String[] { "25100.00", "25100", "25100.5", "0", "0.00", "0.10", "-12.50", "-3",
+				"123456789012.345", "999999999999999" }) {
+			long encoded = CompactAmount.encode(amount);
+			assertTrue(amount, encoded != CompactAmount.NULL && encoded != CompactAmount.TEXT);
+			assertEquals(amount, CompactAmount.decode(encoded));
+			assertEquals(amount, new BigDecimal(amount), CompactAmount.toBigDecimal(encoded));
+		}
+	}
+
+	public void testScaleIsKept() {
+
+		assertFalse(CompactAmount.encode("25100.00") == CompactAmount.encode("25100"));
+		assertEquals("25100.00", CompactAmount.decode(CompactAmount.encode("25100.00")));
+		assertEquals("25100", CompactAmount.decode(CompactAmount.encode("25100")));
+	}
+
+	public void testNull() {
+
+		assertEquals(CompactAmount.NULL, CompactAmount.encode(null));
+		assertNull(CompactAmount.decode(CompactAmount.NULL));
+		assertNull(CompactAmount.toBigDecimal(CompactAmount.NULL));
+		assertNull(CompactAmount.decode(CompactAmount.encode(null, new StringDictionary()), new StringDictionary()));
+	}
+
+	public void testTexts() {
+
+		for (String text : new String[] { "", "Waived", "25,100.00", "25100.", ".5", "00.10", "-0", "+5", "1e3",
+				"25 100", "1234567890123456" }) {
+			assertEquals(text, CompactAmount.TEXT, CompactAmount.encode(text));
+			assertNull(text, CompactAmount.decode(CompactAmount.TEXT));
+		}
+	}
+
+	public void testTextsRoundTripInDictionary() {
+
+		StringDictionary texts = new StringDictionary();
+		long waived = CompactAmount.encode("Waived", texts);
+		long commas = CompactAmount.encode("25,100.00", texts);
+		long amount = CompactAmount.encode("25100.00", texts);
+		assertEquals("Waived", CompactAmount.decode(waived, texts));
+		assertEquals("25,100.00", CompactAmount.decode(commas, texts));
+		assertEquals("25100.00", CompactAmount.decode(amount, texts));
+		assertEquals(waived, CompactAmount.encode("Waived", texts));
+		assertEquals(2, texts.size());
+		assertNull(CompactAmount.decode(waived));
+		assertNull(CompactAmount.toBigDecimal(waived));
+	}
+
+	public void testMinorUnits() {
+
+		assertEquals(2510000, CompactAmount.toMinorUnits(CompactAmount.encode("25100"), 2));
+		assertEquals(2510050, CompactAmount.toMinorUnits(CompactAmount.encode("25100.5"), 2));
+		assertEquals(2510012, CompactAmount.toMinorUnits(CompactAmount.encode("25100.129"), 2));
+		assertEquals(-1250, CompactAmount.toMinorUnits(CompactAmount.encode("-12.50"), 2));
+		assertEquals(CompactAmount.NULL, CompactAmount.toMinorUnits(CompactAmount.encode("Waived"), 2));
+	}
+}
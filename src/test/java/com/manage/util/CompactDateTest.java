@@ -0,0 +1,63 @@
+package com.manage.util;
+
+import java.time.LocalDate;
+
+import junit.framework.TestCase;
+
+/**
+ * The CompactDate tests
+ */
+public class CompactDateTest extends TestCase {
+
+	public void testDatesRoundTrip() {
+
+		for (String date : new String[] { "01/02/2024", "29/02/2024", "31/12/1999", "01/01/1970", "15/03/2100" }) {
+			int encoded = CompactDate.encode(date);
+			assertTrue(date, encoded != CompactDate.NULL && encoded != CompactDate.TEXT);
+			assertEquals(date, CompactDate.decode(encoded));
+		}
+	}
+
+	public void testDates() {
+
+		assertEquals(LocalDate.of(2024, 2, 1), CompactDate.parse("01/02/2024"));
+		assertEquals(LocalDate.of(2024, 2, 1), CompactDate.toLocalDate(CompactDate.encode("01/02/2024")));
+		assertEquals(0, CompactDate.encode("01/01/1970"));
+		assertEquals(-1, CompactDate.encode("31/12/1969"));
+	}
+
+	public void testNull() {
+
+		assertEquals(CompactDate.NULL, CompactDate.encode(null));
+		assertNull(CompactDate.parse(null));
+		assertNull(CompactDate.decode(CompactDate.NULL));
+		assertNull(CompactDate.toLocalDate(CompactDate.NULL));
+		assertNull(CompactDate.decode(CompactDate.encode(null, new StringDictionary()), new StringDictionary()));
+	}
+
+	public void testTexts() {
+
+		for (String text : new String[] { "", "Pending", "30/02/2024", "1/2/2024", "2024-02-01", "01/13/2024",
+				"01-02-2024" }) {
+			assertNull(text, CompactDate.parse(text));
+			assertEquals(text, CompactDate.TEXT, CompactDate.encode(text));
+		}
+		assertNull(CompactDate.decode(CompactDate.TEXT));
+		assertNull(CompactDate.toLocalDate(CompactDate.TEXT));
+	}
+
+	public void testTextsRoundTripInDictionary() {
+
+		StringDictionary texts = new StringDictionary();
+		int pending = CompactDate.encode("Pending", texts);
+		int invalid = CompactDate.encode("30/02/2024", texts);
+		int date = CompactDate.encode("01/02/2024", texts);
+		assertEquals("Pending", CompactDate.decode(pending, texts));
+		assertEquals("30/02/2024", CompactDate.decode(invalid, texts));
+		assertEquals("01/02/2024", CompactDate.decode(date, texts));
+		assertEquals(pending, CompactDate.encode("Pending", texts));
+		assertEquals(2, texts.size());
+		assertNull(CompactDate.decode(pending));
+		assertNull(CompactDate.toLocalDate(pending));
+	}
+}